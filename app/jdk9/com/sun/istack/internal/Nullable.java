@@ -0,0 +1,21 @@
+package com.sun.istack.internal;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation tells that an element may be null.
+ * JDK 8 ships it internally, newer JDKs do not, so this copy is only compiled on JDK 9 and later.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.METHOD, ElementType.PARAMETER, ElementType.FIELD, ElementType.LOCAL_VARIABLE})
+public @interface Nullable {
+}
@@ -0,0 +1,34 @@
+package main.java.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class represents runner of every model benchmark with the allocation profiler,
+ * writing the results as JSON to be compared with {@code benchmarks/baseline.json}.
+ * Any JMH command line option is accepted too, e.g. {@code -p size=1000,100000} for a quick run.
+ * <p>
+ * The baseline was recorded on JDK 17 on a single core machine without any option, so it covers
+ * every shape and size of {@link TreeState} and should be compared with runs without options too.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include("main\\.java\\.benchmarks\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("results.json")
+                .build()).run();
+    }
+}
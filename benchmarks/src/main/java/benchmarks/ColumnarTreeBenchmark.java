@@ -0,0 +1,92 @@
+package main.java.benchmarks;
+
+import main.java.models.columnar.ColumnarTree;
+import main.java.models.columnar.EntityView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents benchmarks of searching, listing and walking up a {@link ColumnarTree}
+ * copied from the tree of every shape and size, to be compared with the same operations
+ * of {@link FolderBenchmark} and {@link EntityBenchmark} on the folder and file objects.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class ColumnarTreeBenchmark {
+
+    /**
+     * This class represents columnar copy of the tree, along with its deepest and widest folders
+     * */
+    @State(Scope.Benchmark)
+    public static class Columnar {
+
+        /** This field represents columnar copy of the tree */
+        ColumnarTree tree;
+
+        /** This field represents id of the first folder found at the greatest depth */
+        int deepest;
+
+        /** This field represents id of the first folder found with the most children */
+        int widest;
+
+        /** This field represents reusable view the contents are listed with */
+        EntityView view;
+
+        @Setup(Level.Trial)
+        public void copy(TreeState state) {
+            this.tree = ColumnarTree.copyOf(state.tree.root);
+
+            /* A parent always has a smaller id than its children, so every depth is known before it is needed */
+            int[] depths = new int[this.tree.size()];
+            int[] children = new int[this.tree.size()];
+            for (int id = 1; id < this.tree.size(); id++) {
+                int parent = this.tree.getParent(id);
+                depths[id] = depths[parent] + 1;
+                children[parent]++;
+            }
+            for (int id = 0; id < this.tree.size(); id++) {
+                if (!this.tree.isFolder(id)) continue;
+                if (depths[id] > depths[this.deepest]) this.deepest = id;
+                if (children[id] > children[this.widest]) this.widest = id;
+            }
+            this.view = this.tree.view(ColumnarTree.ROOT);
+        }
+    }
+
+    @Benchmark
+    public int[] search(Columnar columnar) {
+        return columnar.tree.search(ColumnarTree.ROOT, FolderBenchmark.KEY);
+    }
+
+    @Benchmark
+    public void listContents(Columnar columnar, Blackhole blackhole) {
+        EntityView view = columnar.view.moveTo(columnar.widest);
+        for (boolean found = view.moveToFirstChild(); found; found = view.moveToNextSibling()) {
+            blackhole.consume(view.getId());
+        }
+    }
+
+    @Benchmark
+    public int[] getDirectory(Columnar columnar) {
+        return columnar.tree.getDirectory(columnar.deepest);
+    }
+}
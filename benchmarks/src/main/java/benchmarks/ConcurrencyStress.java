@@ -0,0 +1,218 @@
+package main.java.benchmarks;
+
+import main.java.models.FileTreeModel;
+import main.java.models.TreeGenerator;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents stress test of the file tree under concurrent readers and writers.
+ * Every thread keeps adding, removing, renaming, moving, copying, listing and searching entities,
+ * alone or in transactions,
+ * of a generated tree for a given time. Once they stop, the tree is checked to be consistent:
+ * every folder holds the figures of its subtree, every child is indexed under its key
+ * and points back to its folder, and the name index finds what a plain walk finds.
+ * The arguments are the number of threads, the number of seconds and the size of the tree.
+ * It exits with status 1 when a thread fails or the tree is not consistent.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class ConcurrencyStress {
+
+    /** This field represents keywords searched by the threads, long enough to use the name index */
+    private static final String[] KEYS = {"abc", "stress", "x1", "007", "renamed"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        long entities = args.length > 2 ? Long.parseLong(args[2]) : 50_000;
+
+        FileTreeModel fileTreeModel = new TreeGenerator(42).generateModel(entities);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicLong operations = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        ArrayList<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            int id = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    operations.addAndGet(hammer(fileTreeModel, id, deadline));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }, "stress-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        System.out.printf("threads: %d, operations: %d (%.0f per second)%n",
+                threads, operations.get(), operations.get() / (double) seconds);
+        for (Throwable failure : failures) failure.printStackTrace();
+
+        List<String> problems = check(fileTreeModel);
+        for (String problem : problems) System.out.println(problem);
+        System.out.printf("entities: %d, problems: %d%n", fileTreeModel.getRoot().getTotalContents(), problems.size());
+
+        if (!failures.isEmpty() || !problems.isEmpty()) System.exit(1);
+    }
+
+    /**
+     * This method is used to run random operations on a file tree until a deadline
+     *
+     * @param fileTreeModel file tree to be changed
+     * @param id number of the thread, which makes its new names unique
+     * @param deadline time in nanoseconds when the thread stops
+     * @return number of operations done
+     * */
+    private static long hammer(FileTreeModel fileTreeModel, int id, long deadline) {
+        SplittableRandom random = new SplittableRandom(id);
+        long operations = 0;
+        long names = 0;
+
+        while (System.nanoTime() < deadline) {
+            Folder folder = randomFolder(fileTreeModel.getRoot(), random);
+            List<Entity> contents = folder.getContents();
+            int operation = random.nextInt(100);
+
+            if (operation < 30) {
+                String name = "stress" + id + "x" + names++;
+                folder.addContent(random.nextBoolean() ? new Folder(name) : new File(name, "txt", random.nextInt(4096),
+                        System.currentTimeMillis(), System.currentTimeMillis()));
+            } else if (operation < 55) {
+                if (!contents.isEmpty()) folder.removeContent(contents.get(random.nextInt(contents.size())));
+            } else if (operation < 70) {
+                if (!contents.isEmpty()) contents.get(random.nextInt(contents.size())).setName("renamed" + id + "x" + names++);
+            } else if (operation < 77) {
+                String name = "stress" + id + "x" + names++;
+                Folder target = randomFolder(fileTreeModel.getRoot(), random);
+                try {
+                    fileTreeModel.batch(transaction -> {
+                        transaction.add(target, new Folder(name));
+                        transaction.add(target, new File(name, "txt", random.nextInt(4096),
+                                System.currentTimeMillis(), System.currentTimeMillis()));
+                        if (!contents.isEmpty()) {
+                            transaction.remove(contents.get(random.nextInt(contents.size())));
+                            transaction.rename(contents.get(random.nextInt(contents.size())), "renamed" + name);
+                        }
+                    });
+                } catch (IllegalStateException e) {
+                    /* Another thread changed the same entities first, so nothing is applied */
+                }
+            } else if (operation < 80) {
+                int size = 0;
+                for (Entity content : contents) if (content.getName() != null) size++;
+                if (size != contents.size()) throw new IllegalStateException("Snapshot changed while listed");
+            } else if (operation < 87) {
+                if (!contents.isEmpty()) fileTreeModel.move(contents.get(random.nextInt(contents.size())),
+                        randomFolder(fileTreeModel.getRoot(), random));
+            } else if (operation < 90) {
+                if (!contents.isEmpty()) fileTreeModel.copy(contents.get(random.nextInt(contents.size())),
+                        randomFolder(fileTreeModel.getRoot(), random));
+            } else if (operation < 95) {
+                folder.search(KEYS[random.nextInt(KEYS.length)]);
+            } else {
+                fileTreeModel.search(folder, KEYS[random.nextInt(KEYS.length)]);
+            }
+            operations++;
+        }
+        return operations;
+    }
+
+    /**
+     * This method is used to pick a folder by walking down from the root at random
+     *
+     * @param root root folder
+     * @param random source of randomness
+     * @return picked folder
+     * */
+    private static Folder randomFolder(Folder root, SplittableRandom random) {
+        Folder folder = root;
+        while (random.nextInt(3) > 0) {
+            List<Entity> folders = folder.getFolders();
+            if (folders.isEmpty()) break;
+            folder = (Folder) folders.get(random.nextInt(folders.size()));
+        }
+        return folder;
+    }
+
+    /**
+     * This method is used to check a file tree which is not changed anymore
+     *
+     * @param fileTreeModel file tree to be checked
+     * @return description of every inconsistency found
+     * */
+    private static List<String> check(FileTreeModel fileTreeModel) {
+        ArrayList<String> problems = new ArrayList<>();
+        IdentityHashMap<Folder, long[]> figures = new IdentityHashMap<>();
+
+        /* Post-order walk summing up subtree figures of every folder */
+        ArrayDeque<Folder> stack = new ArrayDeque<>();
+        ArrayList<Folder> order = new ArrayList<>();
+        stack.push(fileTreeModel.getRoot());
+        while (!stack.isEmpty()) {
+            Folder folder = stack.pop();
+            order.add(folder);
+            for (Entity folderContent : folder.getFolders()) stack.push((Folder) folderContent);
+        }
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Folder folder = order.get(i);
+            long[] sum = new long[3];
+            int nFolders = 0, nFiles = 0;
+            for (Entity content : folder.getContents()) {
+                if (content.getParent() != folder) problems.add("Wrong parent of " + content.getName() + " in " + folder.getPath());
+                if (folder.getChild(content.getKey()) != content) problems.add("Not indexed " + content.getName() + " in " + folder.getPath());
+
+                if (content instanceof Folder) {
+                    long[] child = figures.get(content);
+                    sum[0] += child[0] + 1;
+                    sum[1] += child[1];
+                    sum[2] += child[2];
+                    nFolders++;
+                } else {
+                    sum[1]++;
+                    sum[2] += ((File) content).getSize();
+                    nFiles++;
+                }
+            }
+            figures.put(folder, sum);
+
+            if (nFolders != folder.getnFolders() || nFiles != folder.getnFiles()
+                    || nFolders != folder.getFolders().size() || nFiles != folder.getFiles().size()) {
+                problems.add("Wrong number of children in " + folder.getPath());
+            }
+            if (sum[0] != folder.getTotalFolders() || sum[1] != folder.getTotalFiles() || sum[2] != folder.getTotalSize()) {
+                problems.add("Wrong subtree figures in " + folder.getPath());
+            }
+        }
+
+        for (String key : KEYS) {
+            if (key.length() < 3) continue;
+            Set<Entity> walked = Collections.newSetFromMap(new IdentityHashMap<>());
+            walked.addAll(fileTreeModel.getRoot().search(key));
+            Set<Entity> indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+            indexed.addAll(fileTreeModel.search(fileTreeModel.getRoot(), key));
+            if (!walked.equals(indexed)) problems.add("Name index differs from the tree for " + key);
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,77 @@
+package main.java.benchmarks;
+
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents benchmarks of {@link main.java.models.module.Entity#getDirectory()},
+ * {@link Folder#getPath()} and {@link File#compareTo(File)}
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EntityBenchmark {
+
+    /**
+     * This class represents files to be compared, which do not depend on the tree
+     * */
+    @State(Scope.Thread)
+    public static class Files {
+
+        /** This field represents a file */
+        File file;
+
+        /** This field represents a file differing from {@link #file} only by the case of its name */
+        File sameName;
+
+        /** This field represents a file with a different name */
+        File otherName;
+
+        @Setup(Level.Trial)
+        public void create() {
+            this.file = new File("Quarterly Report", "txt");
+            this.sameName = new File("quarterly report", "TXT");
+            this.otherName = new File("Quarterly Summary", "txt");
+        }
+    }
+
+    @Benchmark
+    public ArrayDeque<Folder> getDirectory(TreeState state) {
+        return state.tree.deepest.getDirectory();
+    }
+
+    @Benchmark
+    public String getPath(TreeState state) {
+        return state.tree.deepest.getPath();
+    }
+
+    @Benchmark
+    public int compareToSameName(Files files) {
+        return files.file.compareTo(files.sameName);
+    }
+
+    @Benchmark
+    public int compareToOtherName(Files files) {
+        return files.file.compareTo(files.otherName);
+    }
+}
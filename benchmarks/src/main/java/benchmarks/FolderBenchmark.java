@@ -0,0 +1,124 @@
+package main.java.benchmarks;
+
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents benchmarks of changing, listing and searching {@link Folder}.
+ * Changes are made in the deepest folder of the tree, where they update the longest chain of ancestors.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FolderBenchmark {
+
+    /** This field represents number of files added or removed by a single invocation */
+    static final int BATCH = 1000;
+
+    /** This field represents keyword of the search benchmarks, matching a few entities of every tree */
+    static final String KEY = "7777";
+
+    /**
+     * This class represents files to be added to the deepest folder, removed after every invocation
+     * */
+    @State(Scope.Thread)
+    public static class AddState {
+
+        /** This field represents files to be added */
+        final ArrayList<File> files = new ArrayList<>(BATCH);
+
+        /** This field represents folder the files are added to */
+        Folder target;
+
+        @Setup(Level.Trial)
+        public void create(TreeState state) {
+            this.target = state.tree.deepest;
+            for (int i = 0; i < BATCH; i++) this.files.add(new File("added" + i, "bin"));
+        }
+
+        @TearDown(Level.Invocation)
+        public void remove() {
+            for (File file : this.files) this.target.removeContent(file);
+        }
+    }
+
+    /**
+     * This class represents files in the deepest folder to be removed, added before every invocation
+     * */
+    @State(Scope.Thread)
+    public static class RemoveState {
+
+        /** This field represents files to be removed */
+        final ArrayList<File> files = new ArrayList<>(BATCH);
+
+        /** This field represents folder the files are removed from */
+        Folder target;
+
+        @Setup(Level.Trial)
+        public void create(TreeState state) {
+            this.target = state.tree.deepest;
+            for (int i = 0; i < BATCH; i++) this.files.add(new File("removed" + i, "bin"));
+        }
+
+        @Setup(Level.Invocation)
+        public void add() {
+            for (File file : this.files) this.target.addContent(file);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void addContent(AddState state) {
+        for (File file : state.files) state.target.addContent(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void removeContent(RemoveState state) {
+        for (File file : state.files) state.target.removeContent(file);
+    }
+
+    @Benchmark
+    public ArrayList<Entity> search(TreeState state) {
+        return state.tree.root.search(KEY);
+    }
+
+    @Benchmark
+    public ArrayList<Entity> parallelSearch(TreeState state) {
+        return state.tree.root.parallelSearch(KEY);
+    }
+
+    @Benchmark
+    public void getFolders(TreeState state, Blackhole blackhole) {
+        for (Entity folder : state.tree.widest.getFolders()) blackhole.consume(folder);
+    }
+
+    @Benchmark
+    public void getFiles(TreeState state, Blackhole blackhole) {
+        for (Entity file : state.tree.widest.getFiles()) blackhole.consume(file);
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.benchmarks;
+
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayList;
+
+/**
+ * This class represents benchmark of heap footprint of the file tree.
+ * It builds a tree of a given number of files, a thousand per folder, with names and extensions
+ * decoded into new strings the way they are read from a disk, and reports the retained heap
+ * per entity. The arguments are the number of files and the number of distinct file names.
+ * Run it with a fixed heap, e.g. {@code java -Xms2g -Xmx2g}, so collection is stable.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class FootprintBenchmark {
+
+    /** This field represents number of files in every folder */
+    private static final int FILES_PER_FOLDER = 1000;
+
+    /** This field represents extensions of the generated files, the first ones are the most common */
+    private static final String[] EXTENSIONS = {"txt", "txt", "txt", "java", "png", "md", "json", "xml"};
+
+    /** This field represents default number of distinct file names, so names repeat across folders */
+    private static final int DISTINCT_NAMES = 5000;
+
+    public static void main(String[] args) {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int names = args.length > 1 ? Integer.parseInt(args[1]) : DISTINCT_NAMES;
+
+        long before = usedHeap();
+        Folder root = build(files, names);
+        long after = usedHeap();
+
+        int entities = root.getTotalFiles() + root.getTotalFolders() + 1;
+        System.out.printf("entities: %d (%d files, %d folders)%n", entities, root.getTotalFiles(), root.getTotalFolders() + 1);
+        System.out.printf("retained heap: %.1f MB%n", (after - before) / 1048576.0);
+        System.out.printf("bytes per entity: %.1f%n", (after - before) / (double) entities);
+
+        /* Keep the tree reachable until it is measured */
+        if (root.getContents().isEmpty()) System.out.println();
+    }
+
+    /**
+     * This method is used to build a tree of a given number of files
+     *
+     * @param files number of files
+     * @param names number of distinct file names
+     * @return root folder of the tree
+     * */
+    private static Folder build(int files, int names) {
+        Folder root = new Folder("root");
+        for (int i = 0; i < files; i += FILES_PER_FOLDER) {
+            Folder folder = new Folder(decode("folder" + i / FILES_PER_FOLDER));
+            ArrayList<Entity> contents = new ArrayList<>(FILES_PER_FOLDER);
+            for (int j = i; j < Math.min(files, i + FILES_PER_FOLDER); j++) {
+                contents.add(new File(decode("document" + j % names), decode(EXTENSIONS[j % EXTENSIONS.length])));
+            }
+            folder.addContents(contents);
+            root.addContent(folder);
+        }
+        return root;
+    }
+
+    /**
+     * This method is used to copy a string into a new instance, the way it is decoded from a disk
+     *
+     * @param value string to be copied
+     * @return new string equal to the given one
+     * */
+    private static String decode(String value) {
+        return new String(value.toCharArray());
+    }
+
+    /**
+     * This method is used to get used heap after collecting garbage until it settles
+     *
+     * @return used heap in bytes
+     * */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) break;
+            used = current;
+        }
+        return used;
+    }
+}
@@ -0,0 +1,63 @@
+package main.java.benchmarks;
+
+import main.java.models.StateModel;
+import main.java.models.module.Folder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents benchmark of navigation with {@link StateModel}.
+ * Every invocation moves into a folder, goes back, forward and back again,
+ * so the histories have the same size after every invocation.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StateModelBenchmark {
+
+    /**
+     * This class represents state model positioned at the root of the tree
+     * */
+    @State(Scope.Thread)
+    public static class Navigation {
+
+        /** This field represents navigated state model */
+        StateModel stateModel;
+
+        /** This field represents folder to navigate to */
+        Folder child;
+
+        @Setup(Level.Trial)
+        public void create(TreeState state) {
+            this.stateModel = new StateModel(state.tree.root);
+            this.child = state.tree.child;
+        }
+    }
+
+    @Benchmark
+    public Folder navigate(Navigation navigation) {
+        StateModel stateModel = navigation.stateModel;
+        stateModel.moveFolder(navigation.child);
+        stateModel.back();
+        stateModel.forward();
+        stateModel.back();
+        return stateModel.getCurrentPos();
+    }
+}
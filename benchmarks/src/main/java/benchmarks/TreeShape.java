@@ -0,0 +1,143 @@
+package main.java.benchmarks;
+
+import main.java.models.TreeGenerator;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * This enum represents shapes of the trees the benchmarks run on.
+ * Every shape builds a tree of a given number of entities, one in ten being a folder
+ * where the shape allows it, and remembers the entities the benchmarks work on.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public enum TreeShape {
+
+    /** This shape puts every entity directly in the root folder */
+    WIDE {
+        @Override
+        Tree build(int nodes) {
+            Folder root = new Folder("root");
+            ArrayList<Entity> contents = new ArrayList<>(nodes);
+            for (int i = 1; i < nodes; i++) contents.add(entity(i));
+            root.addContents(contents);
+            return new Tree(root, root, (Folder) root.getFolders().get(0), root);
+        }
+    },
+
+    /** This shape chains folders, each one holding a file and the next folder */
+    DEEP {
+        @Override
+        Tree build(int nodes) {
+            /* Built from the bottom up, so adding a folder never walks a long chain of ancestors */
+            Folder deepest = new Folder("folder" + nodes);
+            deepest.addContent(new File("file" + nodes, "txt"));
+            Folder top = deepest;
+            for (int i = nodes - 3; i > 1; i -= 2) {
+                Folder folder = new Folder("folder" + i);
+                folder.addContent(new File("file" + (i + 1), "txt"));
+                folder.addContent(top);
+                top = folder;
+            }
+            Folder root = new Folder("root");
+            root.addContent(top);
+            return new Tree(root, deepest, deepest, top);
+        }
+    },
+
+    /** This shape gives every folder ten children, one of them a folder, level by level */
+    BALANCED {
+        @Override
+        Tree build(int nodes) {
+            Folder root = new Folder("root");
+            ArrayDeque<Folder> queue = new ArrayDeque<>();
+            queue.add(root);
+            Folder deepest = root;
+
+            int created = 1;
+            while (created < nodes) {
+                Folder folder = queue.poll();
+                if (folder == null) break;
+                ArrayList<Entity> contents = new ArrayList<>(FANOUT);
+                for (int i = 0; i < FANOUT && created < nodes; i++, created++) {
+                    Entity entity = i % 3 == 0 ? new Folder("folder" + created) : entity(created);
+                    contents.add(entity);
+                    if (entity instanceof Folder) queue.add((Folder) entity);
+                }
+                folder.addContents(contents);
+                deepest = folder;
+            }
+            return new Tree(root, deepest, deepest, root);
+        }
+    },
+
+    /** This shape is generated by {@link TreeGenerator} with its default settings and a fixed seed */
+    GENERATED {
+        @Override
+        Tree build(int nodes) {
+            Folder root = new Folder("root");
+            new TreeGenerator(SEED).generate(root, nodes - 1);
+
+            /* Follow the first folder of every level down to a leaf folder */
+            Folder deepest = root;
+            while (!deepest.getFolders().isEmpty()) deepest = (Folder) deepest.getFolders().get(0);
+            Folder child = root.getFolders().isEmpty() ? root : (Folder) root.getFolders().get(0);
+            return new Tree(root, deepest, child, root);
+        }
+    };
+
+    /** This field represents seed of generated trees */
+    private static final long SEED = 42;
+
+    /** This field represents number of children of every folder in a balanced tree */
+    private static final int FANOUT = 10;
+
+    /**
+     * This method is used to build a tree of this shape
+     *
+     * @param nodes number of entities, including the root
+     * @return built tree
+     * */
+    abstract Tree build(int nodes);
+
+    /**
+     * This method is a utility method used to create the entity with a given number
+     *
+     * @param i number of the entity
+     * @return a folder for every tenth number, else a file
+     * */
+    private static Entity entity(int i) {
+        return i % 10 == 0 ? new Folder("folder" + i) : new File("file" + i, "txt");
+    }
+
+    /**
+     * This class represents a built tree and the entities the benchmarks work on
+     * */
+    public static final class Tree {
+
+        /** This field represents root folder of the tree */
+        final Folder root;
+
+        /** This field represents one of the deepest folders, where changes walk the longest chain of ancestors */
+        final Folder deepest;
+
+        /** This field represents a folder to navigate to */
+        final Folder child;
+
+        /** This field represents the folder with the most children */
+        final Folder widest;
+
+        Tree(Folder root, Folder deepest, Folder child, Folder widest) {
+            this.root = root;
+            this.deepest = deepest;
+            this.child = child;
+            this.widest = widest;
+        }
+    }
+}
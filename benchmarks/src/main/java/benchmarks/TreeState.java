@@ -0,0 +1,39 @@
+package main.java.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This class represents benchmark state holding a tree of every shape and size
+ * the benchmarks are run with. The tree is built once per trial.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+@State(Scope.Benchmark)
+public class TreeState {
+
+    /** This field represents shape of the tree */
+    @Param({"WIDE", "DEEP", "BALANCED", "GENERATED"})
+    public TreeShape shape;
+
+    /**
+     * This field represents number of entities in the tree. Trees of 10 million entities do not fit
+     * the 4 GB heap of the benchmarks in every shape, so they are only run when asked for,
+     * e.g. {@code -p size=10000000 -jvmArgsAppend -Xmx16g}
+     * */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** This field represents built tree */
+    TreeShape.Tree tree;
+
+    @Setup(Level.Trial)
+    public void build() {
+        this.tree = this.shape.build(this.size);
+    }
+}
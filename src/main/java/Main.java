@@ -5,6 +5,7 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import main.java.controllers.MainController;
 
 /**
  * This class represents main application
@@ -15,15 +16,25 @@ import javafx.stage.Stage;
  * */
 public class Main extends Application {
 
+    /** This field represents controller of the main view */
+    private MainController controller;
+
     @Override
     public void start(Stage primaryStage) throws Exception{
-        Parent root = FXMLLoader.load(getClass().getResource("/view/mainView.fxml"));
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/mainView.fxml"));
+        Parent root = loader.load();
+        this.controller = loader.getController();
 
         primaryStage.setTitle("File Explorer Simulation");
         primaryStage.setScene(new Scene(root, 900, 600));
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        if (this.controller != null) this.controller.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -6,12 +6,14 @@ import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
 import javafx.scene.control.Label;
 import javafx.scene.layout.FlowPane;
+import main.java.models.TreeChangeEvent;
 import main.java.models.module.Entity;
 import main.java.models.module.Folder;
 
 import java.net.URL;
+import java.util.Deque;
+import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Stack;
 
 /**
  * This class represents controller that control breadcrumb element in the application
@@ -32,15 +34,15 @@ public class BreadcrumbController implements Initializable {
     /**
      * This method is used to set breadcrumb text with a given stack of folder object
      *
-     * @param folders stack of folder object from root to direct parent
+     * @param folders stack of folder object from root to direct parent, root on top
      * @param entity current folder
      * */
-    public void setBreadcrumbText(@NotNull Stack<Folder> folders, @NotNull Entity entity) {
+    public void setBreadcrumbText(@NotNull Deque<Folder> folders, @NotNull Entity entity) {
         /* Reset the breadcrumb */
         this.breadcrumbContainer.getChildren().clear();
 
         /* Add all folders from stack to container */
-        while (!folders.empty()) {
+        while (!folders.isEmpty()) {
             Label text = new Label(folders.pop().getName());
             text.setPadding(new Insets(0, 10, 0, 0));
             Label separator = new Label("/");
@@ -54,4 +56,24 @@ public class BreadcrumbController implements Initializable {
         Label text = new Label(entity.getName());
         this.breadcrumbContainer.getChildren().add(text);
     }
+
+    /**
+     * This method is used to apply changes in the file tree to the breadcrumb,
+     * which is only updated when the current folder or one of its ancestors is renamed
+     *
+     * @param events coalesced changes in the file tree
+     * @param currentFolder current folder
+     * */
+    public void applyChanges(@NotNull List<TreeChangeEvent> events, @NotNull Folder currentFolder) {
+        for (TreeChangeEvent event : events) {
+            if (event.getType() != TreeChangeEvent.TYPE.RENAMED || !(event.getEntity() instanceof Folder)) continue;
+
+            for (Folder folder = currentFolder; folder != null; folder = folder.getParent()) {
+                if (folder == event.getEntity()) {
+                    this.setBreadcrumbText(currentFolder.getDirectory(), currentFolder);
+                    return;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package main.java.controllers;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents cache of formatted dates shown in the application.
+ * Dates are formatted with one shared thread safe formatter, and formatted
+ * text of recently shown seconds is reused, since entities created or updated
+ * together share the same text.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class DateFormatCache {
+
+    /** This field represents maximum number of formatted dates in the cache */
+    private static final int CAPACITY = 4096;
+
+    /** This field represents shared formatter of the dates */
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    /** This field represents formatted text of recently shown dates by their epoch second */
+    private static final LinkedHashMap<Long, String> CACHE = new LinkedHashMap<Long, String>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return this.size() > CAPACITY;
+        }
+    };
+
+    /** This class only has static members */
+    private DateFormatCache() {}
+
+    /**
+     * This method is used to format a given time
+     *
+     * @param time time to be formatted, in milliseconds since the epoch
+     * @return formatted date
+     * */
+    public static synchronized String format(long time) {
+        long second = Math.floorDiv(time, 1000L);
+        return CACHE.computeIfAbsent(second, key -> FORMATTER.format(Instant.ofEpochSecond(key)));
+    }
+}
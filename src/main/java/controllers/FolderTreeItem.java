@@ -0,0 +1,67 @@
+package main.java.controllers;
+
+import com.sun.istack.internal.NotNull;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+import main.java.models.module.Entity;
+import main.java.models.module.Folder;
+
+import java.util.ArrayList;
+import java.util.function.Function;
+
+/**
+ * This class represents tree item of a folder in the tree view
+ * which children are only created the first time they are requested,
+ * usually when the item is expanded
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class FolderTreeItem extends TreeItem<Folder> {
+
+    /** This field represents factory used to create tree item of child folders */
+    private final Function<Folder, FolderTreeItem> factory;
+
+    /** This field represents state of this item, whether its children are already created */
+    private boolean loaded;
+
+    /**
+     * This constructor will create new tree item of a given folder
+     *
+     * @param folder folder of this tree item
+     * @param factory factory used to create tree item of child folders
+     * */
+    public FolderTreeItem(@NotNull Folder folder, @NotNull Function<Folder, FolderTreeItem> factory) {
+        super(folder);
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return this.getValue().getnFolders() == 0;
+    }
+
+    @Override
+    public ObservableList<TreeItem<Folder>> getChildren() {
+        if (!this.loaded) {
+            this.loaded = true;
+
+            ArrayList<TreeItem<Folder>> children = new ArrayList<>(this.getValue().getnFolders());
+            for (Entity folder : this.getValue().getFolders()) {
+                children.add(this.factory.apply((Folder) folder));
+            }
+            super.getChildren().setAll(children);
+        }
+        return super.getChildren();
+    }
+
+    /**
+     * This method is used to get state of this item, whether its children are already created
+     *
+     * @return field {@link #loaded}
+     * */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+}
@@ -0,0 +1,52 @@
+package main.java.controllers;
+
+import com.sun.istack.internal.NotNull;
+import javafx.scene.image.Image;
+import main.java.models.module.Entity;
+
+import java.util.EnumMap;
+
+/**
+ * This class represents cache of icons shown for entities in the application,
+ * so every icon is decoded once and shared by every cell showing it
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class IconCache {
+
+    /** This field represents icon of every entity type */
+    private static final EnumMap<Entity.TYPE, Image> ICONS = new EnumMap<>(Entity.TYPE.class);
+
+    /** This field represents icon of the root folder */
+    private static Image rootIcon;
+
+    /** This class only has static members */
+    private IconCache() {}
+
+    /**
+     * This method is used to get icon of a given entity type
+     *
+     * @param type entity type
+     * @param isRoot true if the entity is the root folder
+     * @return shared icon image
+     * */
+    public static Image get(@NotNull Entity.TYPE type, boolean isRoot) {
+        if (isRoot) {
+            if (rootIcon == null) rootIcon = new Image("images/computer.png");
+            return rootIcon;
+        }
+        return ICONS.computeIfAbsent(type, key -> new Image(key == Entity.TYPE.FOLDER ? "images/folder.png" : "images/document.png"));
+    }
+
+    /**
+     * This method is used to get icon of a given entity
+     *
+     * @param entity entity which icon to be shown
+     * @return shared icon image
+     * */
+    public static Image get(@NotNull Entity entity) {
+        return get(entity.getType(), entity.getType() == Entity.TYPE.FOLDER && entity.getParent() == null);
+    }
+}
@@ -1,23 +1,28 @@
 package main.java.controllers;
 
 import com.sun.istack.internal.NotNull;
-import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import main.java.models.TreeChangeEvent;
 import main.java.models.module.Entity;
 import main.java.models.module.File;
 import main.java.models.module.Folder;
+import main.java.models.module.SortOrder;
 
 import java.net.URL;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -36,15 +41,20 @@ public class ListController implements Initializable {
     /** This field represents column name of the table */
     private TableColumn<Entity, String> nameColumn;
 
-    /** This field represents icon map of the table in the icon column */
-    private final HashMap<Entity.TYPE, String> icons = new HashMap<>();
+    /** This field represents order of entities kept by folders for every sortable column */
+    private final Map<TableColumn<Entity, ?>, SortOrder> sortOrders = new HashMap<>();
+
+    /** This field represents supplier of the folder which contents are listed, which gives null in the search state */
+    private Supplier<Folder> listedFolder = () -> null;
+
+    /** This field represents entity which is cut or copied to be pasted, or null if there is none */
+    private Entity clipboard;
+
+    /** This field represents state of the clipboard, true if its entity is moved when pasted, false if copied */
+    private boolean isCut;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        /* INITIALIZE ICON */
-        icons.put(Entity.TYPE.FOLDER, "images/folder.png");
-        icons.put(Entity.TYPE.FILE, "images/document.png");
-
         initColumn();
     }
 
@@ -53,13 +63,30 @@ public class ListController implements Initializable {
      * */
     private void initColumn() {
         /* ICON COLUMN */
-        TableColumn<Entity, ImageView> iconColumn = new TableColumn<>();
+        TableColumn<Entity, Entity> iconColumn = new TableColumn<>();
         iconColumn.setPrefWidth(30);
-        iconColumn.setCellValueFactory(param -> {
-            ImageView imageView = new ImageView(new Image(icons.get(param.getValue().getType())));
-            imageView.setFitWidth(20);
-            imageView.setFitHeight(20);
-            return new SimpleObjectProperty<>(imageView);
+        iconColumn.setSortable(false);
+        iconColumn.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
+        iconColumn.setCellFactory(param -> new TableCell<Entity, Entity>() {
+            /* Every cell reuses its own image view with the shared icon image */
+            private final ImageView imageView = new ImageView();
+
+            {
+                this.imageView.setFitWidth(20);
+                this.imageView.setFitHeight(20);
+            }
+
+            @Override
+            protected void updateItem(Entity item, boolean empty) {
+                super.updateItem(item, empty);
+
+                if (empty || item == null) {
+                    setGraphic(null);
+                } else {
+                    this.imageView.setImage(IconCache.get(item));
+                    setGraphic(this.imageView);
+                }
+            }
         });
 
         /* NAME COLUMN */
@@ -70,19 +97,13 @@ public class ListController implements Initializable {
 
         /* CREATED DATE COLUMN */
         TableColumn<Entity, String> createdDateColumn = new TableColumn<>("Created Date");
-        createdDateColumn.setCellValueFactory(param -> {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            String dateString = dateFormat.format(param.getValue().getCreatedDate());
-            return new SimpleStringProperty(dateString);
-        });
+        createdDateColumn.setCellValueFactory(param ->
+                new ReadOnlyStringWrapper(DateFormatCache.format(param.getValue().getCreatedTime())));
 
         /* UPDATED DATE COLUMN */
         TableColumn<Entity, String> updatedDateColumn = new TableColumn<>("Updated Date");
-        updatedDateColumn.setCellValueFactory(param -> {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            String dateString = dateFormat.format(param.getValue().getUpdatedDate());
-            return new SimpleStringProperty(dateString);
-        });
+        updatedDateColumn.setCellValueFactory(param ->
+                new ReadOnlyStringWrapper(DateFormatCache.format(param.getValue().getUpdatedTime())));
 
         /* TYPE COLUMN */
         TableColumn<Entity, String> typeColumn = new TableColumn<>("Type");
@@ -93,6 +114,13 @@ public class ListController implements Initializable {
             return new SimpleStringProperty("File");
         });
 
+        /* SORT BY THE ORDERS KEPT BY FOLDERS */
+        this.sortOrders.put(this.nameColumn, SortOrder.NAME);
+        this.sortOrders.put(createdDateColumn, SortOrder.CREATED);
+        this.sortOrders.put(updatedDateColumn, SortOrder.UPDATED);
+        this.sortOrders.put(typeColumn, SortOrder.TYPE);
+        this.list.setSortPolicy(this::sortList);
+
         /* CONFIGURE THE TABLE AND ADD ALL CREATED COLUMN */
         this.list.setEditable(true);
         this.list.getColumns().add(iconColumn);
@@ -113,15 +141,8 @@ public class ListController implements Initializable {
             /* Create new directory column */
             TableColumn<Entity, String> dirColumn = new TableColumn<>("Directory");
             dirColumn.setCellValueFactory(param -> {
-                Stack<Folder> dir = param.getValue().getDirectory();
-
-                StringBuilder dirString = new StringBuilder();
-
-                while (!dir.isEmpty()) {
-                    dirString.append(dir.pop().getName()).append(" / ");
-                }
-
-                return new SimpleStringProperty(dirString.toString());
+                Folder parent = param.getValue().getParent();
+                return new SimpleStringProperty(parent == null ? "" : parent.getPath());
             });
 
             /* Add it to the third column of the table */
@@ -144,23 +165,58 @@ public class ListController implements Initializable {
 
     /**
      * This method is used to initialize context menu of this table
-     * with remove item as one and only menu item
+     * with remove, cut, copy and paste items. Every selected entity is removed at once,
+     * while cut and copy take the focused one. Pasted entities are put into the listed folder,
+     * and the table is updated through the change bus the same as for any other edit.
      *
-     * @param next next method to be called
+     * @param onRemove action removing the selected entities from their folders, all of them or none
+     * @param onMove action moving an entity into a folder, for a cut entity
+     * @param onCopy action copying an entity into a folder, for a copied entity
      * */
-    public void initListContextMenu(@NotNull Runnable next) {
+    public void initListContextMenu(@NotNull Consumer<List<Entity>> onRemove,
+                                    @NotNull BiConsumer<Entity, Folder> onMove, @NotNull BiConsumer<Entity, Folder> onCopy) {
+        this.list.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
         /* Create new context menu with remove item menu */
         ContextMenu contextMenu = new ContextMenu();
         MenuItem removeMenuItem = new MenuItem("Remove");
         removeMenuItem.setOnAction(event -> {
-            /* Get and remove selected item from its parent on action */
-            Entity selectedItem = this.getList().getSelectionModel().getSelectedItem();
-            this.getList().getItems().remove(selectedItem);
-            selectedItem.getParent().removeContent(selectedItem);
-            /* Call the next method */
-            next.run();
+            /* Remove selected items from their parents on action, the table follows through the change bus */
+            List<Entity> selectedItems = new ArrayList<>(this.getList().getSelectionModel().getSelectedItems());
+            onRemove.accept(selectedItems);
         });
-        contextMenu.getItems().add(removeMenuItem);
+
+        /* Cut and copy only remember the selected item, which is moved or copied when pasted */
+        MenuItem cutMenuItem = new MenuItem("Cut");
+        cutMenuItem.setOnAction(event -> {
+            this.clipboard = this.getList().getSelectionModel().getSelectedItem();
+            this.isCut = true;
+        });
+        MenuItem copyMenuItem = new MenuItem("Copy");
+        copyMenuItem.setOnAction(event -> {
+            this.clipboard = this.getList().getSelectionModel().getSelectedItem();
+            this.isCut = false;
+        });
+        MenuItem pasteMenuItem = new MenuItem("Paste");
+        pasteMenuItem.setOnAction(event -> {
+            Folder target = this.listedFolder.get();
+            if (this.clipboard == null || target == null) return;
+
+            if (this.isCut) {
+                onMove.accept(this.clipboard, target);
+                this.clipboard = null;
+            } else {
+                onCopy.accept(this.clipboard, target);
+            }
+        });
+        contextMenu.setOnShowing(event -> {
+            boolean isSelected = this.getList().getSelectionModel().getSelectedItem() != null;
+            removeMenuItem.setDisable(!isSelected);
+            cutMenuItem.setDisable(!isSelected);
+            copyMenuItem.setDisable(!isSelected);
+            pasteMenuItem.setDisable(this.clipboard == null || this.listedFolder.get() == null);
+        });
+        contextMenu.getItems().addAll(removeMenuItem, cutMenuItem, copyMenuItem, pasteMenuItem);
 
         /* Add the context menu to the table */
         this.list.setContextMenu(contextMenu);
@@ -168,18 +224,243 @@ public class ListController implements Initializable {
 
     /**
      * This method is used to display list of entities (could be folder or file)
-     * in the table
+     * in the table. The rows are replaced at once, so the table is notified
+     * and laid out a single time regardless of the number of entities.
      *
      * @param entities list of entities
      * */
-    public void showList(@NotNull ArrayList<Entity> entities) {
-        /* Clear the list first */
-        this.list.getItems().clear();
+    public void showList(@NotNull List<Entity> entities) {
+        this.list.getItems().setAll(entities);
+    }
+
+    /**
+     * This method is used to display contents of a given folder in the table,
+     * in the order of the sorted column as kept by the folder, so they are not sorted again
+     *
+     * @param folder folder which contents to be displayed
+     * */
+    public void showFolder(@NotNull Folder folder) {
+        SortOrder order = this.getSortOrder();
+        this.list.getItems().setAll(order == null ? folder.getContents() : folder.getContents(order, this.isAscending()));
+    }
+
+    /**
+     * This method is used to append list of entities (could be folder or file)
+     * to the entities already displayed in the table, in a single change.
+     * Entities are kept in the order of the sorted column, if any.
+     *
+     * @param entities list of entities
+     * */
+    public void appendList(@NotNull List<Entity> entities) {
+        this.list.getItems().addAll(entities);
+
+        /* Rows already displayed are sorted, so sorting only merges the new ones in */
+        Comparator<Entity> comparator = this.getComparator();
+        if (comparator != null) FXCollections.sort(this.list.getItems(), comparator);
+    }
+
+    /**
+     * This method is used to set supplier of the folder which contents are listed in the table,
+     * so sorting by a column takes the order kept by the folder
+     *
+     * @param supplier supplier of the listed folder, which gives null in the search state
+     * */
+    public void setListedFolder(@NotNull Supplier<Folder> supplier) {
+        this.listedFolder = supplier;
+    }
+
+    /**
+     * This method is a utility method used as sort policy of the table. Contents of a folder are
+     * taken in the order kept by the folder, and search results are sorted by the same order,
+     * which compares precomputed keys only. Columns without such order are sorted as usual.
+     *
+     * @param table the table
+     * @return true as the table is always sorted
+     * */
+    private boolean sortList(@NotNull TableView<Entity> table) {
+        Folder folder = this.listedFolder.get();
+        if (table.getSortOrder().isEmpty()) {
+            if (folder != null) this.showFolder(folder);
+            return true;
+        }
+
+        SortOrder order = this.getSortOrder();
+        if (order == null) return TableView.DEFAULT_SORT_POLICY.call(table);
+
+        if (folder != null) this.showFolder(folder);
+        else FXCollections.sort(table.getItems(), this.getComparator());
+        return true;
+    }
+
+    /**
+     * This method is a utility method used to get order of the column the table is sorted by
+     *
+     * @return order of the sorted column, or null if the table is not sorted by a column with such order
+     * */
+    private SortOrder getSortOrder() {
+        List<TableColumn<Entity, ?>> columns = this.list.getSortOrder();
+        return columns.isEmpty() ? null : this.sortOrders.get(columns.get(0));
+    }
+
+    /**
+     * This method is a utility method used to check whether the table is sorted ascending
+     *
+     * @return true if the sorted column is ascending, else false
+     * */
+    private boolean isAscending() {
+        List<TableColumn<Entity, ?>> columns = this.list.getSortOrder();
+        return columns.isEmpty() || columns.get(0).getSortType() == TableColumn.SortType.ASCENDING;
+    }
+
+    /**
+     * This method is a utility method used to get comparator of the rows in the current order of the table
+     *
+     * @return comparator of the rows, or null if the table is not sorted by a column with such order
+     * */
+    private Comparator<Entity> getComparator() {
+        SortOrder order = this.getSortOrder();
+        if (order == null) return null;
+        return this.isAscending() ? order.comparator() : order.comparator().reversed();
+    }
 
-        /* Then add new entities one by one */
+    /**
+     * This method is used to apply changes in the file tree to the table,
+     * adding and removing only the changed rows. Rows are collected by identity first,
+     * so the table is changed at most once for removed rows and once for added rows in every pulse.
+     * In the search state, rows which are no longer inside the searched folder are removed as well,
+     * so removing or moving a folder also removes the matches below it.
+     *
+     * @param events coalesced changes in the file tree
+     * @param currentFolder folder which contents are displayed, or which is searched in the search state
+     * @param isSearch search state of the application
+     * */
+    public void applyChanges(@NotNull List<TreeChangeEvent> events, @NotNull Folder currentFolder, boolean isSearch) {
+        Set<Entity> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Entity> added = new ArrayList<>();
+        boolean updated = false, detached = false;
+
+        for (TreeChangeEvent event : events) {
+            Entity entity = event.getEntity();
+            switch (event.getType()) {
+                case ADDED:
+                    if (!isSearch && event.getParent() == currentFolder) {
+                        removed.remove(entity);
+                        added.add(entity);
+                    }
+                    break;
+                case REMOVED:
+                    removed.add(entity);
+                    detached |= isSearch && entity.getType() == Entity.TYPE.FOLDER;
+                    break;
+                case MOVED:
+                    if (isSearch || event.getOldParent() == currentFolder) removed.add(entity);
+                    if (!isSearch && event.getParent() == currentFolder) {
+                        removed.remove(entity);
+                        added.add(entity);
+                    }
+                    detached |= isSearch && entity.getType() == Entity.TYPE.FOLDER;
+                    break;
+                case RENAMED:
+                case CHANGED:
+                    updated = true;
+                    break;
+            }
+        }
+
+        if (detached) this.removeItems(item -> removed.contains(item) || !isInside(item, currentFolder));
+        else if (!removed.isEmpty()) this.removeItems(removed::contains);
+        if (!added.isEmpty()) this.addItems(added, removed);
+
+        /* Renamed or changed rows move to their new place, taken from the order kept by the folder */
+        if (updated && !isSearch && this.getSortOrder() != null) this.showFolder(currentFolder);
+        /* Only visible rows are updated */
+        else if (updated) this.list.refresh();
+    }
+
+    /**
+     * This method is a utility method used to remove every row which meets a given condition at once.
+     * The rows are replaced by the kept ones in a single change, since removing rows one by one
+     * shifts the rest of the table for every removed row, and the kept rows are selected again.
+     *
+     * @param condition condition of the rows to be removed
+     * */
+    private void removeItems(@NotNull Predicate<Entity> condition) {
+        ObservableList<Entity> items = this.list.getItems();
+        List<Entity> kept = new ArrayList<>(items.size());
+        for (Entity item : items) {
+            if (!condition.test(item)) kept.add(item);
+        }
+        if (kept.size() == items.size()) return;
+
+        TableView.TableViewSelectionModel<Entity> selection = this.list.getSelectionModel();
+        Set<Entity> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        selected.addAll(selection.getSelectedItems());
+
+        items.setAll(kept);
+        selection.clearSelection();
+        for (int i = 0; i < kept.size() && !selected.isEmpty(); i++) {
+            if (selected.remove(kept.get(i))) selection.select(i);
+        }
+    }
+
+    /**
+     * This method is a utility method used to add given entities to the table, skipping the ones displayed already,
+     * e.g. a new entity which name is being edited. A single entity is put at its place found by binary search,
+     * while many entities are appended and the table is sorted once.
+     *
+     * @param entities entities to be added, which may repeat
+     * @param skipped entities which are not added
+     * */
+    private void addItems(@NotNull List<Entity> entities, @NotNull Set<Entity> skipped) {
+        List<Entity> items = this.list.getItems();
+        Set<Entity> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+        shown.addAll(items);
+
+        List<Entity> adding = new ArrayList<>();
         for (Entity entity : entities) {
-            this.list.getItems().add(entity);
+            if (!skipped.contains(entity) && shown.add(entity)) adding.add(entity);
+        }
+        if (adding.size() == 1) {
+            this.addItem(adding.get(0));
+            return;
+        }
+
+        items.addAll(adding);
+        Comparator<Entity> comparator = this.getComparator();
+        if (comparator != null && !adding.isEmpty()) FXCollections.sort(this.list.getItems(), comparator);
+    }
+
+    /**
+     * This method is a utility method used to add a given entity to the table,
+     * at its place found by binary search if the table is sorted
+     *
+     * @param entity entity to be added
+     * */
+    private void addItem(@NotNull Entity entity) {
+        List<Entity> items = this.list.getItems();
+        Comparator<Entity> comparator = this.getComparator();
+        if (comparator == null) {
+            items.add(entity);
+            return;
         }
+
+        int index = Collections.binarySearch(items, entity, comparator);
+        items.add(index < 0 ? -index - 1 : index, entity);
+    }
+
+    /**
+     * This method is a utility method used to check whether an entity is still inside a given folder,
+     * following its parents up the tree
+     *
+     * @param entity entity to be checked
+     * @param folder folder the entity should be inside
+     * @return true if the folder is an ancestor of the entity, else false
+     * */
+    private static boolean isInside(@NotNull Entity entity, @NotNull Folder folder) {
+        for (Folder parent = entity.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == folder) return true;
+        }
+        return false;
     }
 
     /**
@@ -214,27 +495,23 @@ public class ListController implements Initializable {
      * This method is used to set edit commit handler for column name in the table
      *
      * @param supplier folder supplier to get current folder
-     * @param next next method
      * */
-    public void setOnNameColumnEditCommit(@NotNull Supplier<Folder> supplier, @NotNull Runnable next) {
+    public void setOnNameColumnEditCommit(@NotNull Supplier<Folder> supplier) {
         this.nameColumn.setOnEditCommit(event -> {
             /* Get edited row */
             Entity entity = event.getRowValue();
 
-            /* Get current folder */
-            Folder currentFolder = supplier.get();
+            /* Get parent folder of edited row, which is not the current folder in the search state */
+            Folder currentFolder = entity.getParent() != null ? entity.getParent() : supplier.get();
 
-            /* Check if folder or file is exist in this current folder */
-            if ((entity.getType() == Entity.TYPE.FOLDER && currentFolder.getFolders().contains(new Folder(event.getNewValue())))
+            /* Rename only if no folder or file with the new name exists in this current folder,
+               renaming also updates the updated date */
+            if (!((entity.getType() == Entity.TYPE.FOLDER && currentFolder.getFolder(event.getNewValue()) != null)
                 ||
-                (entity.getType() == Entity.TYPE.FILE && currentFolder.getFiles().contains(new File(event.getNewValue(), "txt")))
+                (entity.getType() == Entity.TYPE.FILE && currentFolder.getFile(event.getNewValue(), ((File) entity).getExtension()) != null))
+                && !event.getOldValue().equals(event.getNewValue())
             ) {
-            } else {
-                if (!event.getOldValue().equals(event.getNewValue())) {
-                    entity.setName(event.getNewValue());
-                    entity.setUpdatedDate(new Date());
-                    next.run();
-                }
+                entity.setName(event.getNewValue());
             }
         });
     }
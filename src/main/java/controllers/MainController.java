@@ -1,13 +1,24 @@
 package main.java.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import main.java.models.EditHistory;
+import main.java.models.FileTreeModel;
 import main.java.models.Model;
+import main.java.models.StateModel;
+import main.java.models.TreeChangeBus;
 import main.java.models.module.Entity;
 import main.java.models.module.Folder;
 
+import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ResourceBundle;
 
 /**
@@ -52,10 +63,47 @@ public class MainController implements Initializable {
         this.model = new Model();
         this.updateUI();
 
+        this.initChangeBus();
         this.initTreeController();
         this.initListController();
         this.initNavigationController();
         this.initSearchController();
+        this.initEditHistory();
+        this.initStorage();
+        this.initJournal();
+    }
+
+    /**
+     * This method is used to release the model when the application is closed,
+     * saving the file tree so it is restored on the next run.
+     * The user is told before the application stops if the file tree could not be saved.
+     * */
+    public void shutdown() {
+        this.model.getSearchModel().cancel();
+        try {
+            this.model.save();
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Storage failure");
+            alert.setHeaderText("File tree could not be saved");
+            alert.setContentText("Changes made since the file tree was last saved may be lost.\n\n" + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+
+    /**
+     * This method is used to subscribe every view to changes in the file tree,
+     * delivered on the UI thread once per pulse, so each view only updates what changed
+     * */
+    private void initChangeBus() {
+        TreeChangeBus changeBus = this.model.getFileTreeModel().getChangeBus();
+        StateModel stateModel = this.model.getStateModel();
+
+        changeBus.setDispatcher(Platform::runLater);
+        changeBus.subscribe(events -> this.listController.applyChanges(events, stateModel.getCurrentPos(), stateModel.getIsSearch()));
+        changeBus.subscribe(events -> this.treeController.applyChanges(events));
+        changeBus.subscribe(events -> this.statusController.applyChanges(events, stateModel.getCurrentPos(), stateModel.getIsSearch()));
+        changeBus.subscribe(events -> this.breadcrumbController.applyChanges(events, stateModel.getCurrentPos()));
     }
 
     /**
@@ -64,6 +112,7 @@ public class MainController implements Initializable {
     private void initTreeController() {
         this.treeController.showTree(this.model.getFileTreeModel().getRoot());
         this.treeController.getTree().getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue == null) return;
             this.model.getStateModel().moveFolder(newValue.getValue());
             this.clearSearch();
         });
@@ -77,13 +126,63 @@ public class MainController implements Initializable {
             this.model.getStateModel().moveFolder((Folder) param);
             this.clearSearch();
         });
-        this.listController.initListContextMenu(() -> {
-            this.updateUI();
-            this.treeController.showTree(this.model.getFileTreeModel().getRoot());
+        FileTreeModel fileTreeModel = this.model.getFileTreeModel();
+        this.listController.initListContextMenu(fileTreeModel::removeAll, fileTreeModel::move, fileTreeModel::copy);
+        this.listController.setListedFolder(() ->
+                this.model.getStateModel().getIsSearch() ? null : this.model.getStateModel().getCurrentPos());
+        this.listController.setOnNameColumnEditCommit(() -> this.model.getStateModel().getCurrentPos());
+    }
+
+    /**
+     * This method is used to initialize undo and redo of structural edits by keyboard shortcuts on the table.
+     * Views are updated through the change bus, the same as for any other edit.
+     * */
+    private void initEditHistory() {
+        EditHistory editHistory = this.model.getEditHistory();
+        KeyCombination undo = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+        KeyCombination redo = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+
+        this.listController.getList().addEventHandler(KeyEvent.KEY_PRESSED, event -> {
+            if (undo.match(event)) editHistory.undo();
+            else if (redo.match(event)) editHistory.redo();
+            else return;
+            event.consume();
         });
-        this.listController.setOnNameColumnEditCommit(
-                () -> this.model.getStateModel().getCurrentPos(),
-                () -> this.treeController.showTree(this.model.getFileTreeModel().getRoot()));
+    }
+
+    /**
+     * This method is used to tell the user if the saved file tree could not be loaded,
+     * so a new file tree is shown instead
+     * */
+    private void initStorage() {
+        this.model.setOnLoadFailure(e -> Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Storage failure");
+            alert.setHeaderText("Saved file tree could not be loaded");
+            alert.setContentText("A new file tree is shown instead.\n\n" + e.getMessage());
+            alert.show();
+        }));
+    }
+
+    /**
+     * This method is used to tell the user once changes can no longer be journaled,
+     * since they are only kept in memory until the application is closed,
+     * or when the journal can not be folded into the storage file
+     * */
+    private void initJournal() {
+        this.model.setOnJournalFailure(e -> Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Journal failure");
+            if (this.model.isJournaling()) {
+                alert.setHeaderText("Journal could not be compacted");
+                alert.setContentText("Changes are still recorded and compacted again later.\n\n" + e.getMessage());
+            } else {
+                alert.setHeaderText("Changes can no longer be recorded");
+                alert.setContentText("Changes are kept in memory and saved when the application is closed, "
+                        + "but they are lost if it stops unexpectedly.\n\n" + e.getMessage());
+            }
+            alert.show();
+        }));
     }
 
     /**
@@ -104,42 +203,53 @@ public class MainController implements Initializable {
         });
         this.navigationController.setOnNewFileBtnClick(
                 () -> this.listController.getList(),
-                file -> {
-                    this.model.getStateModel().getCurrentPos().addContent(file);
-
-                    Folder currentPos = this.model.getStateModel().getCurrentPos();
-                    this.statusController.setnEntity(currentPos.getnFolders(), currentPos.getnFiles());
-                });
+                file -> this.model.getStateModel().getCurrentPos().addContent(file));
         this.navigationController.setOnNewFolderBtnClick(
                 () -> this.listController.getList(),
-                folder -> {
-                    this.model.getStateModel().getCurrentPos().addContent(folder);
-
-                    Folder currentPos = this.model.getStateModel().getCurrentPos();
-                    this.statusController.setnEntity(currentPos.getnFolders(), currentPos.getnFiles());
-
-                    this.treeController.showTree(this.model.getFileTreeModel().getRoot());
-                });
+                folder -> this.model.getStateModel().getCurrentPos().addContent(folder));
     }
 
     /**
      * This method is used to initialize behaviour of all search element
      * */
     private void initSearchController() {
-        this.searchController.setOnSearchInputEnter(s -> {
-            ArrayList<Entity> entities = this.model.getStateModel().getCurrentPos().search(s);
-            this.listController.addDirColumn();
-            this.listController.showList(entities);
-            this.statusController.setnEntity(
-                    ((int) entities.stream().filter(entity -> entity.getType() == Entity.TYPE.FOLDER).count()),
-                    ((int) entities.stream().filter(entity -> entity.getType() == Entity.TYPE.FILE).count())
-            );
-            this.model.getStateModel().setIsSearch(true);
-            this.updateBtnAbility();
+        this.searchController.setOnSearchInputEnter(this::search);
+        this.searchController.setOnSearchInputChange(key -> {
+            if (!key.equals("")) this.search(key);
+            else if (this.model.getStateModel().getIsSearch()) this.clearSearch();
         });
         this.searchController.getCloseBtn().setOnMouseClicked(event -> clearSearch());
     }
 
+    /**
+     * This method is used to start searching a given keyword in the current folder.
+     * Found entities are appended to the table batch by batch while the search goes on,
+     * and the previous search, if still running, is cancelled.
+     *
+     * @param key search keyword
+     * */
+    private void search(String key) {
+        int[] nEntity = new int[2];
+
+        this.listController.addDirColumn();
+        this.listController.showList(Collections.emptyList());
+        this.statusController.setnEntity(0, 0);
+        this.model.getStateModel().setIsSearch(true);
+        this.updateBtnAbility();
+
+        this.model.getSearchModel().search(
+                this.model.getStateModel().getCurrentPos(), key, Platform::runLater,
+                entities -> {
+                    this.listController.appendList(entities);
+                    for (Entity entity : entities) {
+                        if (entity.getType() == Entity.TYPE.FOLDER) nEntity[0]++;
+                        else nEntity[1]++;
+                    }
+                    this.statusController.setnEntity(nEntity[0], nEntity[1]);
+                },
+                () -> {});
+    }
+
     /**
      * This method is used to update the UI including
      * <ul>
@@ -153,13 +263,24 @@ public class MainController implements Initializable {
      * */
     private void updateUI() {
         Folder currentPos = this.model.getStateModel().getCurrentPos();
-        this.statusController.setnEntity(currentPos.getnFolders(), currentPos.getnFiles());
+        this.setStatus(currentPos);
         this.breadcrumbController.setBreadcrumbText(currentPos.getDirectory(), currentPos);
-        this.listController.showList(currentPos.getContents());
+        this.listController.showFolder(currentPos);
 
         this.updateBtnAbility();
     }
 
+    /**
+     * This method is used to update the status bar with figures of a given folder
+     *
+     * @param folder folder which figures to be shown
+     * */
+    private void setStatus(Folder folder) {
+        this.statusController.setnEntity(
+                folder.getnFolders(), folder.getnFiles(),
+                folder.getTotalFolders(), folder.getTotalFiles(), folder.getTotalSize());
+    }
+
     /**
      * This method is used to update navigation and control button ability by current state
      * */
@@ -180,6 +301,7 @@ public class MainController implements Initializable {
      * This method is used to handle search input clearance
      * */
     private void clearSearch() {
+        this.model.getSearchModel().cancel();
         this.model.getStateModel().setIsSearch(false);
         this.listController.removeDirColumn();
         this.searchController.getSearchInput().clear();
@@ -1,10 +1,12 @@
 package main.java.controllers;
 
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
+import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -27,6 +29,9 @@ public class SearchController implements Initializable {
     @FXML
     private TextField searchInput;
 
+    /** This field represents delay between the last keystroke and the live search */
+    private final PauseTransition debounce = new PauseTransition(Duration.millis(250));
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {}
 
@@ -39,11 +44,23 @@ public class SearchController implements Initializable {
         this.searchInput.setOnKeyPressed(event -> {
             String value = ((TextField) event.getSource()).getText().trim();
             if (event.getCode().equals(KeyCode.ENTER) && !value.equals("")) {
+                this.debounce.stop();
                 consumer.accept(value);
             }
         });
     }
 
+    /**
+     * This method is used to set live search handler for search input field,
+     * called once the input has not changed for a while
+     *
+     * @param consumer String consumer, receiving empty string when the input is cleared
+     * */
+    public void setOnSearchInputChange(Consumer<String> consumer) {
+        this.debounce.setOnFinished(event -> consumer.accept(this.searchInput.getText().trim()));
+        this.searchInput.textProperty().addListener((observable, oldValue, newValue) -> this.debounce.playFromStart());
+    }
+
     /**
      * This method is used to get search input field
      *
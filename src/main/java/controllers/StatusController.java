@@ -3,8 +3,11 @@ package main.java.controllers;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
+import main.java.models.TreeChangeEvent;
+import main.java.models.module.Folder;
 
 import java.net.URL;
+import java.util.List;
 import java.util.ResourceBundle;
 
 /**
@@ -24,6 +27,10 @@ public class StatusController implements Initializable {
     @FXML
     private Label nFiles;
 
+    /** This field represents label that contains figures of the whole subtree */
+    @FXML
+    private Label subtree;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {}
 
@@ -36,6 +43,60 @@ public class StatusController implements Initializable {
     public void setnEntity(int nFolder, int nFile) {
         this.nFolders.setText(nFolder + " Folders");
         this.nFiles.setText(nFile + " Files");
+        this.subtree.setText("");
+    }
+
+    /**
+     * This method is used to set view of status bar including figures of the whole subtree
+     *
+     * @param nFolder number of folder
+     * @param nFile number of file
+     * @param nTotalFolder number of folder in the whole subtree
+     * @param nTotalFile number of file in the whole subtree
+     * @param totalSize total size in bytes of files in the whole subtree
+     * */
+    public void setnEntity(int nFolder, int nFile, int nTotalFolder, int nTotalFile, long totalSize) {
+        this.nFolders.setText(nFolder + " Folders");
+        this.nFiles.setText(nFile + " Files");
+        this.subtree.setText("Total " + nTotalFolder + " Folders, " + nTotalFile + " Files, " + formatSize(totalSize));
+    }
+
+    /**
+     * This method is used to apply changes in the file tree to the status bar,
+     * which figures of the current folder change on any structural change below it
+     *
+     * @param events coalesced changes in the file tree
+     * @param currentFolder folder which figures are displayed, unless in the search state
+     * @param isSearch search state of the application
+     * */
+    public void applyChanges(List<TreeChangeEvent> events, Folder currentFolder, boolean isSearch) {
+        if (isSearch) return;
+
+        for (TreeChangeEvent event : events) {
+            if (event.getType() != TreeChangeEvent.TYPE.RENAMED) {
+                this.setnEntity(
+                        currentFolder.getnFolders(), currentFolder.getnFiles(),
+                        currentFolder.getTotalFolders(), currentFolder.getTotalFiles(), currentFolder.getTotalSize());
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method is used to format a given size in bytes to human readable text
+     *
+     * @param size size in bytes
+     * @return formatted size
+     * */
+    private static String formatSize(long size) {
+        String[] units = {"B", "KB", "MB", "GB", "TB"};
+        double value = size;
+        int unit = 0;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return unit == 0 ? size + " B" : String.format("%.1f %s", value, units[unit]);
     }
 
 }
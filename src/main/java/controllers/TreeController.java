@@ -5,12 +5,14 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.TreeCell;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import main.java.models.module.Entity;
+import main.java.models.TreeChangeEvent;
 import main.java.models.module.Folder;
 
 import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.ResourceBundle;
 
 /**
@@ -26,9 +28,20 @@ public class TreeController implements Initializable {
     @FXML
     private TreeView<Folder> tree;
 
+    /** This field represents every created tree item by its folder */
+    private final IdentityHashMap<Folder, FolderTreeItem> items = new IdentityHashMap<>();
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         this.tree.setCellFactory(param -> new TreeCell<Folder>() {
+            /* Every cell reuses its own image view with the shared icon image */
+            private final ImageView icon = new ImageView();
+
+            {
+                this.icon.setFitHeight(20);
+                this.icon.setFitWidth(20);
+            }
+
             @Override
             public void updateItem(Folder item, boolean empty) {
                 super.updateItem(item, empty);
@@ -37,13 +50,10 @@ public class TreeController implements Initializable {
                     setText("");
                     setGraphic(null);
                 } else {
-                    String imageName = item.getParent() != null ? "folder.png" : "computer.png";
-                    ImageView rootIcon = new ImageView(new Image("images/" + imageName));
-                    rootIcon.setFitHeight(20);
-                    rootIcon.setFitWidth(20);
+                    this.icon.setImage(IconCache.get(item));
 
                     setText(item.getName());
-                    setGraphic(rootIcon);
+                    setGraphic(this.icon);
                     setPrefHeight(30);
                 }
             }
@@ -60,33 +70,116 @@ public class TreeController implements Initializable {
     }
 
     /**
-     * This method is used to show tree view with a given root folder
+     * This method is used to show tree view with a given root folder.
+     * Tree items of subfolders are only created when their parent is expanded.
      *
      * @param root root folder
      * */
     public void showTree(Folder root) {
         if (root != null) {
-            TreeItem<Folder> rootTree = new TreeItem<>(root);
-            showTreeUtil(rootTree, root);
-            this.tree.setRoot(rootTree);
+            this.items.clear();
+            this.tree.setRoot(this.createItem(root));
             this.tree.getRoot().setExpanded(true);
         }
     }
 
     /**
-     * This method is a utility method used to dig deep into
-     * every folder and trace every file in the given folder
+     * This method is used to show a folder newly added to a parent in the tree view
+     * without rebuilding the tree. A folder which already has an item, e.g. one created
+     * by expanding its parent before the change is delivered, is not inserted again.
+     *
+     * @param parent folder the folder is added to, which may no longer be its parent
+     *               when the folder is moved again before the change is delivered
+     * @param folder added folder
+     * */
+    public void insertFolder(Folder parent, Folder folder) {
+        if (this.items.containsKey(folder)) return;
+        FolderTreeItem parentItem = this.items.get(parent);
+        if (parentItem == null) return;
+
+        /* Unloaded parent creates the item when it is expanded, unless it was a leaf and has to show its arrow */
+        if (parentItem.isLoaded()) parentItem.getChildren().add(this.createItem(folder));
+        else if (parent.getnFolders() == 1) parentItem.getChildren();
+    }
+
+    /**
+     * This method is used to remove a folder from the tree view without rebuilding the tree.
+     * Tree items of the removed subtree are only forgotten if they are still the registered ones,
+     * so an item created for the folder under its new parent is kept.
+     *
+     * @param parent folder the removed folder was contained in
+     * @param folder removed folder
+     * */
+    public void removeFolder(Folder parent, Folder folder) {
+        FolderTreeItem parentItem = this.items.get(parent);
+        if (parentItem == null || !parentItem.isLoaded()) return;
+
+        List<TreeItem<Folder>> children = parentItem.getChildren();
+        TreeItem<Folder> item = null;
+        for (int i = 0; i < children.size() && item == null; i++) {
+            if (children.get(i).getValue() == folder) item = children.remove(i);
+        }
+        if (item == null) return;
+
+        /* Forget tree items of the whole removed subtree */
+        ArrayDeque<TreeItem<Folder>> stack = new ArrayDeque<>();
+        stack.push(item);
+        while (!stack.isEmpty()) {
+            FolderTreeItem removed = (FolderTreeItem) stack.pop();
+            this.items.remove(removed.getValue(), removed);
+            if (removed.isLoaded()) stack.addAll(removed.getChildren());
+        }
+    }
+
+    /**
+     * This method is used to show the new name of a renamed folder in the tree view
+     * without rebuilding the tree
      *
-     * @param currentItem current tree item view
-     * @param currentFolder current parent folder
+     * @param folder renamed folder
      * */
-    public void showTreeUtil(TreeItem<Folder> currentItem, Folder currentFolder) {
-        if (currentFolder != null && currentItem != null) {
-            for (Entity folder : currentFolder.getFolders()) {
-                TreeItem<Folder> item = new TreeItem<>((Folder) folder);
-                currentItem.getChildren().add(item);
-                showTreeUtil(item, (Folder) folder);
+    public void relabelFolder(Folder folder) {
+        if (this.items.containsKey(folder)) this.tree.refresh();
+    }
+
+    /**
+     * This method is used to apply changes in the file tree to the tree view,
+     * updating only the changed folders
+     *
+     * @param events coalesced changes in the file tree
+     * */
+    public void applyChanges(List<TreeChangeEvent> events) {
+        for (TreeChangeEvent event : events) {
+            if (!(event.getEntity() instanceof Folder)) continue;
+
+            Folder folder = (Folder) event.getEntity();
+            switch (event.getType()) {
+                case ADDED:
+                    this.insertFolder(event.getParent(), folder);
+                    break;
+                case REMOVED:
+                    this.removeFolder(event.getParent(), folder);
+                    break;
+                case MOVED:
+                    this.removeFolder(event.getOldParent(), folder);
+                    this.insertFolder(event.getParent(), folder);
+                    break;
+                case RENAMED:
+                    this.relabelFolder(folder);
+                    break;
             }
         }
     }
+
+    /**
+     * This method is a utility method used to create tree item of a given folder
+     * and register it, so it can be updated later
+     *
+     * @param folder folder of the tree item
+     * @return created tree item
+     * */
+    private FolderTreeItem createItem(Folder folder) {
+        FolderTreeItem item = new FolderTreeItem(folder, this::createItem);
+        this.items.put(folder, item);
+        return item;
+    }
 }
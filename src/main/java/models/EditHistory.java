@@ -0,0 +1,290 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents bounded history of structural edits of the file tree, which can be undone and redone.
+ * <p>
+ * Every edit is recorded as a {@link TreeChangeEvent} once this history is registered as a listener of the root.
+ * Undoing an edit applies its inverse to the live tree, so entities keep their identity and undoing costs
+ * as much as the edit itself. The inverse is recorded to be redone, the same way in the other direction.
+ * An edit which does not match the tree anymore, e.g. a removed folder which was added somewhere else since,
+ * is dropped and the one before it is undone instead.
+ * <p>
+ * Changes made by a thread inside {@link #group(Runnable)}, e.g. a whole batch, are recorded as one edit.
+ * Such an edit is undone by reverting its changes latest first, skipping those which do not match the tree anymore.
+ * <p>
+ * Edits are applied one at a time without holding the monitor of this history,
+ * so the tree can report them while edits from other threads keep being recorded.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class EditHistory implements TreeListener {
+
+    /** This field represents default number of edits kept in a history */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /** This field represents root folder of the file tree */
+    private final Folder root;
+
+    /** This field represents maximum number of edits kept to be undone or redone */
+    private final int capacity;
+
+    /** This field represents edits to be undone, latest last, every edit being its changes in the order they are made */
+    private final ArrayDeque<List<TreeChangeEvent>> undoEdits;
+
+    /** This field represents undone edits to be redone, latest last, every edit being its changes in the order they are made */
+    private final ArrayDeque<List<TreeChangeEvent>> redoEdits;
+
+    /** This field represents changes of the group being recorded by every thread, null if the thread is not grouping */
+    private final ThreadLocal<ArrayList<TreeChangeEvent>> group;
+
+    /** This field represents lock held while an edit is undone or redone */
+    private final Object applyLock;
+
+    /** This field represents thread undoing or redoing an edit, which changes are not recorded */
+    private volatile Thread applying;
+
+    /**
+     * This constructor will create new history with the default capacity
+     *
+     * @param root root folder of the file tree
+     * */
+    public EditHistory(@NotNull Folder root) {
+        this(root, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This constructor will create new history with a given capacity
+     *
+     * @param root root folder of the file tree
+     * @param capacity maximum number of edits kept to be undone or redone, at least 1
+     * */
+    public EditHistory(@NotNull Folder root, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.root = root;
+        this.capacity = capacity;
+        this.undoEdits = new ArrayDeque<>();
+        this.redoEdits = new ArrayDeque<>();
+        this.applyLock = new Object();
+        this.group = new ThreadLocal<>();
+    }
+
+    /**
+     * This method is used to run a given body and record every change it makes on this thread as a single edit,
+     * so it is undone and redone at once. A group inside another group joins the outer one.
+     *
+     * @param body code making the changes
+     * */
+    public void group(@NotNull Runnable body) {
+        if (this.group.get() != null) {
+            body.run();
+            return;
+        }
+
+        ArrayList<TreeChangeEvent> changes = new ArrayList<>();
+        this.group.set(changes);
+        try {
+            body.run();
+        } finally {
+            this.group.remove();
+            if (!changes.isEmpty()) this.record(changes);
+        }
+    }
+
+    /**
+     * This method is used to undo the latest edit
+     *
+     * @return true if an edit is undone, else false
+     * */
+    public boolean undo() {
+        return this.step(this.undoEdits, this.redoEdits);
+    }
+
+    /**
+     * This method is used to redo the latest undone edit
+     *
+     * @return true if an edit is redone, else false
+     * */
+    public boolean redo() {
+        return this.step(this.redoEdits, this.undoEdits);
+    }
+
+    /**
+     * This method is used to check if there is an edit to be undone
+     *
+     * @return true if there is an edit to be undone, else false
+     * */
+    public synchronized boolean canUndo() {
+        return !this.undoEdits.isEmpty();
+    }
+
+    /**
+     * This method is used to check if there is an undone edit to be redone
+     *
+     * @return true if there is an edit to be redone, else false
+     * */
+    public synchronized boolean canRedo() {
+        return !this.redoEdits.isEmpty();
+    }
+
+    /**
+     * This method is used to forget every recorded edit
+     * */
+    public synchronized void clear() {
+        this.undoEdits.clear();
+        this.redoEdits.clear();
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        this.record(new TreeChangeEvent(TreeChangeEvent.TYPE.ADDED, parent, content, null, null));
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        this.record(new TreeChangeEvent(TreeChangeEvent.TYPE.REMOVED, parent, content, null, null));
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        this.record(new TreeChangeEvent(TreeChangeEvent.TYPE.RENAMED, content.getParent(), content, null, oldName));
+    }
+
+    @Override
+    public void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        this.record(new TreeChangeEvent(TreeChangeEvent.TYPE.MOVED, newParent, content, oldParent, null));
+    }
+
+    @Override
+    public void onChanged(@NotNull File content, @NotNull String oldExtension, long oldSize) {
+        this.record(new TreeChangeEvent(content.getParent(), content, oldExtension, oldSize));
+    }
+
+    /**
+     * This method is a utility method used to record a new change, as an edit of its own
+     * or as a part of the group being recorded by this thread
+     *
+     * @param change new change
+     * */
+    private void record(@NotNull TreeChangeEvent change) {
+        if (this.applying == Thread.currentThread()) return;
+
+        ArrayList<TreeChangeEvent> changes = this.group.get();
+        if (changes != null) changes.add(change);
+        else this.record(Collections.singletonList(change));
+    }
+
+    /**
+     * This method is a utility method used to record a new edit, which can not be redone after anymore
+     *
+     * @param edit changes of the new edit in the order they are made
+     * */
+    private synchronized void record(@NotNull List<TreeChangeEvent> edit) {
+        push(this.undoEdits, edit);
+        this.redoEdits.clear();
+    }
+
+    /**
+     * This method is a utility method used to revert the latest edit which still matches the tree
+     * and record its inverse
+     *
+     * @param from edits to be reverted
+     * @param to edits where the inverse is recorded
+     * @return true if an edit is reverted, else false
+     * */
+    private boolean step(@NotNull ArrayDeque<List<TreeChangeEvent>> from, @NotNull ArrayDeque<List<TreeChangeEvent>> to) {
+        synchronized (this.applyLock) {
+            while (true) {
+                List<TreeChangeEvent> edit;
+                synchronized (this) {
+                    edit = from.pollLast();
+                }
+                if (edit == null) return false;
+
+                /* Changes are reverted latest first, so their inverses are in the order they are made */
+                ArrayList<TreeChangeEvent> inverse = new ArrayList<>(edit.size());
+                this.applying = Thread.currentThread();
+                try {
+                    for (int i = edit.size() - 1; i >= 0; i--) {
+                        TreeChangeEvent reverted = this.revert(edit.get(i));
+                        if (reverted != null) inverse.add(reverted);
+                    }
+                } finally {
+                    this.applying = null;
+                }
+
+                if (!inverse.isEmpty()) {
+                    synchronized (this) {
+                        push(to, inverse);
+                    }
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to apply the inverse of a single change to the file tree
+     *
+     * @param edit change to be reverted
+     * @return inverse of the change, or null if the change does not match the tree anymore
+     * */
+    private TreeChangeEvent revert(@NotNull TreeChangeEvent edit) {
+        Folder parent = edit.getParent();
+        Entity entity = edit.getEntity();
+
+        switch (edit.getType()) {
+            case ADDED:
+                if (entity.getParent() != parent) return null;
+                parent.removeContent(entity);
+                if (entity.getParent() != null) return null;
+                return new TreeChangeEvent(TreeChangeEvent.TYPE.REMOVED, parent, entity, null, null);
+            case REMOVED:
+                if (entity.getParent() != null || !NavigationHistory.isWithin(parent, this.root)) return null;
+                parent.addContent(entity);
+                if (entity.getParent() != parent) return null;
+                return new TreeChangeEvent(TreeChangeEvent.TYPE.ADDED, parent, entity, null, null);
+            case RENAMED:
+                /* The old name may be taken by another entity since, then the edit is dropped */
+                String name = entity.getName();
+                if (entity.getParent() != parent || !entity.setName(edit.getOldName())) return null;
+                return new TreeChangeEvent(TreeChangeEvent.TYPE.RENAMED, parent, entity, null, name);
+            case MOVED:
+                if (entity.getParent() != parent || !parent.moveContent(entity, edit.getOldParent())) return null;
+                return new TreeChangeEvent(TreeChangeEvent.TYPE.MOVED, edit.getOldParent(), entity, parent, null);
+            case CHANGED:
+                /* The old extension may be taken by another file since, then the edit is dropped */
+                File file = (File) entity;
+                String extension = file.getExtension();
+                long size = file.getSize();
+                if (file.getParent() != parent || !file.setExtension(edit.getOldExtension())) return null;
+                file.setSize(edit.getOldSize());
+                return new TreeChangeEvent(parent, file, extension, size);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * This method is a utility method used to push an edit, dropping the oldest one when there are too many
+     *
+     * @param edits edits where the edit is pushed
+     * @param edit edit to be pushed
+     * */
+    private void push(@NotNull ArrayDeque<List<TreeChangeEvent>> edits, @NotNull List<TreeChangeEvent> edit) {
+        if (edits.size() == this.capacity) edits.pollFirst();
+        edits.addLast(edit);
+    }
+}
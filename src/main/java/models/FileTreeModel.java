@@ -1,10 +1,28 @@
 package main.java.models;
 
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
 import main.java.models.module.File;
 import main.java.models.module.Folder;
+import main.java.models.module.TreeTransaction;
+import main.java.models.persistent.PersistentEntity;
+import main.java.models.persistent.PersistentFile;
+import main.java.models.persistent.PersistentFolder;
+import main.java.models.persistent.VersionedTree;
+import main.java.models.storage.DirectoryImporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * This class represents File Tree Model for this application.
+ * The file tree may be read and changed from many threads at once, e.g. a background import
+ * or search while the UI changes the tree. Folders and the name index guard themselves,
+ * and the change bus hands changes to its dispatcher whichever thread makes them.
  *
  * @since June 23rd 2021
  * @author Fajar Zuhri Hadiyanto
@@ -15,17 +33,46 @@ public class FileTreeModel {
     /** This field represents root folder of this file tree system */
     private final Folder root;
 
+    /** This field represents name index of all entities in this file tree system */
+    private final NameIndex nameIndex;
+
+    /** This field represents bus of changes in this file tree system */
+    private final TreeChangeBus changeBus;
+
+    /** This field represents persistent copy of this file tree system, attached the first time it is needed */
+    private volatile VersionedTree versions;
+
+    /** This field represents history recording every batch as a single edit, null if edits are not recorded */
+    private volatile EditHistory editHistory;
+
     /**
      * This constructor will create new file tree system and root folder in it
      * */
     public FileTreeModel() {
-        this.root = new Folder("root");
-        this.root.setParent(null);
+        this(new Folder("root"));
 
         /* Uncomment this line for testing only */
         this.init();
     }
 
+    /**
+     * This constructor will create new file tree system over an existing root folder,
+     * e.g. one loaded from storage
+     *
+     * @param root root folder of this file tree system
+     * */
+    public FileTreeModel(@NotNull Folder root) {
+        this.root = root;
+        this.root.setParent(null);
+
+        this.nameIndex = new NameIndex();
+        this.nameIndex.addSubtree(this.root);
+        this.root.addTreeListener(this.nameIndex);
+
+        this.changeBus = new TreeChangeBus();
+        this.root.addTreeListener(this.changeBus);
+    }
+
     /** This method is used to generate folders and file for testing purpose */
     @SuppressWarnings("For testing purpose")
     private void init() {
@@ -73,4 +120,227 @@ public class FileTreeModel {
         return this.root;
     }
 
+    /**
+     * This method is used to find an entity by its absolute path, names from root down to the entity
+     * separated by {@link Folder#PATH_SEPARATOR}, e.g. {@code root/a/b}. Every name is looked up
+     * in the child index of its parent, so the cost only depends on the depth of the entity.
+     * A file is named along with its extension.
+     *
+     * @param path absolute path of the entity, case insensitive
+     * @return entity at the given path, or null if there is none
+     * */
+    public Entity resolve(@NotNull String path) {
+        int start = 0;
+        int end = path.indexOf(Folder.PATH_SEPARATOR);
+        if (end < 0) end = path.length();
+        if (!this.root.getName().equalsIgnoreCase(path.substring(start, end))) return null;
+
+        Entity entity = this.root;
+        while (end < path.length()) {
+            start = end + 1;
+            end = path.indexOf(Folder.PATH_SEPARATOR, start);
+            if (end < 0) end = path.length();
+            if (start == end) continue;
+
+            /* Only folders have children to go through */
+            if (!(entity instanceof Folder)) return null;
+            entity = ((Folder) entity).getChild(path.substring(start, end));
+            if (entity == null) return null;
+        }
+        return entity;
+    }
+
+    /**
+     * This method is used to import a real directory along with its whole subtree into a given folder.
+     * The subtree is read in parallel and inserted with a single change once it is complete,
+     * so listeners of the file tree only see the finished subtree.
+     * Entries skipped on the way, e.g. names differing only in case, are reported by the importer.
+     *
+     * @param target folder the directory is imported into
+     * @param directory path of the directory
+     * @param importer importer reading the directory, which reports progress and skipped entries
+     * @return imported folder, or null if a content with the same name exists in the target folder
+     * @throws IOException if the directory itself can not be read
+     * */
+    public Folder importDirectory(@NotNull Folder target, @NotNull Path directory,
+                                  @NotNull DirectoryImporter importer) throws IOException {
+        Folder folder = importer.importDirectory(directory);
+        if (target.hasContent(folder)) return null;
+
+        target.addContent(folder);
+        return folder;
+    }
+
+    /**
+     * This method is used to move an entity into another folder. Only the entity is relinked,
+     * so the cost does not depend on the size of its subtree, besides updating figures of the ancestors.
+     *
+     * @param entity entity to be moved
+     * @param target folder the entity is moved into
+     * @return true if the entity is moved, else false, e.g. a content with the same name exists
+     *         in the target folder or the target folder is inside the entity
+     * */
+    public boolean move(@NotNull Entity entity, @NotNull Folder target) {
+        Folder parent = entity.getParent();
+        return parent != null && parent.moveContent(entity, target);
+    }
+
+    /**
+     * This method is used to copy an entity into another folder. The copy is made from a snapshot
+     * of the entity and shares it until its contents are needed, so copying a folder is instant
+     * whatever the size of its subtree, and later changes of either side do not affect the other.
+     * The copy is named after the entity, with a suffix if the name is taken in the target folder.
+     *
+     * @param entity entity to be copied, in this file tree system
+     * @param target folder the copy is added into
+     * @return copy of the entity, or null if the entity is not in this file tree system anymore
+     * */
+    public Entity copy(@NotNull Entity entity, @NotNull Folder target) {
+        PersistentEntity snapshot = this.getVersions().find(entity);
+        if (snapshot == null) return null;
+
+        for (int i = 0; ; i++) {
+            String name = i == 0 ? snapshot.getName()
+                    : i == 1 ? snapshot.getName() + " - Copy"
+                    : snapshot.getName() + " - Copy (" + i + ")";
+            if (snapshot instanceof PersistentFile
+                    ? target.getFile(name, ((PersistentFile) snapshot).getExtension()) != null
+                    : target.getFolder(name) != null) continue;
+
+            /* Another thread may take the name first, so the next one is tried */
+            Entity copy = snapshot.materialize(name);
+            target.addCopy(copy, entity);
+            if (copy.getParent() == target) return copy;
+        }
+    }
+
+    /**
+     * This method is used to apply many changes to this file tree system at once, all of them or none.
+     * Changes are recorded by the given body and checked against the tree before any of them is applied,
+     * and subscribers of the change bus get them as a single list once every change is applied.
+     * The edit history, if any, records the whole batch as a single edit.
+     *
+     * @param body records changes to the given transaction
+     * @throws IllegalStateException if a change conflicts with the tree or an earlier change,
+     *                               in which case nothing is applied
+     * */
+    public void batch(@NotNull Consumer<TreeTransaction> body) {
+        TreeTransaction transaction = new TreeTransaction();
+        body.accept(transaction);
+
+        EditHistory history = this.editHistory;
+        this.changeBus.hold();
+        try {
+            if (history == null) transaction.commit();
+            else history.group(transaction::commit);
+        } finally {
+            this.changeBus.release();
+        }
+    }
+
+    /**
+     * This method is used to remove many entities from their folders at once, all of them or none
+     *
+     * @param entities entities to be removed
+     * @return true if every entity is removed, false if one of them is not in a folder anymore
+     *         and nothing is removed
+     * */
+    public boolean removeAll(@NotNull List<Entity> entities) {
+        try {
+            this.batch(transaction -> {
+                for (Entity entity : entities) transaction.remove(entity);
+            });
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This method is used to search entities in the subtree of a given folder
+     * by a given name as a keyword, using the name index of this file tree system
+     *
+     * @param scope folder where the search is started
+     * @param key search keyword
+     * @return list of entities that meet requirement
+     * */
+    public ArrayList<Entity> search(@NotNull Folder scope, @NotNull String key) {
+        this.prepareSearch(scope);
+        return this.nameIndex.search(scope, key);
+    }
+
+    /**
+     * This method is used to visit every entity in the subtree of a given folder which name contains
+     * a given keyword, as the subtree is in the current snapshot of this file tree system.
+     * The snapshot never changes, so a long search sees one consistent tree
+     * however the tree is changed while it goes on. Entities are visited in pre-order,
+     * and only the part of the subtree loaded so far is visited, so {@link #prepareSearch(Folder)} is called first.
+     *
+     * @param scope folder where the search is started, excluded from the result
+     * @param key search keyword
+     * @param action action applied to every matching entity, returns false to stop visiting
+     * @return false if the folder is not in this file tree system, else true
+     * */
+    public boolean forEachMatchInSnapshot(@NotNull Folder scope, @NotNull String key, @NotNull Predicate<Entity> action) {
+        VersionedTree tree = this.getVersions();
+        PersistentEntity copy = scope == this.root ? tree.snapshot() : tree.find(scope);
+        if (!(copy instanceof PersistentFolder)) return false;
+
+        ((PersistentFolder) copy).forEachMatch(key, found -> action.test(found.getSource()));
+        return true;
+    }
+
+    /**
+     * This method is used to make sure the name index covers the subtree of a given folder
+     * before it is searched, by loading the subtree if any folder is lazily loaded
+     *
+     * @param scope folder where the search is started
+     * */
+    public void prepareSearch(@NotNull Folder scope) {
+        if (!this.nameIndex.isComplete()) scope.loadAll();
+    }
+
+    /**
+     * This method is used to get name index of this file tree system
+     *
+     * @return field {@link #nameIndex}
+     * */
+    public NameIndex getNameIndex() {
+        return this.nameIndex;
+    }
+
+    /**
+     * This method is used to get bus of changes in this file tree system
+     *
+     * @return field {@link #changeBus}
+     * */
+    public TreeChangeBus getChangeBus() {
+        return this.changeBus;
+    }
+
+    /**
+     * This method is used to set history which records every batch as a single edit
+     *
+     * @param editHistory history of edits of this file tree system, registered as a listener of its root
+     * */
+    public void setEditHistory(@NotNull EditHistory editHistory) {
+        this.editHistory = editHistory;
+    }
+
+    /**
+     * This method is used to get persistent copy of this file tree system which follows its changes,
+     * for snapshots and reads of the tree as it was at one point in time.
+     * It is attached the first time it is needed, copying the part of the tree loaded so far.
+     *
+     * @return field {@link #versions}
+     * */
+    public VersionedTree getVersions() {
+        VersionedTree tree = this.versions;
+        if (tree != null) return tree;
+
+        synchronized (this) {
+            if (this.versions == null) this.versions = VersionedTree.attach(this.root);
+            return this.versions;
+        }
+    }
 }
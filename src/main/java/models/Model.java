@@ -1,5 +1,16 @@
 package main.java.models;
 
+import main.java.models.module.Folder;
+import main.java.models.storage.TreeJournal;
+import main.java.models.storage.TreeStore;
+
+import com.sun.istack.internal.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
 /**
  * This class represents Model for this application.
  *
@@ -15,12 +26,143 @@ public class Model {
     /** This field represents state model as a part of this model */
     private final StateModel stateModel;
 
+    /** This field represents search model as a part of this model */
+    private final SearchModel searchModel;
+
+    /** This field represents history of structural edits of the file tree as a part of this model */
+    private final EditHistory editHistory;
+
+    /** This field represents storage where the file tree is saved between runs */
+    private final TreeStore treeStore;
+
+    /** This field represents journal of changes made to the file tree since it was last stored */
+    private TreeJournal treeJournal;
+
+    /** This field represents failure of opening the journal, null if it is opened */
+    private IOException journalFailure;
+
+    /** This field represents failure of loading the storage file, null if it is loaded or there is none */
+    private IOException loadFailure;
+
+    /**
+     * This field represents state of the storage file which could not be loaded nor moved aside,
+     * so it is neither journaled nor overwritten
+     * */
+    private boolean storeKept;
+
     /**
-     * This constructor will create new model by creating all model part
+     * This constructor will create new model by creating all model part.
+     * The file tree is loaded lazily from storage if it was saved before,
+     * and changes journaled after that are replayed over it.
+     * Edits are recorded to be undone only after the journal is replayed.
      * */
     public Model() {
-        this.fileTreeModel = new FileTreeModel();
+        this.treeStore = new TreeStore(Paths.get(System.getProperty("user.home"), ".file-explorer-simulation", "tree.bin"));
+        this.fileTreeModel = this.loadFileTreeModel();
+        this.openJournal();
         this.stateModel = new StateModel(this.fileTreeModel.getRoot());
+        this.fileTreeModel.getRoot().addTreeListener(this.stateModel);
+        this.editHistory = new EditHistory(this.fileTreeModel.getRoot());
+        this.fileTreeModel.getRoot().addTreeListener(this.editHistory);
+        this.fileTreeModel.setEditHistory(this.editHistory);
+        this.searchModel = new SearchModel(this.fileTreeModel);
+    }
+
+    /**
+     * This method is used to save the file tree to storage, folding the journal into it
+     *
+     * @throws IOException if the storage can not be written
+     * */
+    public void save() throws IOException {
+        if (this.storeKept) {
+            throw new IOException("Storage file could not be loaded, so it is not overwritten: "
+                    + this.treeStore.getPath());
+        }
+        if (this.treeJournal == null) {
+            this.treeStore.save(this.fileTreeModel.getRoot());
+            return;
+        }
+        this.treeJournal.close();
+        this.treeJournal.checkpoint(this.fileTreeModel.getRoot());
+    }
+
+    /**
+     * This method is a utility method used to load the file tree from storage,
+     * or create a new one if there is no valid storage. A storage file which can not be loaded
+     * is moved aside with its journal first, so the new file tree never replays or overwrites it.
+     *
+     * @return file tree model
+     * */
+    private FileTreeModel loadFileTreeModel() {
+        if (this.treeStore.exists()) {
+            try {
+                return new FileTreeModel(this.treeStore.load(true));
+            } catch (IOException e) {
+                try {
+                    Path aside = TreeJournal.setAside(this.treeStore);
+                    this.loadFailure = new IOException("Storage file could not be loaded and is moved to "
+                            + aside + ": " + e.getMessage(), e);
+                } catch (IOException moveFailure) {
+                    this.storeKept = true;
+                    this.loadFailure = new IOException("Storage file could not be loaded nor moved aside, "
+                            + "so changes are not saved: " + e.getMessage(), e);
+                    this.loadFailure.addSuppressed(moveFailure);
+                }
+            }
+        }
+        return new FileTreeModel();
+    }
+
+    /**
+     * This method is a utility method used to replay the journal over the file tree
+     * and start recording its changes. A new file tree is stored first,
+     * so the journal always has a base to be replayed over.
+     * */
+    private void openJournal() {
+        if (this.storeKept) return;
+        Folder root = this.fileTreeModel.getRoot();
+        try {
+            TreeJournal journal = new TreeJournal(this.treeStore);
+            if (!this.treeStore.exists()) journal.checkpoint(root);
+            else journal.replay(root);
+
+            journal.open();
+            root.addTreeListener(journal);
+            this.treeJournal = journal;
+        } catch (IOException e) {
+            this.journalFailure = e;
+        }
+    }
+
+    /**
+     * This method is used to set handler notified once changes of the file tree can no longer be journaled,
+     * so they would be lost if the application stops before it is saved.
+     * If the journal could not be opened, the handler is notified right away.
+     *
+     * @param onFailure handler receiving the failure, called from the failing thread
+     * */
+    public void setOnJournalFailure(@NotNull Consumer<IOException> onFailure) {
+        if (this.treeJournal != null) this.treeJournal.setOnFailure(onFailure);
+        else if (this.journalFailure != null) onFailure.accept(this.journalFailure);
+    }
+
+    /**
+     * This method is used to set handler notified if the storage file could not be loaded,
+     * so a new file tree is shown instead of the saved one
+     *
+     * @param onFailure handler receiving the failure, called right away if loading failed
+     * */
+    public void setOnLoadFailure(@NotNull Consumer<IOException> onFailure) {
+        if (this.loadFailure != null) onFailure.accept(this.loadFailure);
+    }
+
+    /**
+     * This method is used to check if changes of the file tree are still journaled
+     *
+     * @return true if the journal is open and recording, else false
+     * */
+    public boolean isJournaling() {
+        return this.treeJournal != null && this.treeJournal.getFailure() == null;
     }
 
     /**
@@ -40,4 +182,22 @@ public class Model {
     public StateModel getStateModel() {
         return this.stateModel;
     }
+
+    /**
+     * This method is used to get search model as a part of this model
+     *
+     * @return field {@link #searchModel}
+     * */
+    public SearchModel getSearchModel() {
+        return this.searchModel;
+    }
+
+    /**
+     * This method is used to get history of structural edits as a part of this model
+     *
+     * @return field {@link #editHistory}
+     * */
+    public EditHistory getEditHistory() {
+        return this.editHistory;
+    }
 }
@@ -0,0 +1,275 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class represents inverted trigram index of entity names in the file tree.
+ * Every name is normalized the same way as {@link Folder#search(String)} does,
+ * and split into all of its three characters substring, so a substring search
+ * only has to check entities sharing the rarest trigram of the keyword.
+ * Contents of lazily loaded folders are indexed once they are loaded.
+ * The index is guarded by its own monitor, so it can be kept up to date
+ * by changes coming from many threads.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class NameIndex implements TreeListener {
+
+    /** This field represents length of the indexed substrings */
+    public static final int GRAM = 3;
+
+    /** This field represents indexed entities grouped by every trigram of their name */
+    private final HashMap<String, Set<Entity>> postings;
+
+    /** This field represents normalized name of every indexed entity */
+    private final IdentityHashMap<Entity, String> names;
+
+    /** This field represents indexed folders which contents are not loaded, so not indexed, yet */
+    private final Set<Folder> unloaded;
+
+    /**
+     * This constructor will create new empty name index
+     * */
+    public NameIndex() {
+        this.postings = new HashMap<>();
+        this.names = new IdentityHashMap<>();
+        this.unloaded = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * This method is used to index a given entity along with its whole subtree
+     *
+     * @param content entity to be indexed
+     * */
+    public synchronized void addSubtree(@NotNull Entity content) {
+        ArrayDeque<Entity> stack = new ArrayDeque<>();
+        stack.push(content);
+        while (!stack.isEmpty()) {
+            Entity entity = stack.pop();
+            this.add(entity, normalize(entity.getName()));
+            if (entity instanceof Folder) {
+                for (Entity child : ((Folder) entity).getLoadedContents()) stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * This method is used to remove a given entity along with its whole subtree from this index
+     *
+     * @param content entity to be removed
+     * */
+    public synchronized void removeSubtree(@NotNull Entity content) {
+        ArrayDeque<Entity> stack = new ArrayDeque<>();
+        stack.push(content);
+        while (!stack.isEmpty()) {
+            Entity entity = stack.pop();
+            this.remove(entity);
+            if (entity instanceof Folder) {
+                for (Entity child : ((Folder) entity).getLoadedContents()) stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * This method is used to search entities in the subtree of a given folder
+     * which name contains a given keyword. Keyword shorter than {@link #GRAM}
+     * can not use the index, so the subtree is walked in parallel instead.
+     * Candidates are copied while holding the monitor of this index and checked after it is released,
+     * so a long check does not hold up changes of the tree.
+     *
+     * @param scope folder where the search is started, excluded from the result
+     * @param key search keyword
+     * @return list of entities that meet requirement, sorted by {@link #sortByPath(List)}
+     *         unless the subtree is walked
+     * */
+    public ArrayList<Entity> search(@NotNull Folder scope, @NotNull String key) {
+        ArrayList<Entity> candidates = this.candidates(key);
+        if (candidates == null) return scope.parallelSearch(key);
+
+        String normalizedKey = key.toLowerCase();
+        ArrayList<Entity> result = new ArrayList<>();
+        for (Entity candidate : candidates) {
+            if (matches(candidate, scope, normalizedKey)) result.add(candidate);
+        }
+        sortByPath(result);
+        return result;
+    }
+
+    /**
+     * This method is used to get a copy of candidate entities which may contain
+     * a given keyword in their name, so they can be checked on another thread
+     * with {@link #matches(Entity, Folder, String)}
+     *
+     * @param key search keyword
+     * @return copy of candidate entities, or null if the keyword is too short to use the index
+     * */
+    public synchronized ArrayList<Entity> candidates(@NotNull String key) {
+        String normalizedKey = key.toLowerCase();
+        if (normalizedKey.length() < GRAM) return null;
+
+        Set<Entity> candidates = null;
+        for (int i = 0; i + GRAM <= normalizedKey.length(); i++) {
+            Set<Entity> posting = this.postings.get(normalizedKey.substring(i, i + GRAM));
+            if (posting == null) return new ArrayList<>();
+            if (candidates == null || posting.size() < candidates.size()) candidates = posting;
+        }
+        return new ArrayList<>(candidates);
+    }
+
+    /**
+     * This method is used to check if a candidate entity is in the subtree of a given folder
+     * and its name contains a given keyword. It does not read the index, so it is safe
+     * to be called on another thread.
+     *
+     * @param candidate entity to be checked
+     * @param scope folder where the search is started
+     * @param key search keyword in lower case
+     * @return true if the entity meets requirement, else false
+     * */
+    public static boolean matches(@NotNull Entity candidate, @NotNull Folder scope, @NotNull String key) {
+        return normalize(candidate.getName()).contains(key) && isDescendant(candidate, scope);
+    }
+
+    /**
+     * This method is used to sort entities found in this index by their path, since postings keep entities
+     * in no particular order, so the same search gives the same order every time. Entities in the same folder
+     * are sorted by name, and every folder comes before the entities below it.
+     *
+     * @param entities entities to be sorted
+     * */
+    public static void sortByPath(@NotNull List<Entity> entities) {
+        IdentityHashMap<Entity, String> keys = new IdentityHashMap<>(entities.size());
+        for (Entity entity : entities) {
+            Folder parent = entity.getParent();
+            String path = parent == null ? "" : parent.getPath().toLowerCase().replace(Folder.PATH_SEPARATOR, '\0');
+            keys.put(entity, path + '\0' + entity.getSortKey());
+        }
+        entities.sort(Comparator.comparing((Entity entity) -> keys.get(entity))
+                .thenComparing(Entity::getType)
+                .thenComparing(Entity::getName));
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        this.addSubtree(content);
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        this.removeSubtree(content);
+    }
+
+    /**
+     * This method is called after an entity is moved. Names do not change and the scope of a search
+     * is checked against the live tree, so the index is kept as it is, unless the entity is moved
+     * into a folder removed meanwhile by another thread, or out of one into the indexed tree.
+     *
+     * @param oldParent folder the entity is moved from
+     * @param newParent folder the entity is moved to
+     * @param content moved entity
+     * */
+    @Override
+    public synchronized void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        boolean isIndexed = this.names.containsKey(content);
+        if (this.names.containsKey(newParent)) {
+            if (!isIndexed) this.addSubtree(content);
+        } else if (isIndexed) {
+            this.removeSubtree(content);
+        }
+    }
+
+    @Override
+    public synchronized void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        if (this.remove(content)) this.add(content, normalize(content.getName()));
+    }
+
+    @Override
+    public synchronized void onLoaded(@NotNull Folder folder) {
+        /* A folder is indexed with its contents once, whichever way it was loaded */
+        if (!this.unloaded.remove(folder)) return;
+
+        for (Entity child : folder.getLoadedContents()) this.addSubtree(child);
+    }
+
+    /**
+     * This method is used to check if every indexed folder has its contents loaded and indexed
+     *
+     * @return true if this index covers the whole tree, else false
+     * */
+    public synchronized boolean isComplete() {
+        return this.unloaded.isEmpty();
+    }
+
+    /**
+     * This method is a utility method used to add a single entity to the postings of its trigrams
+     *
+     * @param entity entity to be indexed
+     * @param name normalized name of the entity
+     * */
+    private void add(@NotNull Entity entity, @NotNull String name) {
+        if (this.names.put(entity, name) == null && entity instanceof Folder && !((Folder) entity).isLoaded())
+            this.unloaded.add((Folder) entity);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            this.postings
+                    .computeIfAbsent(name.substring(i, i + GRAM), gram -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(entity);
+        }
+    }
+
+    /**
+     * This method is a utility method used to remove a single entity from the postings of its trigrams
+     *
+     * @param entity entity to be removed
+     * @return true if the entity was indexed, else false
+     * */
+    private boolean remove(@NotNull Entity entity) {
+        String name = this.names.remove(entity);
+        if (name == null) return false;
+        if (entity instanceof Folder) this.unloaded.remove(entity);
+
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            String gram = name.substring(i, i + GRAM);
+            Set<Entity> posting = this.postings.get(gram);
+            if (posting != null && posting.remove(entity) && posting.isEmpty()) this.postings.remove(gram);
+        }
+        return true;
+    }
+
+    /**
+     * This method is a utility method used to normalize entity name for indexing
+     *
+     * @param name entity name
+     * @return normalized name
+     * */
+    private static String normalize(@NotNull String name) {
+        return name.trim().toLowerCase();
+    }
+
+    /**
+     * This method is a utility method used to check if an entity is below a given folder
+     *
+     * @param entity entity to be checked
+     * @param folder ancestor folder
+     * @return true if folder is one of the ancestors of the entity, else false
+     * */
+    private static boolean isDescendant(@NotNull Entity entity, @NotNull Folder folder) {
+        for (Folder temp = entity.getParent(); temp != null; temp = temp.getParent()) {
+            if (temp == folder) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,158 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Folder;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * This class represents bounded history of visited folders.
+ * <p>
+ * Folders are kept in a ring buffer, so once it is full the oldest folder is dropped
+ * for every new one. Folders are only weakly referenced, so the history never keeps
+ * a folder alive by itself. A removed folder is purged by clearing its slot, and
+ * cleared slots are skipped one by one when the history is popped.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class NavigationHistory {
+
+    /** This field represents default number of folders kept in a history */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /** This field represents slots of the ring buffer, null when empty or purged */
+    private final WeakReference<Folder>[] entries;
+
+    /** This field represents index of the slot the next folder is pushed to */
+    private int top;
+
+    /** This field represents number of used slots, including purged ones */
+    private int size;
+
+    /** This field represents number of slots still holding a folder */
+    private int live;
+
+    /**
+     * This constructor will create new empty history
+     *
+     * @param capacity maximum number of folders kept, at least 1
+     * */
+    @SuppressWarnings("unchecked")
+    public NavigationHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.entries = (WeakReference<Folder>[]) new WeakReference<?>[capacity];
+    }
+
+    /**
+     * This method is used to push a folder as the latest visited one,
+     * dropping the oldest folder when the history is full
+     *
+     * @param folder visited folder
+     * */
+    public void push(@NotNull Folder folder) {
+        if (this.size == this.entries.length) {
+            if (this.entries[this.top] != null) this.live--;
+        } else {
+            this.size++;
+        }
+
+        this.entries[this.top] = new WeakReference<>(folder);
+        this.top = (this.top + 1) % this.entries.length;
+        this.live++;
+    }
+
+    /**
+     * This method is used to pop the latest visited folder which is still in the history,
+     * skipping purged slots
+     *
+     * @return latest visited folder, or null if there is none
+     * */
+    public Folder pop() {
+        while (this.size > 0) {
+            this.top = (this.top - 1 + this.entries.length) % this.entries.length;
+            this.size--;
+
+            WeakReference<Folder> entry = this.entries[this.top];
+            this.entries[this.top] = null;
+            if (entry == null) continue;
+
+            this.live--;
+            Folder folder = entry.get();
+            if (folder != null) return folder;
+        }
+        return null;
+    }
+
+    /**
+     * This method is used to purge a removed folder and every folder below it from this history
+     *
+     * @param removed removed folder
+     * */
+    public void purge(@NotNull Folder removed) {
+        for (int i = 0; i < this.size; i++) {
+            int index = (this.top - 1 - i + this.entries.length) % this.entries.length;
+            WeakReference<Folder> entry = this.entries[index];
+            if (entry == null) continue;
+
+            Folder folder = entry.get();
+            if (folder == null || isWithin(folder, removed)) {
+                this.entries[index] = null;
+                this.live--;
+            }
+        }
+    }
+
+    /**
+     * This method is used to remove every folder from this history
+     * */
+    public void clear() {
+        Arrays.fill(this.entries, null);
+        this.top = 0;
+        this.size = 0;
+        this.live = 0;
+    }
+
+    /**
+     * This method is used to check if there is no folder left in this history
+     *
+     * @return true if this history is empty, else false
+     * */
+    public boolean isEmpty() {
+        return this.live == 0;
+    }
+
+    /**
+     * This method is used to get number of folders in this history
+     *
+     * @return field {@link #live}
+     * */
+    public int size() {
+        return this.live;
+    }
+
+    /**
+     * This method is used to get maximum number of folders kept in this history
+     *
+     * @return length of field {@link #entries}
+     * */
+    public int getCapacity() {
+        return this.entries.length;
+    }
+
+    /**
+     * This method is a utility method used to check if a folder is a given folder or below it
+     *
+     * @param folder folder to be checked
+     * @param ancestor possible ancestor
+     * @return true if the folder is the ancestor or one of its descendants, else false
+     * */
+    static boolean isWithin(@NotNull Folder folder, @NotNull Folder ancestor) {
+        for (Folder temp = folder; temp != null; temp = temp.getParent()) {
+            if (temp == ancestor) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package main.java.models;
+
+/**
+ * This class represents handle of a running search started by {@link SearchModel},
+ * used to cancel the search and to check if it is still wanted
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class SearchHandle {
+
+    /** This field represents cancellation state of the search */
+    private volatile boolean cancelled;
+
+    /**
+     * This method is used to cancel the search. Batches which are not delivered yet are dropped.
+     * */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * This method is used to get cancellation state of the search
+     *
+     * @return field {@link #cancelled}
+     * */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
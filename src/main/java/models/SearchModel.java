@@ -0,0 +1,332 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This class represents Search Model for this application.
+ * Search runs on a background thread, along with loading the part of the tree it needs,
+ * and its results are delivered in batches, so the caller can show them while the search goes on.
+ * A keyword too short for the name index walks the current snapshot of the tree,
+ * so a long search is not affected by changes made while it goes on.
+ * Only one search runs at a time, starting a new one cancels the previous.
+ * Results of recent searches are kept in a LRU cache until the tree changes,
+ * and a search which keyword contains the keyword of a cached search
+ * only filters the cached results instead of searching the tree again.
+ * The cache is guarded by its own monitor, since the tree may be changed from any thread.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class SearchModel implements TreeListener {
+
+    /** This field represents maximum number of entities in one batch */
+    public static final int BATCH_SIZE = 500;
+
+    /** This field represents maximum time in milliseconds a found entity waits before its batch is delivered */
+    public static final long BATCH_INTERVAL = 50;
+
+    /** This field represents maximum number of searches in the cache */
+    public static final int CACHE_CAPACITY = 32;
+
+    /** This field represents maximum number of entities in a result to be cached */
+    public static final int CACHE_MAX_RESULT = 100_000;
+
+    /** This field represents file tree model to be searched */
+    private final FileTreeModel fileTreeModel;
+
+    /** This field represents background thread where the search runs */
+    private final ExecutorService executor;
+
+    /** This field represents handle of the latest search */
+    private SearchHandle current;
+
+    /** This field represents results of recent searches, least recently used first */
+    private final LinkedHashMap<Query, List<Entity>> cache;
+
+    /** This field represents number of times the cache is invalidated, so a stale result is not cached, guarded by the cache */
+    private long generation;
+
+    /**
+     * This constructor will create new search model over a given file tree model
+     *
+     * @param fileTreeModel file tree model to be searched
+     * */
+    public SearchModel(@NotNull FileTreeModel fileTreeModel) {
+        this.fileTreeModel = fileTreeModel;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new LinkedHashMap<Query, List<Entity>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Query, List<Entity>> eldest) {
+                return this.size() > CACHE_CAPACITY;
+            }
+        };
+        this.fileTreeModel.getRoot().addTreeListener(this);
+    }
+
+    /**
+     * This method is used to start searching entities in the subtree of a given folder
+     * by a given keyword. Batches and completion are handed to the callback executor,
+     * e.g. the UI thread, and dropped there if the search is cancelled in the meantime.
+     *
+     * @param scope folder where the search is started
+     * @param key search keyword
+     * @param callbackExecutor executor which runs the callbacks
+     * @param onBatch callback receiving every batch of found entities
+     * @param onDone callback called once the search is finished and not cancelled
+     * @return handle of the started search
+     * */
+    public SearchHandle search(@NotNull Folder scope, @NotNull String key, @NotNull Executor callbackExecutor,
+                               @NotNull Consumer<List<Entity>> onBatch, @NotNull Runnable onDone) {
+        this.cancel();
+        SearchHandle handle = new SearchHandle();
+        this.current = handle;
+
+        String normalizedKey = key.toLowerCase();
+        Query query = new Query(scope, normalizedKey);
+        long generation;
+        List<Entity> cached;
+        List<Entity> base;
+        synchronized (this.cache) {
+            generation = this.generation;
+            cached = this.cache.get(query);
+            base = cached == null ? this.refinementBase(query) : null;
+        }
+
+        /* Cached result is delivered right away */
+        if (cached != null) {
+            callbackExecutor.execute(() -> {
+                if (handle.isCancelled()) return;
+                onBatch.accept(cached);
+                onDone.run();
+            });
+            return handle;
+        }
+
+        this.executor.execute(() -> {
+            if (handle.isCancelled()) return;
+            BatchSink sink = new BatchSink(handle, callbackExecutor, onBatch);
+
+            /* Lazily loaded folders are loaded here, so a large subtree does not hold up the caller */
+            ArrayList<Entity> candidates = null;
+            if (base == null) {
+                this.fileTreeModel.prepareSearch(scope);
+                candidates = this.fileTreeModel.getNameIndex().candidates(key);
+            }
+
+            if (base != null) {
+                for (Entity entity : base) {
+                    if (entity.getName().trim().toLowerCase().contains(normalizedKey) && !sink.test(entity)) break;
+                }
+            } else if (candidates == null) {
+                /* A scope no longer in the tree has no snapshot, so its own subtree is walked instead */
+                if (!this.fileTreeModel.forEachMatchInSnapshot(scope, normalizedKey, sink)) {
+                    scope.forEachMatch(normalizedKey, sink);
+                }
+            } else {
+                /* Matches are sorted before they are delivered, since candidates come in no particular order */
+                ArrayList<Entity> matches = new ArrayList<>();
+                for (Entity candidate : candidates) {
+                    if (NameIndex.matches(candidate, scope, normalizedKey)) matches.add(candidate);
+                }
+                NameIndex.sortByPath(matches);
+                for (Entity match : matches) {
+                    if (!sink.test(match)) break;
+                }
+            }
+
+            sink.flush();
+            List<Entity> result = sink.getAll();
+            callbackExecutor.execute(() -> {
+                if (handle.isCancelled()) return;
+                synchronized (this.cache) {
+                    if (generation == this.generation && result.size() <= CACHE_MAX_RESULT) this.cache.put(query, result);
+                }
+                onDone.run();
+            });
+        });
+
+        return handle;
+    }
+
+    /**
+     * This method is used to get cached result which a given search can be refined from,
+     * that is the result of the longest cached keyword contained in the keyword
+     * of the given search, in the same scope. It must be called while holding the monitor of the cache.
+     *
+     * @param query search to be refined
+     * @return cached result to be filtered, or null if there is none
+     * */
+    private List<Entity> refinementBase(@NotNull Query query) {
+        Query best = null;
+        for (Query cachedQuery : this.cache.keySet()) {
+            if (cachedQuery.scope == query.scope && query.key.contains(cachedQuery.key)
+                    && (best == null || cachedQuery.key.length() > best.key.length())) {
+                best = cachedQuery;
+            }
+        }
+        return best == null ? null : this.cache.get(best);
+    }
+
+    /**
+     * This method is used to drop all cached results, since they may not be valid anymore
+     * */
+    private void invalidate() {
+        synchronized (this.cache) {
+            this.cache.clear();
+            this.generation++;
+        }
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        this.invalidate();
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        this.invalidate();
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        this.invalidate();
+    }
+
+    /**
+     * This method is used to cancel the latest search, if any
+     * */
+    public void cancel() {
+        if (this.current != null) {
+            this.current.cancel();
+            this.current = null;
+        }
+    }
+
+    /**
+     * This class represents sink collecting found entities into batches
+     * and delivering every full or old enough batch to the callback executor
+     * */
+    private static class BatchSink implements Predicate<Entity> {
+
+        /** This field represents handle of the search */
+        private final SearchHandle handle;
+
+        /** This field represents executor which runs the callback */
+        private final Executor callbackExecutor;
+
+        /** This field represents callback receiving every batch */
+        private final Consumer<List<Entity>> onBatch;
+
+        /** This field represents batch being collected */
+        private ArrayList<Entity> batch;
+
+        /** This field represents time when the previous batch is delivered */
+        private long flushedAt;
+
+        /** This field represents all entities collected so far */
+        private final ArrayList<Entity> all;
+
+        /**
+         * This constructor will create new batch sink
+         *
+         * @param handle handle of the search
+         * @param callbackExecutor executor which runs the callback
+         * @param onBatch callback receiving every batch
+         * */
+        BatchSink(SearchHandle handle, Executor callbackExecutor, Consumer<List<Entity>> onBatch) {
+            this.handle = handle;
+            this.callbackExecutor = callbackExecutor;
+            this.onBatch = onBatch;
+            this.batch = new ArrayList<>();
+            this.flushedAt = System.currentTimeMillis();
+            this.all = new ArrayList<>();
+        }
+
+        @Override
+        public boolean test(Entity entity) {
+            if (this.handle.isCancelled()) return false;
+
+            this.batch.add(entity);
+            this.all.add(entity);
+            if (this.batch.size() >= BATCH_SIZE || System.currentTimeMillis() - this.flushedAt >= BATCH_INTERVAL) {
+                this.flush();
+            }
+            return true;
+        }
+
+        /**
+         * This method is used to deliver the batch being collected, if it is not empty
+         * */
+        void flush() {
+            if (this.batch.isEmpty() || this.handle.isCancelled()) return;
+
+            List<Entity> delivered = this.batch;
+            this.batch = new ArrayList<>();
+            this.flushedAt = System.currentTimeMillis();
+            this.callbackExecutor.execute(() -> {
+                if (!this.handle.isCancelled()) this.onBatch.accept(delivered);
+            });
+        }
+
+        /**
+         * This method is used to get all entities collected so far
+         *
+         * @return field {@link #all}
+         * */
+        List<Entity> getAll() {
+            return this.all;
+        }
+    }
+
+    /**
+     * This class represents key of a search in the cache, which is
+     * the scope folder, compared by identity, and the normalized keyword
+     * */
+    private static final class Query {
+
+        /** This field represents folder where the search is started */
+        private final Folder scope;
+
+        /** This field represents search keyword in lower case */
+        private final String key;
+
+        /**
+         * This constructor will create new search key
+         *
+         * @param scope folder where the search is started
+         * @param key search keyword in lower case
+         * */
+        Query(Folder scope, String key) {
+            this.scope = scope;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Query && ((Query) o).scope == this.scope && ((Query) o).key.equals(this.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.scope) + this.key.hashCode();
+        }
+    }
+}
@@ -1,38 +1,55 @@
 package main.java.models;
 
 import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
 import main.java.models.module.Folder;
-
-import java.util.Stack;
+import main.java.models.module.TreeListener;
 
 /**
  * This class represents State Model for this application.
+ * Navigation histories are bounded, and a folder removed from the file tree
+ * is purged from them once this model is registered as a listener of the root.
  *
  * @since June 23rd 2021
  * @author Fajar Zuhri Hadiyanto
  * @version 1.0
  * */
-public class StateModel {
+public class StateModel implements TreeListener {
 
     /** This field represents history for undo action */
-    private final Stack<Folder> undoHistories;
+    private final NavigationHistory undoHistories;
 
     /** This field represents history for redo action */
-    private final Stack<Folder> redoHistories;
+    private final NavigationHistory redoHistories;
 
     /** This field represents current folder where application at */
     private Folder currentPos;
 
+    /** This field represents state of current folder, whether it is removed from the file tree */
+    private boolean currentRemoved;
+
     /** This field represents state of this app, either in search state or not */
     private boolean isSearch;
 
     /**
-     * This constructor will create new state model
+     * This constructor will create new state model with histories of the default capacity
+     *
+     * @param currentPos folder where application starts
      * */
     public StateModel(@NotNull Folder currentPos) {
+        this(currentPos, NavigationHistory.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This constructor will create new state model with histories of a given capacity
+     *
+     * @param currentPos folder where application starts
+     * @param historyCapacity maximum number of folders kept in every history
+     * */
+    public StateModel(@NotNull Folder currentPos, int historyCapacity) {
         this.currentPos = currentPos;
-        this.undoHistories = new Stack<>();
-        this.redoHistories = new Stack<>();
+        this.undoHistories = new NavigationHistory(historyCapacity);
+        this.redoHistories = new NavigationHistory(historyCapacity);
         this.isSearch = false;
     }
 
@@ -41,7 +58,7 @@ public class StateModel {
      *
      * @return field {@link #undoHistories}
      * */
-    public Stack<Folder> getUndoHistories() {
+    public NavigationHistory getUndoHistories() {
         return this.undoHistories;
     }
 
@@ -50,7 +67,7 @@ public class StateModel {
      *
      * @return field {@link #redoHistories}
      * */
-    public Stack<Folder> getRedoHistories() {
+    public NavigationHistory getRedoHistories() {
         return this.redoHistories;
     }
 
@@ -60,8 +77,9 @@ public class StateModel {
      * @param currentPos new position
      * */
     @SuppressWarnings("Unused")
-    public void setCurrentPos(@NotNull Folder currentPos) {
+    public synchronized void setCurrentPos(@NotNull Folder currentPos) {
         this.currentPos = currentPos;
+        this.currentRemoved = false;
     }
 
     /**
@@ -69,7 +87,7 @@ public class StateModel {
      *
      * @return field {@link #currentPos}
      * */
-    public Folder getCurrentPos() {
+    public synchronized Folder getCurrentPos() {
         return this.currentPos;
     }
 
@@ -79,8 +97,8 @@ public class StateModel {
      *
      * @param folder new destination folder
      * */
-    public void moveFolder(@NotNull Folder folder) {
-        this.undoHistories.push(this.currentPos);
+    public synchronized void moveFolder(@NotNull Folder folder) {
+        this.leave(this.undoHistories);
         this.currentPos = folder;
         this.redoHistories.clear();
     }
@@ -88,28 +106,74 @@ public class StateModel {
     /**
      * This method is used to move application to parent folder
      * */
-    public void up() {
+    public synchronized void up() {
         this.moveFolder(this.currentPos.getParent());
     }
 
     /**
      * This method is used to move application to the latest visited folder
-     * in the undo histories and add current position to redo histories
+     * in the undo histories and add current position to redo histories.
+     * Nothing happens if there is no folder left in the undo histories.
      * */
-    public void back() {
-        this.redoHistories.push(this.currentPos);
-        this.currentPos = this.undoHistories.pop();
+    public synchronized void back() {
+        Folder folder = this.undoHistories.pop();
+        if (folder == null) return;
+
+        this.leave(this.redoHistories);
+        this.currentPos = folder;
     }
 
     /**
      * This method is used to move application to the latest visited folder
-     * in the redo histories and add current position to undo histories
+     * in the redo histories and add current position to undo histories.
+     * Nothing happens if there is no folder left in the redo histories.
+     * */
+    public synchronized void forward() {
+        Folder folder = this.redoHistories.pop();
+        if (folder == null) return;
+
+        this.leave(this.undoHistories);
+        this.currentPos = folder;
+    }
+
+    /**
+     * This method is a utility method used to push current folder to a given history
+     * before it is left, unless it is removed from the file tree
+     *
+     * @param history history current folder is pushed to
      * */
-    public void forward() {
-        this.undoHistories.push(this.currentPos);
-        this.currentPos = this.redoHistories.pop();
+    private void leave(@NotNull NavigationHistory history) {
+        if (!this.currentRemoved) history.push(this.currentPos);
+        this.currentRemoved = false;
     }
 
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {}
+
+    @Override
+    public synchronized void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        if (!(content instanceof Folder)) return;
+
+        Folder removed = (Folder) content;
+        this.undoHistories.purge(removed);
+        this.redoHistories.purge(removed);
+        if (NavigationHistory.isWithin(this.currentPos, removed)) this.currentRemoved = true;
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {}
+
+    /**
+     * This method is called after an entity is moved. Moved folders are still in the file tree,
+     * so they are kept in the histories.
+     *
+     * @param oldParent folder the entity is moved from
+     * @param newParent folder the entity is moved to
+     * @param content moved entity
+     * */
+    @Override
+    public void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {}
+
     /**
      * This method is used to set search state of this app
      *
@@ -0,0 +1,221 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * This class represents bus of structural changes in the file tree.
+ * Changes are collected until the dispatcher runs the delivery, so a burst
+ * of changes, e.g. everything happening in one UI pulse, is coalesced
+ * and delivered to every subscriber as one list.
+ * Changes may be published from any thread. While the bus is held, e.g. during a transaction,
+ * changes are only collected, so they are delivered together once it is released.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeChangeBus implements TreeListener {
+
+    /** This field represents subscribers receiving every delivered list of changes */
+    private final CopyOnWriteArrayList<Consumer<List<TreeChangeEvent>>> subscribers;
+
+    /** This field represents changes which are not delivered yet */
+    private ArrayList<TreeChangeEvent> pending;
+
+    /** This field represents executor which runs the delivery */
+    private volatile Executor dispatcher;
+
+    /** This field represents state of this bus, whether a delivery is already scheduled */
+    private boolean scheduled;
+
+    /** This field represents number of holds not released yet, which delay the delivery */
+    private int holds;
+
+    /**
+     * This constructor will create new change bus which delivers every change right away
+     * */
+    public TreeChangeBus() {
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.pending = new ArrayList<>();
+        this.dispatcher = Runnable::run;
+    }
+
+    /**
+     * This method is used to set executor which runs the delivery,
+     * e.g. the UI thread so changes of one pulse are delivered together
+     *
+     * @param dispatcher executor which runs the delivery
+     * */
+    public void setDispatcher(@NotNull Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * This method is used to subscribe to changes in the file tree
+     *
+     * @param subscriber consumer receiving every delivered list of changes
+     * */
+    public void subscribe(@NotNull Consumer<List<TreeChangeEvent>> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    /**
+     * This method is used to unsubscribe from changes in the file tree
+     *
+     * @param subscriber consumer to be unsubscribed
+     * */
+    @SuppressWarnings("Unused")
+    public void unsubscribe(@NotNull Consumer<List<TreeChangeEvent>> subscriber) {
+        this.subscribers.remove(subscriber);
+    }
+
+    /**
+     * This method is used to publish a change, which is delivered
+     * along with every other change published before the delivery runs
+     *
+     * @param event published change
+     * */
+    public void publish(@NotNull TreeChangeEvent event) {
+        synchronized (this) {
+            this.pending.add(event);
+        }
+        this.schedule();
+    }
+
+    /**
+     * This method is used to delay the delivery until every hold is released,
+     * so changes published meanwhile are delivered as one list
+     * */
+    public synchronized void hold() {
+        this.holds++;
+    }
+
+    /**
+     * This method is used to release a hold, scheduling the delivery of the collected changes once none is left
+     * */
+    public void release() {
+        synchronized (this) {
+            if (this.holds == 0) throw new IllegalStateException("Bus is not held");
+            this.holds--;
+        }
+        this.schedule();
+    }
+
+    /**
+     * This method is a utility method used to schedule delivery of pending changes,
+     * unless the bus is held or a delivery is already scheduled
+     * */
+    private void schedule() {
+        synchronized (this) {
+            if (this.holds > 0 || this.scheduled || this.pending.isEmpty()) return;
+            this.scheduled = true;
+        }
+        this.dispatcher.execute(this::deliver);
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        this.publish(new TreeChangeEvent(TreeChangeEvent.TYPE.ADDED, parent, content, null, null));
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        this.publish(new TreeChangeEvent(TreeChangeEvent.TYPE.REMOVED, parent, content, null, null));
+    }
+
+    @Override
+    public void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        this.publish(new TreeChangeEvent(TreeChangeEvent.TYPE.MOVED, newParent, content, oldParent, null));
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        this.publish(new TreeChangeEvent(TreeChangeEvent.TYPE.RENAMED, content.getParent(), content, null, oldName));
+    }
+
+    @Override
+    public void onChanged(@NotNull File content, @NotNull String oldExtension, long oldSize) {
+        this.publish(new TreeChangeEvent(content.getParent(), content, oldExtension, oldSize));
+    }
+
+    /**
+     * This method is a utility method used to deliver coalesced pending changes to every subscriber
+     * */
+    private void deliver() {
+        ArrayList<TreeChangeEvent> delivered;
+        synchronized (this) {
+            delivered = this.pending;
+            this.pending = new ArrayList<>();
+            this.scheduled = false;
+        }
+
+        List<TreeChangeEvent> events = coalesce(delivered);
+        if (events.isEmpty()) return;
+        for (Consumer<List<TreeChangeEvent>> subscriber : this.subscribers) subscriber.accept(events);
+    }
+
+    /**
+     * This method is used to coalesce a list of changes, so an entity added and removed
+     * in the same burst is not reported at all, and renames or changes of an entity are reported
+     * once, or not at all when the entity is added or removed in the same burst
+     *
+     * @param events changes in the order they happened
+     * @return coalesced changes in the order they happened
+     * */
+    public static List<TreeChangeEvent> coalesce(@NotNull List<TreeChangeEvent> events) {
+        ArrayList<TreeChangeEvent> result = new ArrayList<>(events.size());
+        IdentityHashMap<Entity, Integer> latest = new IdentityHashMap<>();
+
+        for (TreeChangeEvent event : events) {
+            Integer index = latest.get(event.getEntity());
+            TreeChangeEvent previous = index == null ? null : result.get(index);
+
+            if (previous != null && event.getType() == TreeChangeEvent.TYPE.RENAMED) {
+                /* Added entity is already shown with its latest name, earlier rename keeps the oldest name */
+                if (previous.getType() == TreeChangeEvent.TYPE.ADDED) continue;
+                if (previous.getType() == TreeChangeEvent.TYPE.RENAMED) {
+                    result.set(index, new TreeChangeEvent(TreeChangeEvent.TYPE.RENAMED, event.getParent(),
+                            event.getEntity(), null, previous.getOldName()));
+                    continue;
+                }
+            }
+
+            if (previous != null && event.getType() == TreeChangeEvent.TYPE.CHANGED) {
+                /* Added file is already shown as it is, earlier change keeps the oldest extension and size */
+                if (previous.getType() == TreeChangeEvent.TYPE.ADDED) continue;
+                if (previous.getType() == TreeChangeEvent.TYPE.CHANGED) {
+                    result.set(index, new TreeChangeEvent(event.getParent(), (File) event.getEntity(),
+                            previous.getOldExtension(), previous.getOldSize()));
+                    continue;
+                }
+            }
+
+            if (previous != null && event.getType() == TreeChangeEvent.TYPE.REMOVED) {
+                if (previous.getType() == TreeChangeEvent.TYPE.RENAMED
+                        || previous.getType() == TreeChangeEvent.TYPE.CHANGED) result.set(index, null);
+                else if (previous.getType() == TreeChangeEvent.TYPE.ADDED && previous.getParent() == event.getParent()) {
+                    result.set(index, null);
+                    latest.remove(event.getEntity());
+                    continue;
+                }
+            }
+
+            latest.put(event.getEntity(), result.size());
+            result.add(event);
+        }
+
+        result.removeIf(event -> event == null);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import com.sun.istack.internal.Nullable;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+/**
+ * This class represents a single structural change in the file tree,
+ * published by {@link TreeChangeBus} to its subscribers
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeChangeEvent {
+
+    /** This field is a helper for type of change */
+    public enum TYPE {
+        ADDED,
+        REMOVED,
+        RENAMED,
+        MOVED,
+        CHANGED
+    }
+
+    /** This field represents type of this change */
+    private final TYPE type;
+
+    /** This field represents folder the entity is added to, removed from, renamed in, moved to or changed in */
+    private final Folder parent;
+
+    /** This field represents changed entity */
+    private final Entity entity;
+
+    /** This field represents folder the entity is moved from, only for {@link TYPE#MOVED} */
+    private final Folder oldParent;
+
+    /** This field represents name of the entity before it is renamed, only for {@link TYPE#RENAMED} */
+    private final String oldName;
+
+    /** This field represents extension of the file before it is changed, only for {@link TYPE#CHANGED} */
+    private final String oldExtension;
+
+    /** This field represents size in bytes of the file before it is changed, only for {@link TYPE#CHANGED} */
+    private final long oldSize;
+
+    /**
+     * This constructor will create new change event
+     *
+     * @param type type of the change
+     * @param parent folder the entity is added to, removed from, renamed in or moved to
+     * @param entity changed entity
+     * @param oldParent folder the entity is moved from
+     * @param oldName name of the entity before it is renamed
+     * */
+    public TreeChangeEvent(@NotNull TYPE type, @Nullable Folder parent, @NotNull Entity entity,
+                           @Nullable Folder oldParent, @Nullable String oldName) {
+        this.type = type;
+        this.parent = parent;
+        this.entity = entity;
+        this.oldParent = oldParent;
+        this.oldName = oldName;
+        this.oldExtension = null;
+        this.oldSize = 0;
+    }
+
+    /**
+     * This constructor will create new change event of extension or size of a file
+     *
+     * @param parent folder the file is changed in
+     * @param file changed file
+     * @param oldExtension extension of the file before it is changed
+     * @param oldSize size in bytes of the file before it is changed
+     * */
+    public TreeChangeEvent(@Nullable Folder parent, @NotNull File file, @NotNull String oldExtension, long oldSize) {
+        this.type = TYPE.CHANGED;
+        this.parent = parent;
+        this.entity = file;
+        this.oldParent = null;
+        this.oldName = null;
+        this.oldExtension = oldExtension;
+        this.oldSize = oldSize;
+    }
+
+    /**
+     * This method is used to get type of this change
+     *
+     * @return field {@link #type}
+     * */
+    public TYPE getType() {
+        return this.type;
+    }
+
+    /**
+     * This method is used to get folder the entity is added to, removed from, renamed in or moved to
+     *
+     * @return field {@link #parent}
+     * */
+    public Folder getParent() {
+        return this.parent;
+    }
+
+    /**
+     * This method is used to get changed entity
+     *
+     * @return field {@link #entity}
+     * */
+    public Entity getEntity() {
+        return this.entity;
+    }
+
+    /**
+     * This method is used to get folder the entity is moved from
+     *
+     * @return field {@link #oldParent}
+     * */
+    public Folder getOldParent() {
+        return this.oldParent;
+    }
+
+    /**
+     * This method is used to get name of the entity before it is renamed
+     *
+     * @return field {@link #oldName}
+     * */
+    public String getOldName() {
+        return this.oldName;
+    }
+
+    /**
+     * This method is used to get extension of the file before it is changed
+     *
+     * @return field {@link #oldExtension}
+     * */
+    public String getOldExtension() {
+        return this.oldExtension;
+    }
+
+    /**
+     * This method is used to get size in bytes of the file before it is changed
+     *
+     * @return field {@link #oldSize}
+     * */
+    public long getOldSize() {
+        return this.oldSize;
+    }
+}
@@ -0,0 +1,423 @@
+package main.java.models;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This class represents deterministic generator of synthetic file trees for load and scale testing.
+ * <p>
+ * The same seed and settings always generate the same tree. Entities are generated depth first
+ * and added to their parent folder as soon as they are created, so only the chain of folders
+ * being filled is kept aside and trees of any size are streamed straight into the target folder.
+ * Fan-out and depth shape the tree, the requested number of entities decides how far it is filled.
+ * Every setter returns this generator, so settings can be chained.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeGenerator {
+
+    /** This enum represents distributions of the number of children of a folder */
+    public enum FanOut {
+        /** Every folder has exactly the mean number of children */
+        FIXED,
+        /** Number of children is uniform between 0 and twice the mean */
+        UNIFORM,
+        /** Number of children is geometric with the given mean, so most folders are small */
+        GEOMETRIC,
+        /** Number of children follows a power law with the given mean, so a few folders are huge */
+        POWER_LAW
+    }
+
+    /** This field represents characters names are made of */
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    /** This field represents number of common names shared between folders */
+    private static final int COMMON_NAMES = 64;
+
+    /** This field represents time every generated timestamp is before, 2026-01-01 */
+    private static final long END_TIME = 1767225600000L;
+
+    /** This field represents span of generated timestamps, ten years */
+    private static final long TIME_SPAN = 10L * 365 * 24 * 60 * 60 * 1000;
+
+    /** This field represents seed of the generator */
+    private final long seed;
+
+    /** This field represents distribution of the number of children of a folder */
+    private FanOut fanOut;
+
+    /** This field represents mean number of children of a folder */
+    private double meanFanOut;
+
+    /** This field represents maximum depth of a folder below the target folder */
+    private int maxDepth;
+
+    /** This field represents probability of a child being a file instead of a folder */
+    private double fileRatio;
+
+    /** This field represents minimum length of a generated name */
+    private int minNameLength;
+
+    /** This field represents maximum length of a generated name */
+    private int maxNameLength;
+
+    /** This field represents extensions of generated files */
+    private String[] extensions;
+
+    /** This field represents cumulative weights of {@link #extensions} */
+    private double[] extensionWeights;
+
+    /** This field represents probability of a name being one of a few common names */
+    private double collisionRate;
+
+    /** This field represents mean size of a generated file in bytes */
+    private long meanFileSize;
+
+    /** This field represents number of names drawn by the last generation which were taken in their folder */
+    private long collisions;
+
+    /**
+     * This constructor will create new generator with a given seed and default settings:
+     * geometric fan-out of mean 16, depth of 12, three files for every folder, names of 4 to 16 characters,
+     * a mix of common extensions and a collision rate of 1%
+     *
+     * @param seed seed of the generator
+     * */
+    public TreeGenerator(long seed) {
+        this.seed = seed;
+        this.fanOut = FanOut.GEOMETRIC;
+        this.meanFanOut = 16;
+        this.maxDepth = 12;
+        this.fileRatio = 0.75;
+        this.minNameLength = 4;
+        this.maxNameLength = 16;
+        this.setExtensions(new String[]{"txt", "java", "png", "md", "json", "xml", "pdf", "jpg"},
+                new double[]{40, 15, 10, 10, 8, 7, 5, 5});
+        this.collisionRate = 0.01;
+        this.meanFileSize = 64 * 1024;
+    }
+
+    /**
+     * This method is used to set distribution and mean of the number of children of a folder
+     *
+     * @param fanOut distribution of the number of children
+     * @param mean mean number of children, at least 1
+     * @return this generator
+     * */
+    public TreeGenerator setFanOut(@NotNull FanOut fanOut, double mean) {
+        if (mean < 1) throw new IllegalArgumentException("Mean fan-out must be at least 1: " + mean);
+        this.fanOut = fanOut;
+        this.meanFanOut = mean;
+        return this;
+    }
+
+    /**
+     * This method is used to set maximum depth of a folder below the target folder
+     *
+     * @param maxDepth maximum depth, at least 1
+     * @return this generator
+     * */
+    public TreeGenerator setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) throw new IllegalArgumentException("Depth must be at least 1: " + maxDepth);
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * This method is used to set probability of a child being a file instead of a folder
+     *
+     * @param fileRatio probability between 0 and 1
+     * @return this generator
+     * */
+    public TreeGenerator setFileRatio(double fileRatio) {
+        if (fileRatio < 0 || fileRatio > 1) throw new IllegalArgumentException("Ratio must be between 0 and 1: " + fileRatio);
+        this.fileRatio = fileRatio;
+        return this;
+    }
+
+    /**
+     * This method is used to set range of the length of generated names
+     *
+     * @param minLength minimum length, at least 1
+     * @param maxLength maximum length, at least the minimum length
+     * @return this generator
+     * */
+    public TreeGenerator setNameLength(int minLength, int maxLength) {
+        if (minLength < 1 || maxLength < minLength)
+            throw new IllegalArgumentException("Invalid name length: " + minLength + " to " + maxLength);
+        this.minNameLength = minLength;
+        this.maxNameLength = maxLength;
+        return this;
+    }
+
+    /**
+     * This method is used to set extensions of generated files and their weights
+     *
+     * @param extensions extensions of files
+     * @param weights relative weight of every extension
+     * @return this generator
+     * */
+    public TreeGenerator setExtensions(@NotNull String[] extensions, @NotNull double[] weights) {
+        if (extensions.length == 0 || extensions.length != weights.length)
+            throw new IllegalArgumentException("Every extension needs a weight");
+
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) throw new IllegalArgumentException("Weight must not be negative: " + weights[i]);
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (total <= 0) throw new IllegalArgumentException("Weights must not all be zero");
+
+        this.extensions = extensions.clone();
+        this.extensionWeights = cumulative;
+        return this;
+    }
+
+    /**
+     * This method is used to set probability of a name being one of a few common names,
+     * which repeat across folders and sometimes collide inside a folder, where they are renamed
+     *
+     * @param collisionRate probability between 0 and 1
+     * @return this generator
+     * */
+    public TreeGenerator setCollisionRate(double collisionRate) {
+        if (collisionRate < 0 || collisionRate > 1)
+            throw new IllegalArgumentException("Rate must be between 0 and 1: " + collisionRate);
+        this.collisionRate = collisionRate;
+        return this;
+    }
+
+    /**
+     * This method is used to set mean size of generated files, which is exponentially distributed
+     *
+     * @param meanFileSize mean size in bytes
+     * @return this generator
+     * */
+    public TreeGenerator setMeanFileSize(long meanFileSize) {
+        if (meanFileSize < 0) throw new IllegalArgumentException("Size must not be negative: " + meanFileSize);
+        this.meanFileSize = meanFileSize;
+        return this;
+    }
+
+    /**
+     * This method is used to get number of names drawn by the last generation which were taken
+     * in their folder, so the entity was given another name
+     *
+     * @return field {@link #collisions}
+     * */
+    public long getCollisions() {
+        return this.collisions;
+    }
+
+    /**
+     * This method is used to generate a tree of a given number of entities into a given folder.
+     * Every folder draws its number of children, and the entities left are split at random
+     * between its child folders, so the tree fills level by level, whatever its size.
+     * A folder at the maximum depth takes every entity left in its share as files.
+     * Every entity is added with {@link Folder#addContent(Entity)} right after it is created,
+     * so listeners of the folder see every one of them.
+     *
+     * @param target folder the tree is generated into
+     * @param entities number of entities to be added
+     * @return number of added entities
+     * */
+    public long generate(@NotNull Folder target, long entities) {
+        SplittableRandom random = new SplittableRandom(this.seed);
+        String[] commonNames = new String[COMMON_NAMES];
+        for (int i = 0; i < COMMON_NAMES; i++) commonNames[i] = this.nextName(random);
+
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        if (entities > 0) stack.push(this.nextFrame(random, target, 0, entities));
+        long added = 0;
+        this.collisions = 0;
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.folders == 0 && frame.files == 0) {
+                stack.pop();
+                continue;
+            }
+
+            boolean isFolder = random.nextDouble() * (frame.folders + frame.files) < frame.folders;
+            String name = random.nextDouble() < this.collisionRate
+                    ? commonNames[random.nextInt(COMMON_NAMES)]
+                    : this.nextName(random);
+            long createdTime = END_TIME - (long) (random.nextDouble() * TIME_SPAN);
+            long updatedTime = createdTime + (long) (random.nextDouble() * (END_TIME - createdTime));
+
+            Entity entity = this.create(random, isFolder, name, createdTime, updatedTime);
+            while (frame.folder.hasContent(entity)) {
+                this.collisions++;
+                entity = this.create(random, isFolder, this.nextName(random), createdTime, updatedTime);
+            }
+            frame.folder.addContent(entity);
+            added++;
+
+            if (!isFolder) {
+                frame.files--;
+                continue;
+            }
+
+            /* The last child folder takes what is left, others a random share around the mean */
+            long budget = frame.folders == 1 ? frame.budget
+                    : Math.min(frame.budget, (long) (frame.budget / (double) frame.folders * 2 * random.nextDouble()));
+            frame.folders--;
+            frame.budget -= budget;
+            if (budget > 0) stack.push(this.nextFrame(random, (Folder) entity, frame.depth + 1, budget));
+        }
+        return added;
+    }
+
+    /**
+     * This method is used to create a new file tree system and generate a tree of a given number of entities in it
+     *
+     * @param entities number of entities to be generated below the root
+     * @return new file tree system
+     * */
+    public FileTreeModel generateModel(long entities) {
+        FileTreeModel fileTreeModel = new FileTreeModel(new Folder("root"));
+        this.generate(fileTreeModel.getRoot(), entities);
+        return fileTreeModel;
+    }
+
+    /**
+     * This method is a utility method used to draw children of a folder with a given number of entities below it
+     *
+     * @param random source of randomness
+     * @param folder folder to be filled
+     * @param depth depth of the folder below the target folder
+     * @param entities number of entities below the folder, at least 1
+     * @return frame of the folder
+     * */
+    private Frame nextFrame(@NotNull SplittableRandom random, @NotNull Folder folder, int depth, long entities) {
+        long children = Math.max(1, Math.min(this.nextFanOut(random), entities));
+        int folders = 0;
+        if (depth < this.maxDepth) {
+            for (long i = 0; i < children; i++) if (random.nextDouble() >= this.fileRatio) folders++;
+            /* Keep a way down while there are entities left for the subtree */
+            if (folders == 0 && entities > children) folders = 1;
+        }
+
+        Frame frame = new Frame(folder, depth);
+        frame.folders = folders;
+        frame.files = children - folders;
+        frame.budget = entities - children;
+        if (folders == 0) {
+            frame.files += frame.budget;
+            frame.budget = 0;
+        }
+        return frame;
+    }
+
+    /**
+     * This method is a utility method used to create a folder or a file
+     *
+     * @param random source of randomness
+     * @param isFolder true to create a folder, false to create a file
+     * @param name name of the entity
+     * @param createdTime time when the entity is created
+     * @param updatedTime time when the entity is updated for the last time
+     * @return new entity
+     * */
+    private Entity create(@NotNull SplittableRandom random, boolean isFolder, @NotNull String name,
+                          long createdTime, long updatedTime) {
+        return isFolder
+                ? new Folder(name, createdTime, updatedTime)
+                : new File(name, this.nextExtension(random), this.nextFileSize(random), createdTime, updatedTime);
+    }
+
+    /**
+     * This method is a utility method used to draw the number of children of a folder
+     *
+     * @param random source of randomness
+     * @return number of children
+     * */
+    private int nextFanOut(@NotNull SplittableRandom random) {
+        switch (this.fanOut) {
+            case FIXED:
+                return (int) Math.round(this.meanFanOut);
+            case UNIFORM:
+                return random.nextInt((int) Math.round(this.meanFanOut * 2) + 1);
+            case GEOMETRIC: {
+                double p = 1 / (this.meanFanOut + 1);
+                return (int) Math.min(Integer.MAX_VALUE, Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p)));
+            }
+            default: {
+                /* Pareto with shape 1.5 has a mean of three times its scale */
+                double scale = this.meanFanOut / 3;
+                return (int) Math.min(Integer.MAX_VALUE, scale / Math.pow(1 - random.nextDouble(), 1 / 1.5));
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to draw a name
+     *
+     * @param random source of randomness
+     * @return new name
+     * */
+    private String nextName(@NotNull SplittableRandom random) {
+        char[] name = new char[this.minNameLength + random.nextInt(this.maxNameLength - this.minNameLength + 1)];
+        for (int i = 0; i < name.length; i++) name[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        return new String(name);
+    }
+
+    /**
+     * This method is a utility method used to draw an extension by its weight
+     *
+     * @param random source of randomness
+     * @return extension
+     * */
+    private String nextExtension(@NotNull SplittableRandom random) {
+        double point = random.nextDouble() * this.extensionWeights[this.extensionWeights.length - 1];
+        int index = Arrays.binarySearch(this.extensionWeights, point);
+        if (index < 0) index = -index - 1;
+        return this.extensions[Math.min(index, this.extensions.length - 1)];
+    }
+
+    /**
+     * This method is a utility method used to draw size of a file
+     *
+     * @param random source of randomness
+     * @return size in bytes
+     * */
+    private long nextFileSize(@NotNull SplittableRandom random) {
+        return (long) (-Math.log(1 - random.nextDouble()) * this.meanFileSize);
+    }
+
+    /**
+     * This class represents a folder being filled and the children it still gets
+     * */
+    private static class Frame {
+
+        /** This field represents folder being filled */
+        private final Folder folder;
+
+        /** This field represents depth of the folder below the target folder */
+        private final int depth;
+
+        /** This field represents number of child folders the folder still gets */
+        private int folders;
+
+        /** This field represents number of child files the folder still gets */
+        private long files;
+
+        /** This field represents number of entities left for subtrees of the child folders */
+        private long budget;
+
+        Frame(Folder folder, int depth) {
+            this.folder = folder;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package main.java.models.columnar;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * This class represents file tree stored in off-heap columns instead of {@link Folder} and {@link File} objects,
+ * for simulations of trees too large to fit in the heap.
+ * <p>
+ * Every entity is an id, and each of its fields is a value at that id in its own column:
+ * parent, first child, last child, next sibling, type, extension, name offset, timestamps and size.
+ * Names are kept as UTF-8 in an off-heap name heap and extensions in a small shared dictionary.
+ * Children of a folder form a linked list through the first child and next sibling columns,
+ * so listing, walking up the directory and searching need no object per entity.
+ * {@link EntityView} gives a reusable object view over any entity.
+ * <p>
+ * The tree is append-only. Names are not checked for duplicates, since callers generating
+ * large trees know their names are distinct, and it is not thread safe.
+ * <p>
+ * This is a standalone tool for building and walking very large trees, e.g. in simulations and benchmarks,
+ * where {@code ColumnarTreeBenchmark} measures its search, listing and directory against the same operations
+ * on folder and file objects. It is not wired into {@link main.java.models.FileTreeModel}, so the application's
+ * listing and search always use the live tree and never read this one. A tree made by {@link #copyOf(Folder)}
+ * does not follow later changes of the live tree.
+ * <p>
+ * Columns are direct buffers, so they count against {@code -XX:MaxDirectMemorySize}
+ * rather than the heap. That limit defaults to the maximum heap size, and going past it throws
+ * {@link OutOfMemoryError} "Direct buffer memory". A JVM holding a large tree must be started
+ * with the limit raised to at least the expected {@link #getAllocatedBytes()},
+ * e.g. {@code -XX:MaxDirectMemorySize=8g}.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class ColumnarTree {
+
+    /** This field represents id of no entity, e.g. parent of the root */
+    public static final int NONE = -1;
+
+    /** This field represents id of the root folder */
+    public static final int ROOT = 0;
+
+    /** This field represents type tag of a folder */
+    private static final byte FOLDER = 0;
+
+    /** This field represents type tag of a file */
+    private static final byte FILE = 1;
+
+    /** This field represents parent id of every entity */
+    private final OffHeapArray parents;
+
+    /** This field represents first child id of every folder */
+    private final OffHeapArray firstChildren;
+
+    /** This field represents last child id of every folder, used to append children in order */
+    private final OffHeapArray lastChildren;
+
+    /** This field represents next sibling id of every entity */
+    private final OffHeapArray nextSiblings;
+
+    /** This field represents type tag of every entity */
+    private final OffHeapArray types;
+
+    /** This field represents extension id of every file */
+    private final OffHeapArray extensionIds;
+
+    /** This field represents name offset in {@link #names} of every entity */
+    private final OffHeapArray nameOffsets;
+
+    /** This field represents created time of every entity */
+    private final OffHeapArray createdTimes;
+
+    /** This field represents updated time of every entity */
+    private final OffHeapArray updatedTimes;
+
+    /** This field represents size in bytes of every file */
+    private final OffHeapArray sizes;
+
+    /** This field represents names of every entity */
+    private final NameHeap names;
+
+    /** This field represents dictionary of extensions by their id */
+    private final ArrayList<String> extensions;
+
+    /** This field represents ids of extensions in {@link #extensions} */
+    private final HashMap<String, Integer> extensionIndex;
+
+    /** This field represents number of entities in this tree */
+    private int count;
+
+    /**
+     * This constructor will create new tree with a root folder
+     *
+     * @param rootName name of the root folder
+     * */
+    public ColumnarTree(@NotNull String rootName) {
+        this.parents = new OffHeapArray(4);
+        this.firstChildren = new OffHeapArray(4);
+        this.lastChildren = new OffHeapArray(4);
+        this.nextSiblings = new OffHeapArray(4);
+        this.types = new OffHeapArray(1);
+        this.extensionIds = new OffHeapArray(4);
+        this.nameOffsets = new OffHeapArray(8);
+        this.createdTimes = new OffHeapArray(8);
+        this.updatedTimes = new OffHeapArray(8);
+        this.sizes = new OffHeapArray(8);
+        this.names = new NameHeap();
+        this.extensions = new ArrayList<>();
+        this.extensionIndex = new HashMap<>();
+
+        long now = System.currentTimeMillis();
+        this.add(NONE, FOLDER, rootName, NONE, 0, now, now);
+    }
+
+    /**
+     * This method is used to copy a whole tree of folder and file objects
+     *
+     * @param root root folder of the tree
+     * @return new columnar tree with the same entities in the same order
+     * */
+    public static ColumnarTree copyOf(@NotNull Folder root) {
+        ColumnarTree tree = new ColumnarTree(root.getName());
+        ArrayDeque<Folder> folders = new ArrayDeque<>();
+        ArrayDeque<Integer> ids = new ArrayDeque<>();
+        folders.push(root);
+        ids.push(ROOT);
+
+        while (!folders.isEmpty()) {
+            Folder folder = folders.pop();
+            int id = ids.pop();
+            for (Entity content : folder.getContents()) {
+                if (content instanceof Folder) {
+                    folders.push((Folder) content);
+                    ids.push(tree.addFolder(id, content.getName(), content.getCreatedTime(), content.getUpdatedTime()));
+                } else {
+                    File file = (File) content;
+                    tree.addFile(id, file.getName(), file.getExtension(), file.getSize(),
+                            file.getCreatedTime(), file.getUpdatedTime());
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * This method is used to add a new folder as the last child of a given folder
+     *
+     * @param parent id of the parent folder
+     * @param name name of the new folder
+     * @param createdTime time when the folder is created, in milliseconds since the epoch
+     * @param updatedTime time when the folder is updated for the last time, in milliseconds since the epoch
+     * @return id of the new folder
+     * */
+    public int addFolder(int parent, @NotNull String name, long createdTime, long updatedTime) {
+        this.checkFolder(parent);
+        return this.add(parent, FOLDER, name, NONE, 0, createdTime, updatedTime);
+    }
+
+    /**
+     * This method is used to add a new file as the last child of a given folder
+     *
+     * @param parent id of the parent folder
+     * @param name name of the new file
+     * @param extension extension of the new file
+     * @param size size of the new file in bytes
+     * @param createdTime time when the file is created, in milliseconds since the epoch
+     * @param updatedTime time when the file is updated for the last time, in milliseconds since the epoch
+     * @return id of the new file
+     * */
+    public int addFile(int parent, @NotNull String name, @NotNull String extension, long size,
+                       long createdTime, long updatedTime) {
+        this.checkFolder(parent);
+        Integer extensionId = this.extensionIndex.get(extension);
+        if (extensionId == null) {
+            extensionId = this.extensions.size();
+            this.extensions.add(extension);
+            this.extensionIndex.put(extension, extensionId);
+        }
+        return this.add(parent, FILE, name, extensionId, size, createdTime, updatedTime);
+    }
+
+    /**
+     * This method is used to get number of entities in this tree, including the root
+     *
+     * @return field {@link #count}
+     * */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * This method is used to get number of off-heap bytes allocated by this tree
+     *
+     * @return allocated bytes
+     * */
+    public long getAllocatedBytes() {
+        return this.parents.allocated() + this.firstChildren.allocated() + this.lastChildren.allocated()
+                + this.nextSiblings.allocated() + this.types.allocated() + this.extensionIds.allocated()
+                + this.nameOffsets.allocated() + this.createdTimes.allocated() + this.updatedTimes.allocated()
+                + this.sizes.allocated() + this.names.allocated();
+    }
+
+    /**
+     * This method is used to get a new reusable view of a given entity
+     *
+     * @param id id of the entity
+     * @return view of the entity
+     * */
+    public EntityView view(int id) {
+        this.checkId(id);
+        return new EntityView(this, id);
+    }
+
+    /**
+     * This method is used to get type of a given entity
+     *
+     * @param id id of the entity
+     * @return type of the entity
+     * */
+    public Entity.TYPE getType(int id) {
+        return this.types.getByte(id) == FOLDER ? Entity.TYPE.FOLDER : Entity.TYPE.FILE;
+    }
+
+    /**
+     * This method is used to check if a given entity is a folder
+     *
+     * @param id id of the entity
+     * @return true if the entity is a folder, else false
+     * */
+    public boolean isFolder(int id) {
+        return this.types.getByte(id) == FOLDER;
+    }
+
+    /**
+     * This method is used to get name of a given entity as a new string
+     *
+     * @param id id of the entity
+     * @return name of the entity
+     * */
+    public String getName(int id) {
+        return this.names.get(this.nameOffsets.getLong(id));
+    }
+
+    /**
+     * This method is used to get extension of a given file
+     *
+     * @param id id of the file
+     * @return shared extension of the file, or null if the entity is a folder
+     * */
+    public String getExtension(int id) {
+        int extensionId = this.extensionIds.getInt(id);
+        return extensionId == NONE ? null : this.extensions.get(extensionId);
+    }
+
+    /**
+     * This method is used to get size of a given file
+     *
+     * @param id id of the file
+     * @return size of the file in bytes, 0 for a folder
+     * */
+    public long getSize(int id) {
+        return this.sizes.getLong(id);
+    }
+
+    /**
+     * This method is used to get created time of a given entity
+     *
+     * @param id id of the entity
+     * @return created time in milliseconds since the epoch
+     * */
+    public long getCreatedTime(int id) {
+        return this.createdTimes.getLong(id);
+    }
+
+    /**
+     * This method is used to get updated time of a given entity
+     *
+     * @param id id of the entity
+     * @return updated time in milliseconds since the epoch
+     * */
+    public long getUpdatedTime(int id) {
+        return this.updatedTimes.getLong(id);
+    }
+
+    /**
+     * This method is used to get parent folder of a given entity
+     *
+     * @param id id of the entity
+     * @return id of the parent folder, or {@link #NONE} for the root
+     * */
+    public int getParent(int id) {
+        return this.parents.getInt(id);
+    }
+
+    /**
+     * This method is used to get first child of a given folder
+     *
+     * @param id id of the folder
+     * @return id of the first child, or {@link #NONE} if there is none
+     * */
+    public int getFirstChild(int id) {
+        return this.firstChildren.getInt(id);
+    }
+
+    /**
+     * This method is used to get next sibling of a given entity
+     *
+     * @param id id of the entity
+     * @return id of the next sibling, or {@link #NONE} if there is none
+     * */
+    public int getNextSibling(int id) {
+        return this.nextSiblings.getInt(id);
+    }
+
+    /**
+     * This method is used to get directory from root down to direct parent of a given entity
+     *
+     * @param id id of the entity
+     * @return ids of the folders, starting with the root
+     * */
+    public int[] getDirectory(int id) {
+        int depth = 0;
+        for (int folder = this.getParent(id); folder != NONE; folder = this.getParent(folder)) depth++;
+
+        int[] directory = new int[depth];
+        for (int folder = this.getParent(id); folder != NONE; folder = this.getParent(folder)) {
+            directory[--depth] = folder;
+        }
+        return directory;
+    }
+
+    /**
+     * This method is used to search entities in the subtree of a given folder
+     * which name contains a given keyword, the same way as {@link Folder#search(String)} does
+     *
+     * @param scope id of the folder where the search is started, excluded from the result
+     * @param key search keyword
+     * @return ids of entities that meet requirement, in pre-order
+     * */
+    public int[] search(int scope, @NotNull String key) {
+        int[][] result = {new int[16]};
+        int[] size = {0};
+        this.forEachMatch(scope, key, id -> {
+            if (size[0] == result[0].length) result[0] = Arrays.copyOf(result[0], size[0] * 2);
+            result[0][size[0]++] = id;
+            return true;
+        });
+        return Arrays.copyOf(result[0], size[0]);
+    }
+
+    /**
+     * This method is used to visit every entity in the subtree of a given folder
+     * which name contains a given keyword, in pre-order. The subtree is walked through
+     * the child, sibling and parent links, and names are decoded into a single scratch array,
+     * so no object is created per visited entity.
+     *
+     * @param scope id of the folder where the search is started, excluded from the visit
+     * @param key search keyword
+     * @param action action applied to id of every matching entity, returns false to stop visiting
+     * @return true if the whole subtree is visited, false if it is stopped by the action
+     * */
+    public boolean forEachMatch(int scope, @NotNull String key, @NotNull IntPredicate action) {
+        this.checkFolder(scope);
+        char[] lowerKey = key.toLowerCase().toCharArray();
+        char[] name = new char[NameHeap.MAX_LENGTH * 2];
+
+        int id = this.getFirstChild(scope);
+        while (id != NONE) {
+            int length = this.names.decodeLowerCase(this.nameOffsets.getLong(id), name);
+            if (contains(name, length, lowerKey) && !action.test(id)) return false;
+
+            int next = this.getFirstChild(id);
+            while (next == NONE && id != scope) {
+                next = this.getNextSibling(id);
+                if (next == NONE) id = this.getParent(id);
+            }
+            id = next;
+        }
+        return true;
+    }
+
+    /**
+     * This method is a utility method used to append an entity to the columns
+     * and link it as the last child of its parent
+     *
+     * @param parent id of the parent folder, or {@link #NONE} for the root
+     * @param type type tag of the entity
+     * @param name name of the entity
+     * @param extensionId extension id of a file, or {@link #NONE} for a folder
+     * @param size size of a file in bytes
+     * @param createdTime time when the entity is created
+     * @param updatedTime time when the entity is updated for the last time
+     * @return id of the new entity
+     * */
+    private int add(int parent, byte type, @NotNull String name, int extensionId, long size,
+                    long createdTime, long updatedTime) {
+        int id = this.count;
+        if (id == Integer.MAX_VALUE) throw new IllegalStateException("Columnar tree is full");
+
+        long nameOffset = this.names.add(name);
+        this.parents.ensure(id);
+        this.firstChildren.ensure(id);
+        this.lastChildren.ensure(id);
+        this.nextSiblings.ensure(id);
+        this.types.ensure(id);
+        this.extensionIds.ensure(id);
+        this.nameOffsets.ensure(id);
+        this.createdTimes.ensure(id);
+        this.updatedTimes.ensure(id);
+        this.sizes.ensure(id);
+
+        this.parents.putInt(id, parent);
+        this.firstChildren.putInt(id, NONE);
+        this.lastChildren.putInt(id, NONE);
+        this.nextSiblings.putInt(id, NONE);
+        this.types.putByte(id, type);
+        this.extensionIds.putInt(id, extensionId);
+        this.nameOffsets.putLong(id, nameOffset);
+        this.createdTimes.putLong(id, createdTime);
+        this.updatedTimes.putLong(id, updatedTime);
+        this.sizes.putLong(id, size);
+        this.count++;
+
+        if (parent != NONE) {
+            int last = this.lastChildren.getInt(parent);
+            if (last == NONE) this.firstChildren.putInt(parent, id);
+            else this.nextSiblings.putInt(last, id);
+            this.lastChildren.putInt(parent, id);
+        }
+        return id;
+    }
+
+    /**
+     * This method is a utility method used to check if a given id is an entity of this tree
+     *
+     * @param id id to be checked
+     * */
+    void checkId(int id) {
+        if (id < 0 || id >= this.count) throw new IndexOutOfBoundsException("No entity with id " + id);
+    }
+
+    /**
+     * This method is a utility method used to check if a given id is a folder of this tree
+     *
+     * @param id id to be checked
+     * */
+    private void checkFolder(int id) {
+        this.checkId(id);
+        if (!this.isFolder(id)) throw new IllegalArgumentException("Entity " + id + " is not a folder");
+    }
+
+    /**
+     * This method is a utility method used to check if a name, trimmed, contains a keyword
+     *
+     * @param name decoded name
+     * @param length length of the name
+     * @param key keyword
+     * @return true if the name contains the keyword, else false
+     * */
+    private static boolean contains(@NotNull char[] name, int length, @NotNull char[] key) {
+        int start = 0, end = length;
+        while (start < end && name[start] <= ' ') start++;
+        while (end > start && name[end - 1] <= ' ') end--;
+
+        for (int i = start; i + key.length <= end; i++) {
+            int j = 0;
+            while (j < key.length && name[i + j] == key[j]) j++;
+            if (j == key.length) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,149 @@
+package main.java.models.columnar;
+
+import main.java.models.module.Entity;
+
+/**
+ * This class represents reusable view of a single entity of a {@link ColumnarTree}.
+ * The view is moved from one entity to another instead of creating an object per entity,
+ * e.g. to list contents of a folder:
+ * <pre>
+ * for (boolean found = view.moveToFirstChild(); found; found = view.moveToNextSibling()) { ... }
+ * </pre>
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class EntityView {
+
+    /** This field represents tree the viewed entity belongs to */
+    private final ColumnarTree tree;
+
+    /** This field represents id of the viewed entity */
+    private int id;
+
+    /**
+     * This constructor will create new view of a given entity
+     *
+     * @param tree tree the entity belongs to
+     * @param id id of the entity
+     * */
+    EntityView(ColumnarTree tree, int id) {
+        this.tree = tree;
+        this.id = id;
+    }
+
+    /**
+     * This method is used to move this view to a given entity
+     *
+     * @param id id of the entity
+     * @return this view
+     * */
+    public EntityView moveTo(int id) {
+        this.tree.checkId(id);
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * This method is used to move this view to the parent folder of the viewed entity
+     *
+     * @return true if it is moved, false if the viewed entity is the root
+     * */
+    public boolean moveToParent() {
+        return this.moveIfAny(this.tree.getParent(this.id));
+    }
+
+    /**
+     * This method is used to move this view to the first child of the viewed folder
+     *
+     * @return true if it is moved, false if the viewed entity has no child
+     * */
+    public boolean moveToFirstChild() {
+        return this.moveIfAny(this.tree.getFirstChild(this.id));
+    }
+
+    /**
+     * This method is used to move this view to the next sibling of the viewed entity
+     *
+     * @return true if it is moved, false if the viewed entity is the last child
+     * */
+    public boolean moveToNextSibling() {
+        return this.moveIfAny(this.tree.getNextSibling(this.id));
+    }
+
+    /**
+     * This method is used to get id of the viewed entity
+     *
+     * @return field {@link #id}
+     * */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * This method is used to get type of the viewed entity
+     *
+     * @return type of the entity
+     * */
+    public Entity.TYPE getType() {
+        return this.tree.getType(this.id);
+    }
+
+    /**
+     * This method is used to get name of the viewed entity as a new string
+     *
+     * @return name of the entity
+     * */
+    public String getName() {
+        return this.tree.getName(this.id);
+    }
+
+    /**
+     * This method is used to get extension of the viewed file
+     *
+     * @return extension of the file, or null if the entity is a folder
+     * */
+    public String getExtension() {
+        return this.tree.getExtension(this.id);
+    }
+
+    /**
+     * This method is used to get size of the viewed file
+     *
+     * @return size of the file in bytes, 0 for a folder
+     * */
+    public long getSize() {
+        return this.tree.getSize(this.id);
+    }
+
+    /**
+     * This method is used to get created time of the viewed entity
+     *
+     * @return created time in milliseconds since the epoch
+     * */
+    public long getCreatedTime() {
+        return this.tree.getCreatedTime(this.id);
+    }
+
+    /**
+     * This method is used to get updated time of the viewed entity
+     *
+     * @return updated time in milliseconds since the epoch
+     * */
+    public long getUpdatedTime() {
+        return this.tree.getUpdatedTime(this.id);
+    }
+
+    /**
+     * This method is a utility method used to move this view to a given entity if there is one
+     *
+     * @param id id of the entity, or {@link ColumnarTree#NONE}
+     * @return true if it is moved, else false
+     * */
+    private boolean moveIfAny(int id) {
+        if (id == ColumnarTree.NONE) return false;
+        this.id = id;
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package main.java.models.columnar;
+
+import com.sun.istack.internal.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * This class represents append-only heap of UTF-8 names stored outside of the heap.
+ * Every name is prefixed by its length in two bytes and never crosses a chunk,
+ * so it is addressed by a single offset and decoded without creating any object.
+ * Chunks are limited by {@code -XX:MaxDirectMemorySize}, as described in {@link ColumnarTree}.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+final class NameHeap {
+
+    /** This field represents number of bits of an offset addressing a byte inside a chunk */
+    private static final int CHUNK_SHIFT = 24;
+
+    /** This field represents number of bytes in every chunk */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /** This field represents maximum length of a name in bytes */
+    static final int MAX_LENGTH = 0xFFFF;
+
+    /** This field represents chunks of names */
+    private final ArrayList<ByteBuffer> chunks;
+
+    /** This field represents position of the next name in the last chunk */
+    private int position;
+
+    /**
+     * This constructor will create new empty heap
+     * */
+    NameHeap() {
+        this.chunks = new ArrayList<>();
+        this.position = CHUNK_SIZE;
+    }
+
+    /**
+     * This method is used to append a name
+     *
+     * @param name name to be appended
+     * @return offset of the name
+     * @throws OutOfMemoryError if a new chunk exceeds the direct memory limit
+     * */
+    long add(@NotNull String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LENGTH) throw new IllegalArgumentException("Name is too long: " + name);
+
+        if (this.position + 2 + bytes.length > CHUNK_SIZE) {
+            this.chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+            this.position = 0;
+        }
+
+        ByteBuffer chunk = this.chunks.get(this.chunks.size() - 1);
+        long offset = ((long) (this.chunks.size() - 1) << CHUNK_SHIFT) | this.position;
+        chunk.putShort(this.position, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) chunk.put(this.position + 2 + i, bytes[i]);
+        this.position += 2 + bytes.length;
+        return offset;
+    }
+
+    /**
+     * This method is used to get number of bytes allocated by this heap
+     *
+     * @return allocated bytes
+     * */
+    long allocated() {
+        return (long) this.chunks.size() * CHUNK_SIZE;
+    }
+
+    /**
+     * This method is used to read a name as a new string
+     *
+     * @param offset offset of the name
+     * @return name
+     * */
+    String get(long offset) {
+        ByteBuffer chunk = this.chunks.get((int) (offset >>> CHUNK_SHIFT));
+        int start = (int) offset & (CHUNK_SIZE - 1);
+        byte[] bytes = new byte[chunk.getShort(start) & 0xFFFF];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = chunk.get(start + 2 + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method is used to decode a name in lower case into a given array without creating any object
+     *
+     * @param offset offset of the name
+     * @param chars array the name is decoded into, at least {@link #MAX_LENGTH} long
+     * @return number of decoded characters
+     * */
+    int decodeLowerCase(long offset, @NotNull char[] chars) {
+        ByteBuffer chunk = this.chunks.get((int) (offset >>> CHUNK_SHIFT));
+        int start = (int) offset & (CHUNK_SIZE - 1);
+        int end = start + 2 + (chunk.getShort(start) & 0xFFFF);
+
+        int length = 0;
+        for (int i = start + 2; i < end; ) {
+            int b = chunk.get(i) & 0xFF;
+            if (b < 0x80) {
+                chars[length++] = Character.toLowerCase((char) b);
+                i++;
+            } else if (b < 0xE0) {
+                chars[length++] = Character.toLowerCase((char) (((b & 0x1F) << 6) | (chunk.get(i + 1) & 0x3F)));
+                i += 2;
+            } else if (b < 0xF0) {
+                chars[length++] = Character.toLowerCase((char) (((b & 0x0F) << 12)
+                        | ((chunk.get(i + 1) & 0x3F) << 6) | (chunk.get(i + 2) & 0x3F)));
+                i += 3;
+            } else {
+                int codePoint = Character.toLowerCase(((b & 0x07) << 18) | ((chunk.get(i + 1) & 0x3F) << 12)
+                        | ((chunk.get(i + 2) & 0x3F) << 6) | (chunk.get(i + 3) & 0x3F));
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+                i += 4;
+            }
+        }
+        return length;
+    }
+}
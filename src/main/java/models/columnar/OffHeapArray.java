@@ -0,0 +1,88 @@
+package main.java.models.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+/**
+ * This class represents growable array of fixed width values stored outside of the heap.
+ * Values are kept in direct buffers of {@link #CHUNK_SIZE} values each, so the array
+ * is not limited by the size of a single buffer and never has to be copied to grow.
+ * Chunks are limited by {@code -XX:MaxDirectMemorySize}, as described in {@link ColumnarTree}.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+final class OffHeapArray {
+
+    /** This field represents number of bits of a value index addressing a value inside a chunk */
+    private static final int CHUNK_SHIFT = 20;
+
+    /** This field represents number of values in every chunk */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /** This field represents mask of a value index addressing a value inside a chunk */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** This field represents width of every value in bytes */
+    private final int width;
+
+    /** This field represents chunks of values */
+    private final ArrayList<ByteBuffer> chunks;
+
+    /**
+     * This constructor will create new empty array
+     *
+     * @param width width of every value in bytes, 1, 4 or 8
+     * */
+    OffHeapArray(int width) {
+        this.width = width;
+        this.chunks = new ArrayList<>();
+    }
+
+    /**
+     * This method is used to make sure a value at a given index can be stored
+     *
+     * @param index index of the value
+     * @throws OutOfMemoryError if a new chunk exceeds the direct memory limit
+     * */
+    void ensure(int index) {
+        while (this.chunks.size() <= index >>> CHUNK_SHIFT) {
+            this.chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE * this.width).order(ByteOrder.nativeOrder()));
+        }
+    }
+
+    /**
+     * This method is used to get number of bytes allocated by this array
+     *
+     * @return allocated bytes
+     * */
+    long allocated() {
+        return (long) this.chunks.size() * CHUNK_SIZE * this.width;
+    }
+
+    byte getByte(int index) {
+        return this.chunks.get(index >>> CHUNK_SHIFT).get(index & CHUNK_MASK);
+    }
+
+    void putByte(int index, byte value) {
+        this.chunks.get(index >>> CHUNK_SHIFT).put(index & CHUNK_MASK, value);
+    }
+
+    int getInt(int index) {
+        return this.chunks.get(index >>> CHUNK_SHIFT).getInt((index & CHUNK_MASK) << 2);
+    }
+
+    void putInt(int index, int value) {
+        this.chunks.get(index >>> CHUNK_SHIFT).putInt((index & CHUNK_MASK) << 2, value);
+    }
+
+    long getLong(int index) {
+        return this.chunks.get(index >>> CHUNK_SHIFT).getLong((index & CHUNK_MASK) << 3);
+    }
+
+    void putLong(int index, long value) {
+        this.chunks.get(index >>> CHUNK_SHIFT).putLong((index & CHUNK_MASK) << 3, value);
+    }
+}
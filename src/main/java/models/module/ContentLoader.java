@@ -0,0 +1,22 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+/**
+ * This interface represents loader of folder contents which are not in memory yet.
+ * A folder with a loader loads its contents the first time they are needed.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public interface ContentLoader {
+
+    /**
+     * This method is called once to load all direct children of a given folder
+     * with {@link Folder#loadContent(Entity)}
+     *
+     * @param folder folder which contents to be loaded
+     * */
+    void load(@NotNull Folder folder);
+}
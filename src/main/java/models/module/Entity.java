@@ -3,8 +3,8 @@ package main.java.models.module;
 import com.sun.istack.internal.NotNull;
 import com.sun.istack.internal.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.Date;
-import java.util.Stack;
 
 /**
  * This abstract class represents Entity for file tree.
@@ -27,17 +27,20 @@ public abstract class Entity {
      * */
     protected final TYPE type;
 
-    /** This field represents name of this entity (folder name or file name) */
-    protected String name;
+    /** This field represents name of this entity (folder name or file name), shared through {@link StringPool#NAMES} */
+    protected volatile String name;
 
-    /** This field represents when this entity is created */
-    protected final Date createdDate;
+    /** This field represents normalized key of this entity to be compared when sorting, refreshed on every change of name */
+    protected volatile String sortKey;
 
-    /** This field represents when last time this entity updated */
-    protected Date updatedDate;
+    /** This field represents when this entity is created, in milliseconds since the epoch */
+    protected final long createdTime;
+
+    /** This field represents when last time this entity updated, in milliseconds since the epoch */
+    protected volatile long updatedTime;
 
     /** This field represents parent folder of this entity */
-    protected Folder parent;
+    protected volatile Folder parent;
 
     /**
      * This constructor will create new entity with a given name and type
@@ -47,10 +50,35 @@ public abstract class Entity {
      * @param type type of this entity
      * */
     public Entity(@NotNull String name, @NotNull TYPE type) {
-        this.name = name;
+        this(name, type, System.currentTimeMillis());
+    }
+
+    /**
+     * This constructor will create new entity with a given name and type
+     * which is created and updated at the same time
+     *
+     * @param name name of this entity
+     * @param type type of this entity
+     * @param time time when this entity is created, in milliseconds since the epoch
+     * */
+    private Entity(@NotNull String name, @NotNull TYPE type, long time) {
+        this(name, type, time, time);
+    }
+
+    /**
+     * This constructor will create new entity with a given name, type, created time and updated time,
+     * e.g. when an existing entity is restored from storage
+     *
+     * @param name name of this entity
+     * @param type type of this entity
+     * @param createdTime time when this entity is created, in milliseconds since the epoch
+     * @param updatedTime time when this entity is updated for the last time, in milliseconds since the epoch
+     * */
+    public Entity(@NotNull String name, @NotNull TYPE type, long createdTime, long updatedTime) {
+        this.name = StringPool.NAMES.intern(name);
         this.type = type;
-        this.createdDate = new Date();
-        this.updatedDate = new Date();
+        this.createdTime = createdTime;
+        this.updatedTime = updatedTime;
     }
 
     /**
@@ -63,13 +91,52 @@ public abstract class Entity {
     }
 
     /**
-     * This method is used to update name of this entity
+     * This method is used to update name of this entity.
+     * The entity is renamed while holding the monitor of its parent folder,
+     * the same way as the parent folder is changed. If the entity is moved
+     * while waiting for the monitor, the monitor of its new parent folder is taken instead.
+     * The entity is not renamed when another entity in its parent folder already has the new name.
      *
      * @param name new name of this entity
+     * @return true if the entity is renamed, else false
      * */
-    public void setName(@NotNull String name) {
-        this.name = name;
-        this.setUpdatedDate(new Date());
+    public boolean setName(@NotNull String name) {
+        while (true) {
+            Folder parentFolder = this.parent;
+            if (parentFolder == null) return this.rename(name);
+            synchronized (parentFolder) {
+                parentFolder.awaitTransaction();
+                if (this.parent == parentFolder) return this.rename(name);
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to update name of this entity
+     * and notify listeners of the change
+     *
+     * @param name new name of this entity
+     * @return true if the entity is renamed, false if the new name is taken in its parent folder
+     * */
+    private boolean rename(@NotNull String name) {
+        /* The new key is checked before the name changes, so the child index never loses this entity */
+        if (this.parent != null) {
+            Entity holder = this.parent.getIndexed(this.type, this.getKey(name));
+            if (holder != null && holder != this) return false;
+        }
+
+        String oldKey = this.getKey();
+        String oldName = this.name;
+        this.name = StringPool.NAMES.intern(name);
+        this.sortKey = this.buildSortKey();
+        this.updatedTime = System.currentTimeMillis();
+
+        /* Keep the child index of parent folder in sync with the new name */
+        if (this.parent != null) this.parent.reindexContent(this, oldKey);
+        if (this.type == TYPE.FOLDER) Folder.invalidatePaths();
+
+        Folder.fireRenamed(this.type == TYPE.FOLDER ? (Folder) this : this.parent, this, oldName);
+        return true;
     }
 
     /**
@@ -81,14 +148,57 @@ public abstract class Entity {
         return this.name;
     }
 
+    /**
+     * This method is used to get key of this entity that identifies it
+     * among other entities of the same type in the same folder.
+     * The key is case insensitive, the same way as {@link #equals(Object)} is.
+     *
+     * @return lower case key of this entity
+     * */
+    public abstract String getKey();
+
+    /**
+     * This method is used to get key this entity would have if it is named a given name
+     *
+     * @param name name of this entity
+     * @return lower case key of this entity with the given name
+     * */
+    protected abstract String getKey(@NotNull String name);
+
+    /**
+     * This method is used to get normalized key of this entity which is compared when sorting by name,
+     * computed once for every change of name instead of once for every comparison
+     *
+     * @return field {@link #sortKey}
+     * */
+    public String getSortKey() {
+        return this.sortKey;
+    }
+
+    /**
+     * This method is used to compute normalized key of this entity to be compared when sorting
+     *
+     * @return sort key of this entity
+     * */
+    protected abstract String buildSortKey();
+
     /**
      * This method is used to get created date of this entity
      *
-     * @return field {@link #createdDate}
+     * @return new date of field {@link #createdTime}
      * */
     @SuppressWarnings("Unused")
     public Date getCreatedDate() {
-        return this.createdDate;
+        return new Date(this.createdTime);
+    }
+
+    /**
+     * This method is used to get created time of this entity without creating a date
+     *
+     * @return field {@link #createdTime}
+     * */
+    public long getCreatedTime() {
+        return this.createdTime;
     }
 
     /**
@@ -97,16 +207,50 @@ public abstract class Entity {
      * @param updatedDate new date when this entity is updated, usually when this method is invoked
      * */
     public void setUpdatedDate(@NotNull Date updatedDate) {
-        this.updatedDate = updatedDate;
+        this.setUpdatedTime(updatedDate.getTime());
+    }
+
+    /**
+     * This method is used to set new updated time of this entity
+     *
+     * The time is changed while holding the monitor of its parent folder,
+     * which keeps its contents sorted by updated time, the same way as {@link #setName(String)}.
+     *
+     * @param updatedTime new time when this entity is updated, in milliseconds since the epoch
+     * */
+    public void setUpdatedTime(long updatedTime) {
+        while (true) {
+            Folder parentFolder = this.parent;
+            if (parentFolder == null) {
+                this.updatedTime = updatedTime;
+                return;
+            }
+            synchronized (parentFolder) {
+                parentFolder.awaitTransaction();
+                if (this.parent != parentFolder) continue;
+                this.updatedTime = updatedTime;
+                parentFolder.reorderContent(this);
+                return;
+            }
+        }
     }
 
     /**
      * This method is used to get latest updated date of this entity
      *
-     * @return field {@link #updatedDate}
+     * @return new date of field {@link #updatedTime}
      * */
     public Date getUpdatedDate() {
-        return this.updatedDate;
+        return new Date(this.updatedTime);
+    }
+
+    /**
+     * This method is used to get latest updated time of this entity without creating a date
+     *
+     * @return field {@link #updatedTime}
+     * */
+    public long getUpdatedTime() {
+        return this.updatedTime;
     }
 
     /**
@@ -129,12 +273,12 @@ public abstract class Entity {
 
     /**
      * This method is used to get directory from root down to direct parent of this entity
-     * by dig deeper into field {@link #parent}
+     * by dig deeper into field {@link #parent}. Root is on top of the returned stack.
      *
      * @return stack of folders
      * */
-    public Stack<Folder> getDirectory() {
-        Stack<Folder> folders = new Stack<>();
+    public ArrayDeque<Folder> getDirectory() {
+        ArrayDeque<Folder> folders = new ArrayDeque<>();
 
         Folder temp = this.parent;
         while (temp != null) {
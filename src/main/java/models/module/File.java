@@ -3,7 +3,6 @@ package main.java.models.module;
 import com.sun.istack.internal.NotNull;
 import com.sun.istack.internal.Nullable;
 
-import java.util.Date;
 
 /**
  * This class represents File in the file tree.
@@ -16,8 +15,11 @@ import java.util.Date;
  * */
 public class File extends Entity implements Comparable<File> {
 
-    /** This field represents extension of this file */
-    private String extension;
+    /** This field represents extension of this file, shared through {@link StringPool#EXTENSIONS} */
+    private volatile String extension;
+
+    /** This field represents size of this file in bytes */
+    private volatile long size;
 
     /**
      * This constructor will create new file with a given name and extension
@@ -27,18 +29,70 @@ public class File extends Entity implements Comparable<File> {
      * */
     public File(@NotNull String name, @NotNull String extension) {
         super(name, TYPE.FILE);
-        this.extension = extension;
+        this.extension = StringPool.EXTENSIONS.intern(extension);
+        this.sortKey = this.buildSortKey();
     }
 
     /**
-     * This method is used to update this file by change extension with a new one
+     * This constructor will create new file with a given name, extension, size, created time and updated time
+     *
+     * @param name name of this file
+     * @param extension extension of this file
+     * @param size size of this file in bytes
+     * @param createdTime time when this file is created, in milliseconds since the epoch
+     * @param updatedTime time when this file is updated for the last time, in milliseconds since the epoch
+     * */
+    public File(@NotNull String name, @NotNull String extension, long size, long createdTime, long updatedTime) {
+        super(name, TYPE.FILE, createdTime, updatedTime);
+        this.extension = StringPool.EXTENSIONS.intern(extension);
+        this.size = size;
+        this.sortKey = this.buildSortKey();
+    }
+
+    /**
+     * This method is used to update this file by change extension with a new one,
+     * while holding the monitor of its parent folder, the same way as {@link #setName(String)}.
+     * The extension is not changed when another file in its parent folder already has the new key.
      *
      * @param extension new extension of this file
+     * @return true if the extension is changed, else false
      * */
     @SuppressWarnings("Unused")
-    public void setExtension(@NotNull String extension) {
-        this.extension = extension;
-        this.setUpdatedDate(new Date());
+    public boolean setExtension(@NotNull String extension) {
+        while (true) {
+            Folder parentFolder = this.parent;
+            if (parentFolder == null) return this.changeExtension(extension);
+            synchronized (parentFolder) {
+                parentFolder.awaitTransaction();
+                if (this.parent == parentFolder) return this.changeExtension(extension);
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to update extension of this file
+     * and notify listeners of the change
+     *
+     * @param extension new extension of this file
+     * @return true if the extension is changed, false if the new key is taken in its parent folder
+     * */
+    private boolean changeExtension(@NotNull String extension) {
+        if (this.parent != null) {
+            Entity holder = this.parent.getIndexed(TYPE.FILE, keyOf(this.name, extension));
+            if (holder != null && holder != this) return false;
+        }
+
+        String oldKey = this.getKey();
+        String oldExtension = this.extension;
+        this.extension = StringPool.EXTENSIONS.intern(extension);
+        this.sortKey = this.buildSortKey();
+        this.updatedTime = System.currentTimeMillis();
+
+        /* Keep the child index of parent folder in sync with the new extension */
+        if (this.parent != null) this.parent.reindexContent(this, oldKey);
+
+        Folder.fireChanged(this.parent, this, oldExtension, this.size);
+        return true;
     }
 
     /**
@@ -50,13 +104,109 @@ public class File extends Entity implements Comparable<File> {
         return this.extension;
     }
 
+    /**
+     * This method is used to update size of this file. The difference is added
+     * to the subtree figures of all ancestor folder to the root. The size is changed
+     * while holding the monitor of its parent folder, which keeps its contents sorted by updated time,
+     * and listeners are notified of the change.
+     *
+     * @param size new size of this file in bytes
+     * */
+    public void setSize(long size) {
+        while (true) {
+            Folder parentFolder = this.parent;
+            if (parentFolder == null) {
+                this.resize(size);
+                return;
+            }
+            synchronized (parentFolder) {
+                parentFolder.awaitTransaction();
+                if (this.parent != parentFolder) continue;
+                long oldSize = this.resize(size);
+                parentFolder.reorderContent(this);
+                Folder.fireChanged(parentFolder, this, this.extension, oldSize);
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to update size of this file
+     * and add the difference to the subtree figures of all ancestor folder
+     *
+     * @param size new size of this file in bytes
+     * @return size of this file in bytes before it is changed
+     * */
+    private long resize(long size) {
+        synchronized (Folder.FIGURES) {
+            long oldSize = this.size;
+            this.size = size;
+            this.updatedTime = System.currentTimeMillis();
+
+            if (this.parent != null) this.parent.addSubtreeNumber(0, 0, size - oldSize);
+            return oldSize;
+        }
+    }
+
+    /**
+     * This method is used to get size of this file
+     *
+     * @return field {@link #size}
+     * */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * This method is used to get key of this file which is
+     * its name and extension in lower case, separated by a dot
+     *
+     * @return lower case key of this file
+     * */
+    @Override
+    public String getKey() {
+        return keyOf(this.name, this.extension);
+    }
+
+    /**
+     * This method is used to get key this file would have if it is named a given name
+     *
+     * @param name name of this file
+     * @return lower case key of this file with the given name and its extension
+     * */
+    @Override
+    protected String getKey(@NotNull String name) {
+        return keyOf(name, this.extension);
+    }
+
+    /**
+     * This method is a utility method used to get key of a file with a given name and extension
+     *
+     * @param name name of the file
+     * @param extension extension of the file
+     * @return name and extension in lower case, separated by a dot
+     * */
+    private static String keyOf(@NotNull String name, @NotNull String extension) {
+        return (name + "." + extension).toLowerCase();
+    }
+
+    /**
+     * This method is used to compute sort key of this file which is its name and extension in lower case,
+     * separated by a character lower than any other, so files are sorted by name first and extension second
+     *
+     * @return sort key of this file
+     * */
+    @Override
+    protected String buildSortKey() {
+        return (this.name + '\0' + this.extension).toLowerCase();
+    }
+
     /**
      * This method is used to compare this file to another one by comparing
      * <ul>
-     *     <li>field {@link #name}</li>
-     *     <li>field {@link #extension}</li>
-     *     <li>field {@link #createdDate}</li>
-     *     <li>field {@link #updatedDate}</li>
+     *     <li>field {@link #sortKey}, which is name and extension ignoring case</li>
+     *     <li>field {@link #createdTime}</li>
+     *     <li>field {@link #updatedTime}</li>
      * </ul>
      *
      * @param o another file object
@@ -64,13 +214,10 @@ public class File extends Entity implements Comparable<File> {
      * */
     @Override
     public int compareTo(@NotNull File o) {
-        if (this.name.toLowerCase().compareTo(o.name.toLowerCase()) == 0) {
-            if (this.extension.toLowerCase().compareTo(o.extension.toLowerCase()) == 0) {
-                if (this.createdDate.compareTo(o.createdDate) == 0) {
-                    return this.updatedDate.compareTo(o.updatedDate);
-                } else return this.createdDate.compareTo(o.createdDate);
-            } else return this.extension.toLowerCase().compareTo(o.extension.toLowerCase());
-        } else return this.name.toLowerCase().compareTo(o.name.toLowerCase());
+        int comparison = this.sortKey.compareTo(o.sortKey);
+        if (comparison != 0) return comparison;
+        if (this.createdTime != o.createdTime) return Long.compare(this.createdTime, o.createdTime);
+        return Long.compare(this.updatedTime, o.updatedTime);
     }
 
     /**
@@ -88,4 +235,15 @@ public class File extends Entity implements Comparable<File> {
         }
         return false;
     }
+
+    /**
+     * This method is used to get hash code of this file,
+     * consistent with {@link #equals(Object)}
+     *
+     * @return hash code of key of this file
+     * */
+    @Override
+    public int hashCode() {
+        return this.getKey().hashCode();
+    }
 }
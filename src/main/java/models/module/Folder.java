@@ -3,14 +3,34 @@ package main.java.models.module;
 import com.sun.istack.internal.NotNull;
 import com.sun.istack.internal.Nullable;
 
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * This class represents Folder in the file tree.
  * This class extends property and behaviour of {@link Entity}
  * and implements {@link Comparable}
+ * <p>
+ * A folder is safe to be read and changed from many threads. Its children are kept in
+ * copy-on-write snapshots published through a volatile field, and looked up through
+ * concurrent indexes, so listing, lookup and search never lock. Changes of a folder are
+ * serialized by the monitor of the folder, and listeners are notified while it is held,
+ * so they see changes of one folder in the order they happened. Subtree figures are added
+ * up the ancestors under {@link #FIGURES}, so they stay exact while subtrees are changed,
+ * attached and detached at the same time.
  *
  * @since June 23rd 2021
  * @author Fajar Zuhri Hadiyanto
@@ -18,14 +38,63 @@ import java.util.stream.Collectors;
  * */
 public class Folder extends Entity implements Comparable<Folder> {
 
-    /** This field represents all content of this folder, could be another folder or a file */
-    private final ArrayList<Entity> contents;
+    /** This field represents separator between folder names in a path */
+    public static final char PATH_SEPARATOR = '/';
+
+    /** This field represents number of times a folder has been renamed or moved, which invalidates cached paths */
+    private static final AtomicInteger PATH_EPOCH = new AtomicInteger();
+
+    /** This field represents lock held while subtree figures are added up the ancestors */
+    static final Object FIGURES = new Object();
+
+    /**
+     * This field represents lock held while an entity is moved or a {@link TreeTransaction} is committed,
+     * before any folder monitor, so changes of more than one folder never make a folder its own ancestor.
+     * Folders held by a transaction are released before this lock, so a move never waits for them.
+     * */
+    static final Object MOVES = new Object();
+
+    /** This field represents children of every folder which has none */
+    private static final Children EMPTY = new Children(new Entity[0], 0, new Entity[0], 0, new Entity[0], 0);
+
+    /** This field represents loader of a folder which contents are being loaded by the thread holding its monitor */
+    private static final ContentLoader LOADING = folder -> {};
+
+    /** This field represents snapshot of all content of this folder, replaced on every change */
+    private volatile Children children;
+
+    /** This field represents index of direct child folders of this folder by their key */
+    private final ConcurrentHashMap<String, Folder> folderIndex;
+
+    /** This field represents index of direct child files of this folder by their key */
+    private final ConcurrentHashMap<String, File> fileIndex;
 
     /** This field represents number of files contained in this folder */
-    private int nFiles;
+    private volatile int nFiles;
 
     /** This field represents number of folders contained in this folder */
-    private int nFolders;
+    private volatile int nFolders;
+
+    /** This field represents number of files contained in the whole subtree of this folder */
+    private volatile int totalFiles;
+
+    /** This field represents number of folders contained in the whole subtree of this folder */
+    private volatile int totalFolders;
+
+    /** This field represents total size in bytes of files contained in the whole subtree of this folder */
+    private volatile long totalSize;
+
+    /** This field represents listeners of changes in the subtree of this folder, created on demand */
+    private volatile CopyOnWriteArrayList<TreeListener> listeners;
+
+    /** This field represents loader of contents which are not in memory yet, null once they are loaded */
+    private volatile ContentLoader loader;
+
+    /** This field represents cached absolute path of this folder, valid while {@link #PATH_EPOCH} does not change */
+    private PathCache pathCache;
+
+    /** This field represents thread committing a {@link TreeTransaction} which holds this folder, guarded by its monitor */
+    private Thread transaction;
 
     /**
      * This constructor is used to create a new folder
@@ -33,48 +102,299 @@ public class Folder extends Entity implements Comparable<Folder> {
      * @param name name of this folder
      * */
     public Folder(@NotNull String name) {
-        super(name, TYPE.FOLDER);
-        this.contents = new ArrayList<>();
+        this(name, System.currentTimeMillis());
+    }
+
+    /**
+     * This constructor is used to create a new folder which is created and updated at the same time
+     *
+     * @param name name of this folder
+     * @param time time when this folder is created, in milliseconds since the epoch
+     * */
+    private Folder(@NotNull String name, long time) {
+        this(name, time, time);
+    }
+
+    /**
+     * This constructor is used to create a new folder with a given created time and updated time
+     *
+     * @param name name of this folder
+     * @param createdTime time when this folder is created, in milliseconds since the epoch
+     * @param updatedTime time when this folder is updated for the last time, in milliseconds since the epoch
+     * */
+    public Folder(@NotNull String name, long createdTime, long updatedTime) {
+        super(name, TYPE.FOLDER, createdTime, updatedTime);
+        this.sortKey = this.buildSortKey();
+        this.children = EMPTY;
+        this.folderIndex = new ConcurrentHashMap<>();
+        this.fileIndex = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This method is used to get absolute path of this folder, names from root down to this folder
+     * separated by {@link #PATH_SEPARATOR}. The path is cached, so it is only built again
+     * once a folder is renamed or moved anywhere, which is rare compared to reading paths.
+     * Only this folder caches its path, so asking for paths deep down a tree does not fill
+     * every ancestor with a copy of its own path.
+     *
+     * @return absolute path of this folder
+     * */
+    public String getPath() {
+        int epoch = PATH_EPOCH.get();
+        PathCache cache = this.pathCache;
+        if (cache != null && cache.epoch == epoch) return cache.path;
+
+        /* Gather folders up to the nearest ancestor which cached path is still valid */
+        ArrayDeque<Folder> folders = new ArrayDeque<>();
+        String prefix = null;
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            PathCache folderCache = folder.pathCache;
+            if (folder != this && folderCache != null && folderCache.epoch == epoch) {
+                prefix = folderCache.path;
+                break;
+            }
+            folders.push(folder);
+        }
+
+        StringBuilder path = new StringBuilder();
+        if (prefix != null) path.append(prefix).append(PATH_SEPARATOR);
+        path.append(folders.pop().name);
+        while (!folders.isEmpty()) path.append(PATH_SEPARATOR).append(folders.pop().name);
+
+        String result = path.toString();
+        this.pathCache = new PathCache(epoch, result);
+        return result;
+    }
+
+    /**
+     * This method is used to invalidate cached paths of every folder, once a folder is renamed or moved
+     * */
+    static void invalidatePaths() {
+        PATH_EPOCH.incrementAndGet();
+    }
+
+    /**
+     * This method is used to set parent folder of this folder.
+     * Cached paths are invalidated when this folder leaves a parent, or when it may hold
+     * cached paths below it, so a folder moved elsewhere never keeps its old path.
+     * Attaching a new empty folder keeps every cached path.
+     *
+     * @param parent parent folder of this folder
+     * */
+    @Override
+    public void setParent(@Nullable Folder parent) {
+        boolean stale = parent != this.parent && (this.parent != null || this.pathCache != null || this.nFolders > 0);
+        super.setParent(parent);
+
+        /* Bumped after relinking, so a path cached in between is not stamped with the new epoch */
+        if (stale) invalidatePaths();
     }
 
     /**
      * This method is used to get contents of this folder
      *
-     * @return field {@link #contents}
+     * @return unmodifiable snapshot of field {@link #children}, which does not change along with this folder
+     * */
+    public List<Entity> getContents() {
+        this.ensureLoaded();
+        return this.children.getContents();
+    }
+
+    /**
+     * This method is used to get contents of this folder in a given order. Every order asked for
+     * is sorted once and then kept sorted along with the contents, so listing in order does not sort again.
+     *
+     * @param order order of the contents
+     * @param ascending true for the given order, false for the reverse
+     * @return unmodifiable snapshot of field {@link #children} in the order, which does not change along with this folder
+     * */
+    public List<Entity> getContents(@NotNull SortOrder order, boolean ascending) {
+        this.ensureLoaded();
+        return this.children.getSorted(order, ascending);
+    }
+
+    /**
+     * This method is used to get loader of the contents of this folder which are not in memory yet,
+     * e.g. so a copy of this folder can load the same contents
+     *
+     * @return field {@link #loader}, or null if the contents are loaded or being loaded
+     * */
+    public ContentLoader getLoader() {
+        ContentLoader contentLoader = this.loader;
+        return contentLoader == LOADING ? null : contentLoader;
+    }
+
+    /**
+     * This method is used to get contents of this folder which are already in memory,
+     * without loading them
+     *
+     * @return unmodifiable snapshot of field {@link #children}, empty if they are not loaded yet
+     * */
+    public List<Entity> getLoadedContents() {
+        return this.children.getContents();
+    }
+
+    /**
+     * This method is used to set loader of contents of this empty folder, which are loaded
+     * the first time they are needed. Figures of the contents are known without loading them.
+     *
+     * @param loader loader of the contents
+     * @param nFolders number of direct child folders
+     * @param nFiles number of direct child files
+     * @param totalFolders number of folders in the whole subtree
+     * @param totalFiles number of files in the whole subtree
+     * @param totalSize total size in bytes of files in the whole subtree
+     * */
+    public void setLoader(@NotNull ContentLoader loader, int nFolders, int nFiles,
+                          int totalFolders, int totalFiles, long totalSize) {
+        this.loader = loader;
+        this.nFolders = nFolders;
+        this.nFiles = nFiles;
+        this.totalFolders = totalFolders;
+        this.totalFiles = totalFiles;
+        this.totalSize = totalSize;
+    }
+
+    /**
+     * This method is used by a {@link ContentLoader} to put a loaded child to this folder.
+     * The child is already counted in the figures given to {@link #setLoader}, so figures
+     * are not updated and listeners are not notified.
+     *
+     * @param content loaded child entity
+     * */
+    public void loadContent(@NotNull Entity content) {
+        synchronized (this) {
+            this.awaitTransaction();
+            if (this.putIndexed(content.getKey(), content)) {
+                content.setParent(this);
+                this.children = this.children.append(content);
+            }
+        }
+    }
+
+    /**
+     * This method is used to get state of contents of this folder, whether they are in memory
+     *
+     * @return true if contents of this folder are loaded, else false
+     * */
+    public boolean isLoaded() {
+        return this.loader == null;
+    }
+
+    /**
+     * This method is used to load contents of the whole subtree of this folder
+     * */
+    public void loadAll() {
+        ArrayDeque<Folder> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            for (Entity folder : stack.pop().getFolders()) stack.push((Folder) folder);
+        }
+    }
+
+    /**
+     * This method is utility method that used to load contents of this folder
+     * if they are not loaded yet, and notify listeners of this folder and
+     * all ancestor folder to the root. Other threads needing the contents
+     * wait until they are loaded.
+     * */
+    void ensureLoaded() {
+        if (this.loader == null) return;
+
+        synchronized (this) {
+            /* Contents are loaded by another thread meanwhile, or being loaded by this one */
+            ContentLoader contentLoader = this.loader;
+            if (contentLoader == null || contentLoader == LOADING) return;
+
+            this.loader = LOADING;
+            try {
+                contentLoader.load(this);
+            } finally {
+                this.loader = null;
+            }
+        }
+
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onLoaded(this);
+        }
+    }
+
+    /**
+     * This method is used to get direct child of this folder by a given name.
+     * Folder with the given name is looked up first, then file which
+     * name and extension, separated by a dot, matches the given name.
+     *
+     * @param name name of the child, case insensitive
+     * @return child entity with the given name, or null if there is none
+     * */
+    public Entity getChild(@NotNull String name) {
+        this.ensureLoaded();
+        String key = name.toLowerCase();
+        Folder folder = this.folderIndex.get(key);
+        if (folder != null) return folder;
+        return this.fileIndex.get(key);
+    }
+
+    /**
+     * This method is used to check if a given entity, or another entity
+     * equal to it, is a direct child of this folder
+     *
+     * @param content entity to be checked
+     * @return true if this folder contains the given entity, else false
      * */
-    public ArrayList<Entity> getContents() {
-        return this.contents;
+    public boolean hasContent(@NotNull Entity content) {
+        this.ensureLoaded();
+        return this.getIndexed(content) != null;
+    }
+
+    /**
+     * This method is used to get direct child folder of this folder by a given name
+     *
+     * @param name name of the folder, case insensitive
+     * @return child folder with the given name, or null if there is none
+     * */
+    public Folder getFolder(@NotNull String name) {
+        this.ensureLoaded();
+        return this.folderIndex.get(name.toLowerCase());
+    }
+
+    /**
+     * This method is used to get direct child file of this folder by a given name and extension
+     *
+     * @param name name of the file, case insensitive
+     * @param extension extension of the file, case insensitive
+     * @return child file with the given name and extension, or null if there is none
+     * */
+    public File getFile(@NotNull String name, @NotNull String extension) {
+        this.ensureLoaded();
+        return this.fileIndex.get((name + "." + extension).toLowerCase());
     }
 
     /**
      * This method is used to get all direct child folder of this folder
      *
-     * @return list of all direct child folder of this folder
+     * @return unmodifiable snapshot of all direct child folder of this folder
      * */
-    public ArrayList<Entity> getFolders() {
-        return this.contents
-                .stream()
-                .filter(e -> e.type == TYPE.FOLDER)
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<Entity> getFolders() {
+        this.ensureLoaded();
+        return this.children.getFolders();
     }
 
     /**
      * This method is used to get all direct child file of this folder
      *
-     * @return list of all direct child file of this folder
+     * @return unmodifiable snapshot of all direct child file of this folder
      * */
-    public ArrayList<Entity> getFiles() {
-        return this.contents
-                .stream()
-                .filter(e -> e.type == TYPE.FILE)
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<Entity> getFiles() {
+        this.ensureLoaded();
+        return this.children.getFiles();
     }
 
     /**
      * This method is utility method that used to add a number of a certain type of entity
-     * with a given amount to this folder and all ancestor folder to the root.
+     * with a given amount to the direct child counters of this folder.
      *
-     * @param folder current folder state
      * @param type entity type
      * @param num amount of entity to be added
      * */
@@ -83,6 +403,40 @@ public class Folder extends Entity implements Comparable<Folder> {
         else this.nFiles += num;
     }
 
+    /**
+     * This method is utility method that used to add subtree figures of a given entity,
+     * including the entity itself, to this folder and all ancestor folder to the root.
+     * It must be called while holding {@link #FIGURES}.
+     *
+     * @param content entity which subtree figures to be added
+     * @param sign 1 to add the figures, -1 to subtract them
+     * */
+    private void addSubtreeContent(@NotNull Entity content, int sign) {
+        if (content.type == TYPE.FOLDER) {
+            Folder folder = (Folder) content;
+            this.addSubtreeNumber(sign * (folder.totalFolders + 1), sign * folder.totalFiles, sign * folder.totalSize);
+        } else {
+            this.addSubtreeNumber(0, sign, sign * ((File) content).getSize());
+        }
+    }
+
+    /**
+     * This method is utility method that used to add a given amount to the subtree figures
+     * of this folder and all ancestor folder to the root.
+     * It must be called while holding {@link #FIGURES}.
+     *
+     * @param folders amount of folders to be added
+     * @param files amount of files to be added
+     * @param size amount of bytes to be added
+     * */
+    void addSubtreeNumber(int folders, int files, long size) {
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            folder.totalFolders += folders;
+            folder.totalFiles += files;
+            folder.totalSize += size;
+        }
+    }
+
     /**
      * This method is used to add a new entity to this folder. It could be a folder or a file.
      * If entity is exist in this folder, then just skip.
@@ -90,20 +444,255 @@ public class Folder extends Entity implements Comparable<Folder> {
      * @param content new entity to be inserted to this folder
      * */
     public void addContent(@NotNull Entity content) {
-        if(!this.contents.contains(content) && this.contents.add(content)) {
-            content.setParent(this);
+        this.addContent(content, null);
+    }
+
+    /**
+     * This method is used to add a copy of an entity to this folder, which listeners are told
+     * is a copy of the given source, e.g. so a copy sharing its contents is not walked.
+     * If entity is exist in this folder, then just skip.
+     *
+     * @param copy new copy to be inserted to this folder
+     * @param source entity the copy is made of
+     * */
+    public void addCopy(@NotNull Entity copy, @NotNull Entity source) {
+        this.addContent(copy, source);
+    }
+
+    /**
+     * This method is a utility method used to add a new entity to this folder
+     *
+     * @param content new entity to be inserted to this folder
+     * @param source entity the new entity is a copy of, or null if it is not a copy
+     * */
+    private void addContent(@NotNull Entity content, @Nullable Entity source) {
+        this.ensureLoaded();
+        synchronized (this) {
+            this.awaitTransaction();
+            if (!this.putIndexed(content.getKey(), content)) return;
+
+            synchronized (FIGURES) {
+                content.setParent(this);
+                this.addSubtreeContent(content, 1);
+            }
+            this.children = this.children.append(content);
             this.addNumberContent(content.type, 1);
+            if (source == null) this.fireAdded(content);
+            else this.fireCopied(content, source);
+        }
+    }
+
+    /**
+     * This method is used to move a direct child of this folder, along with its whole subtree,
+     * to another folder. The child is relinked as it is, so only the indexes and figures
+     * of both folders and figures of their ancestors are updated.
+     * The child is not moved when the target already has an entity with the same key,
+     * or when the target is the child itself or below it.
+     *
+     * @param content child to be moved
+     * @param target folder the child is moved to
+     * @return true if the child is moved, else false
+     * */
+    public boolean moveContent(@NotNull Entity content, @NotNull Folder target) {
+        if (target == this) return false;
+        this.ensureLoaded();
+        target.ensureLoaded();
+
+        synchronized (MOVES) {
+            synchronized (this) {
+                synchronized (target) {
+                    if (content.parent != this) return false;
+                    for (Folder folder = target; folder != null; folder = folder.parent) {
+                        if (folder == content) return false;
+                    }
+                    if (!target.putIndexed(content.getKey(), content)) return false;
+
+                    this.removeIndexed(content.getKey(), content);
+                    this.children = this.children.remove(content);
+                    this.addNumberContent(content.type, -1);
+                    synchronized (FIGURES) {
+                        this.addSubtreeContent(content, -1);
+                        content.setParent(target);
+                        target.addSubtreeContent(content, 1);
+                    }
+                    target.children = target.children.append(content);
+                    target.addNumberContent(content.type, 1);
+                    fireMoved(this, target, content);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method is used by a {@link TreeTransaction} to add a new entity to this folder
+     * without updating subtree figures, which the transaction updates once for the whole batch.
+     * It must be called while this folder is held by {@link #hold()} and holding {@link #FIGURES}.
+     *
+     * @param content new entity, which key is checked to be free in this folder
+     * */
+    void attachContent(@NotNull Entity content) {
+        this.putIndexed(content.getKey(), content);
+        content.setParent(this);
+        this.children = this.children.append(content);
+        this.addNumberContent(content.type, 1);
+        this.fireAdded(content);
+    }
+
+    /**
+     * This method is used by a {@link TreeTransaction} to remove a direct child of this folder
+     * without updating subtree figures, which the transaction updates once for the whole batch.
+     * It must be called while this folder is held by {@link #hold()} and holding {@link #FIGURES}.
+     *
+     * @param content direct child of this folder
+     * */
+    void detachContent(@NotNull Entity content) {
+        this.removeIndexed(content.getKey(), content);
+        this.children = this.children.remove(content);
+        content.setParent(null);
+        this.addNumberContent(content.type, -1);
+        this.fireRemoved(content);
+    }
+
+    /**
+     * This method is used to add a given amount to the subtree figures of this folder only.
+     * It must be called while holding {@link #FIGURES}.
+     *
+     * @param folders amount of folders to be added
+     * @param files amount of files to be added
+     * @param size amount of bytes to be added
+     * */
+    void addTotals(int folders, int files, long size) {
+        this.totalFolders += folders;
+        this.totalFiles += files;
+        this.totalSize += size;
+    }
+
+    /**
+     * This method is used to stop keeping sorted orders of the children while many of them change,
+     * so they are not copied for every change. It must be called while this folder is held by {@link #hold()}.
+     *
+     * @return orders which were kept, to be sorted again by {@link #restoreOrders(List)}
+     * */
+    List<SortOrder> dropOrders() {
+        List<SortOrder> orders = this.children.getKeptOrders();
+        if (!orders.isEmpty()) this.children = this.children.withoutOrders();
+        return orders;
+    }
+
+    /**
+     * This method is used by a {@link TreeTransaction} to hold this folder until {@link #release()},
+     * so no other thread changes its children meanwhile. Unlike the monitor, a held folder does not
+     * take a stack frame, so a transaction can hold any number of folders.
+     * It must be called while holding {@link #MOVES}, which no other transaction holds meanwhile.
+     * */
+    void hold() {
+        synchronized (this) {
+            this.awaitTransaction();
+            this.transaction = Thread.currentThread();
+        }
+    }
+
+    /**
+     * This method is used by a {@link TreeTransaction} to release this folder held by {@link #hold()}
+     * */
+    void release() {
+        synchronized (this) {
+            this.transaction = null;
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * This method is used to wait until this folder is not held by a transaction of another thread,
+     * before its children are changed. It must be called while holding the monitor of this folder.
+     * */
+    void awaitTransaction() {
+        boolean interrupted = false;
+        while (this.transaction != null && this.transaction != Thread.currentThread()) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * This method is used to sort the children once in every order kept before {@link #dropOrders()}
+     *
+     * @param orders orders to be sorted
+     * */
+    void restoreOrders(@NotNull List<SortOrder> orders) {
+        for (SortOrder order : orders) this.children.getSorted(order, true);
+    }
+
+    /**
+     * This method is used to add multiple new entities to this folder at once.
+     * Entities which exist in this folder are skipped. Subtree figures of the ancestors
+     * are updated once for the whole batch instead of once for every entity.
+     *
+     * @param contents list of new entities to be inserted to this folder
+     * */
+    public void addContents(@NotNull List<? extends Entity> contents) {
+        this.ensureLoaded();
+        synchronized (this) {
+            this.awaitTransaction();
+            ArrayList<Entity> added = new ArrayList<>(contents.size());
+            for (Entity content : contents) {
+                if (this.putIndexed(content.getKey(), content)) added.add(content);
+            }
+
+            int folders = 0, files = 0, nFolders = 0;
+            long size = 0;
+            synchronized (FIGURES) {
+                for (Entity content : added) {
+                    content.setParent(this);
+                    if (content.type == TYPE.FOLDER) {
+                        Folder folder = (Folder) content;
+                        nFolders++;
+                        folders += folder.totalFolders + 1;
+                        files += folder.totalFiles;
+                        size += folder.totalSize;
+                    } else {
+                        files++;
+                        size += ((File) content).getSize();
+                    }
+                }
+                this.addSubtreeNumber(folders, files, size);
+            }
+
+            this.children = this.children.appendAll(added);
+            this.nFolders += nFolders;
+            this.nFiles += added.size() - nFolders;
+            for (Entity content : added) this.fireAdded(content);
         }
     }
 
     /**
      * This method is used to remove existing entity from this folder.
+     * The removed entity is detached, so it has no parent anymore
+     * and changes in its subtree do not reach this folder.
      *
      * @param content entity to be removed from this folder
      * */
     public void removeContent(@NotNull Entity content) {
-        if (this.contents.remove(content))
-            this.addNumberContent(content.type, -1);
+        this.ensureLoaded();
+        synchronized (this) {
+            this.awaitTransaction();
+            Entity indexed = this.getIndexed(content);
+            if (indexed == null) return;
+
+            this.removeIndexed(indexed.getKey(), indexed);
+            this.children = this.children.remove(indexed);
+            synchronized (FIGURES) {
+                this.addSubtreeContent(indexed, -1);
+                indexed.setParent(null);
+            }
+            this.addNumberContent(indexed.type, -1);
+            this.fireRemoved(indexed);
+        }
     }
 
     /**
@@ -117,6 +706,193 @@ public class Folder extends Entity implements Comparable<Folder> {
             this.removeContent(entity);
     }
 
+    /**
+     * This method is used to register a listener of changes in the whole subtree of this folder
+     *
+     * @param listener listener to be registered
+     * */
+    public void addTreeListener(@NotNull TreeListener listener) {
+        synchronized (this) {
+            if (this.listeners == null) this.listeners = new CopyOnWriteArrayList<>();
+            this.listeners.add(listener);
+        }
+    }
+
+    /**
+     * This method is used to unregister a listener of changes in the subtree of this folder
+     *
+     * @param listener listener to be unregistered
+     * */
+    @SuppressWarnings("Unused")
+    public void removeTreeListener(@NotNull TreeListener listener) {
+        CopyOnWriteArrayList<TreeListener> folderListeners = this.listeners;
+        if (folderListeners != null) folderListeners.remove(listener);
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of this folder
+     * and all ancestor folder to the root that an entity is added to this folder
+     *
+     * @param content added entity
+     * */
+    private void fireAdded(@NotNull Entity content) {
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onAdded(this, content);
+        }
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of this folder
+     * and all ancestor folder to the root that a copy of an entity is added to this folder
+     *
+     * @param copy added copy
+     * @param source entity the copy is made of
+     * */
+    private void fireCopied(@NotNull Entity copy, @NotNull Entity source) {
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onCopied(this, copy, source);
+        }
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of both folders of a move
+     * and all their ancestor folders to the root, every listener once
+     *
+     * @param oldParent folder the entity is moved from
+     * @param newParent folder the entity is moved to
+     * @param content moved entity
+     * */
+    private static void fireMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        Set<Folder> notified = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Folder folder = newParent; folder != null; folder = folder.parent) {
+            notified.add(folder);
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onMoved(oldParent, newParent, content);
+        }
+
+        /* Ancestors above the first common one are already notified */
+        for (Folder folder = oldParent; folder != null && !notified.contains(folder); folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onMoved(oldParent, newParent, content);
+        }
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of this folder
+     * and all ancestor folder to the root that an entity is removed from this folder
+     *
+     * @param content removed entity
+     * */
+    private void fireRemoved(@NotNull Entity content) {
+        for (Folder folder = this; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onRemoved(this, content);
+        }
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of a given folder
+     * and all ancestor folder to the root that an entity is renamed
+     *
+     * @param from folder which listeners are notified first, may be null
+     * @param content renamed entity
+     * @param oldName name of the entity before it is renamed
+     * */
+    static void fireRenamed(@Nullable Folder from, @NotNull Entity content, @NotNull String oldName) {
+        for (Folder folder = from; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onRenamed(content, oldName);
+        }
+    }
+
+    /**
+     * This method is utility method that used to notify listeners of a given folder
+     * and all ancestor folder to the root that extension or size of a file is changed
+     *
+     * @param from parent folder of the file, which listeners are notified first, may be null
+     * @param content changed file
+     * @param oldExtension extension of the file before it is changed
+     * @param oldSize size of the file in bytes before it is changed
+     * */
+    static void fireChanged(@Nullable Folder from, @NotNull File content, @NotNull String oldExtension, long oldSize) {
+        for (Folder folder = from; folder != null; folder = folder.parent) {
+            if (folder.listeners != null)
+                for (TreeListener listener : folder.listeners) listener.onChanged(content, oldExtension, oldSize);
+        }
+    }
+
+    /**
+     * This method is used to update the child index after a direct child of this folder
+     * changes its key, e.g. when it is renamed. It must be called while holding the monitor of this folder.
+     *
+     * @param content renamed child entity
+     * @param oldKey key of the child entity before it is renamed
+     * */
+    void reindexContent(@NotNull Entity content, @NotNull String oldKey) {
+        if (this.removeIndexed(oldKey, content)) this.putIndexed(content.getKey(), content);
+        this.reorderContent(content);
+    }
+
+    /**
+     * This method is used to move a direct child of this folder to its place in the sorted contents
+     * after its sort key or updated time changes. It must be called while holding the monitor of this folder.
+     *
+     * @param content changed child entity
+     * */
+    void reorderContent(@NotNull Entity content) {
+        if (content.parent == this) this.children = this.children.reorder(content);
+    }
+
+    /**
+     * This method is a utility method used to get indexed child which is equal to a given entity
+     *
+     * @param content entity to be looked up
+     * @return indexed child entity, or null if there is none
+     * */
+    private Entity getIndexed(@NotNull Entity content) {
+        if (content.type == TYPE.FOLDER) return this.folderIndex.get(content.getKey());
+        return this.fileIndex.get(content.getKey());
+    }
+
+    /**
+     * This method is used to get indexed child of a given type by its key
+     *
+     * @param type type of the child
+     * @param key key of the child
+     * @return indexed child entity, or null if there is none
+     * */
+    Entity getIndexed(@NotNull TYPE type, @NotNull String key) {
+        if (type == TYPE.FOLDER) return this.folderIndex.get(key);
+        return this.fileIndex.get(key);
+    }
+
+    /**
+     * This method is a utility method used to put an entity to the child index with a given key
+     *
+     * @param key key of the entity
+     * @param content entity to be indexed
+     * @return true if the entity is indexed, false if the key is already taken
+     * */
+    private boolean putIndexed(@NotNull String key, @NotNull Entity content) {
+        key = StringPool.NAMES.intern(key);
+        if (content.type == TYPE.FOLDER) return this.folderIndex.putIfAbsent(key, (Folder) content) == null;
+        return this.fileIndex.putIfAbsent(key, (File) content) == null;
+    }
+
+    /**
+     * This method is a utility method used to remove an entity from the child index with a given key
+     *
+     * @param key key of the entity
+     * @param content entity to be removed from the index
+     * @return true if the entity is removed, false if it is not indexed with the given key
+     * */
+    private boolean removeIndexed(@NotNull String key, @NotNull Entity content) {
+        if (content.type == TYPE.FOLDER) return this.folderIndex.remove(key, content);
+        return this.fileIndex.remove(key, content);
+    }
+
     /**
      * This method is used to get number of all files contained in this folder
      *
@@ -135,6 +911,33 @@ public class Folder extends Entity implements Comparable<Folder> {
         return this.nFolders;
     }
 
+    /**
+     * This method is used to get number of all files contained in the whole subtree of this folder
+     *
+     * @return field {@link #totalFiles}
+     * */
+    public int getTotalFiles() {
+        return this.totalFiles;
+    }
+
+    /**
+     * This method is used to get number of all folders contained in the whole subtree of this folder
+     *
+     * @return field {@link #totalFolders}
+     * */
+    public int getTotalFolders() {
+        return this.totalFolders;
+    }
+
+    /**
+     * This method is used to get total size in bytes of all files contained in the whole subtree of this folder
+     *
+     * @return field {@link #totalSize}
+     * */
+    public long getTotalSize() {
+        return this.totalSize;
+    }
+
     /**
      * This method is used to search entity contained in this folder
      * by a given name as a keyword
@@ -144,10 +947,45 @@ public class Folder extends Entity implements Comparable<Folder> {
      * */
     public ArrayList<Entity> search(@NotNull String key) {
         ArrayList<Entity> result = new ArrayList<>();
-        searchUtil(result, this, key);
+        searchUtil(result, this, key.toLowerCase());
         return result;
     }
 
+    /**
+     * This method is used to search entity contained in this folder by a given name
+     * as a keyword, splitting the work by subfolder over the common fork join pool.
+     * Subfolders smaller than {@link SearchTask#THRESHOLD} are searched sequentially,
+     * and the result is in the same order as {@link #search(String)}.
+     *
+     * @param key search keyword
+     * @return list of entities that meet requirement
+     * */
+    public ArrayList<Entity> parallelSearch(@NotNull String key) {
+        return ForkJoinPool.commonPool().invoke(new SearchTask(this, key.toLowerCase()));
+    }
+
+    /**
+     * This method is used to get number of all entities contained in the whole subtree of this folder
+     *
+     * @return sum of field {@link #totalFolders} and {@link #totalFiles}
+     * */
+    public int getTotalContents() {
+        return this.totalFolders + this.totalFiles;
+    }
+
+    /**
+     * This method is used to visit entities contained in this folder which name
+     * matches a given keyword one by one, in the same order as {@link #search(String)},
+     * until the action returns false
+     *
+     * @param key search keyword
+     * @param action action applied to every matching entity, returns false to stop visiting
+     * @return true if the whole subtree is visited, false if it is stopped by the action
+     * */
+    public boolean forEachMatch(@NotNull String key, @NotNull Predicate<Entity> action) {
+        return matchUtil(this, key.toLowerCase(), action);
+    }
+
     /**
      * This method is used as a utility to dig deep until the
      * deepest folder while trying to look for entity which
@@ -155,18 +993,83 @@ public class Folder extends Entity implements Comparable<Folder> {
      *
      * @param result temporary result list
      * @param folder current visited folder
-     * @param key search keyword
+     * @param key search keyword in lower case
      * */
-    private void searchUtil(@NotNull ArrayList<Entity> result, @NotNull Folder folder, @NotNull String key) {
-        for (Entity content: folder.contents) {
-            if (content.name.trim().toLowerCase().contains(key.toLowerCase())) {
-                result.add(content);
+    static void searchUtil(@NotNull ArrayList<Entity> result, @NotNull Folder folder, @NotNull String key) {
+        matchUtil(folder, key, result::add);
+    }
+
+    /**
+     * This method is used as a utility to visit every entity in the subtree of a given folder
+     * which name matches the search keyword. Folders are visited with an explicit stack
+     * in pre-order, so deep trees do not overflow the call stack.
+     *
+     * @param folder current visited folder
+     * @param key search keyword in lower case
+     * @param action action applied to every matching entity, returns false to stop visiting
+     * @return true if the whole subtree is visited, false if it is stopped by the action
+     * */
+    private static boolean matchUtil(@NotNull Folder folder, @NotNull String key, @NotNull Predicate<Entity> action) {
+        ArrayDeque<Entity> stack = new ArrayDeque<>();
+        pushContents(stack, folder);
+
+        while (!stack.isEmpty()) {
+            Entity content = stack.pop();
+            if (content.name.trim().toLowerCase().contains(key) && !action.test(content)) {
+                return false;
             }
 
             if (content instanceof Folder) {
-                searchUtil(result, (Folder) content, key);
+                pushContents(stack, (Folder) content);
             }
         }
+        return true;
+    }
+
+    /**
+     * This method is a utility method used to push contents of a given folder
+     * to a stack in reverse order, so they are popped in the original order
+     *
+     * @param stack stack of entities to be visited
+     * @param folder folder which contents to be pushed
+     * */
+    private static void pushContents(@NotNull ArrayDeque<Entity> stack, @NotNull Folder folder) {
+        folder.ensureLoaded();
+        Children children = folder.children;
+        for (int i = children.size - 1; i >= 0; i--) {
+            stack.push(children.contents[i]);
+        }
+    }
+
+    /**
+     * This method is used to get key of this folder which is its name in lower case
+     *
+     * @return lower case key of this folder
+     * */
+    @Override
+    public String getKey() {
+        return this.sortKey;
+    }
+
+    /**
+     * This method is used to get key this folder would have if it is named a given name
+     *
+     * @param name name of this folder
+     * @return given name in lower case
+     * */
+    @Override
+    protected String getKey(@NotNull String name) {
+        return name.toLowerCase();
+    }
+
+    /**
+     * This method is used to compute sort key of this folder which is its name in lower case
+     *
+     * @return sort key of this folder
+     * */
+    @Override
+    protected String buildSortKey() {
+        return this.name.toLowerCase();
     }
 
     /**
@@ -178,7 +1081,7 @@ public class Folder extends Entity implements Comparable<Folder> {
      * */
     @Override
     public int compareTo(@NotNull Folder o) {
-        return this.name.toLowerCase().compareTo(o.name.toLowerCase());
+        return this.sortKey.compareTo(o.sortKey);
     }
 
     /**
@@ -195,4 +1098,604 @@ public class Folder extends Entity implements Comparable<Folder> {
         }
         return false;
     }
+
+    /**
+     * This method is used to get hash code of this folder,
+     * consistent with {@link #equals(Object)}
+     *
+     * @return hash code of key of this folder
+     * */
+    @Override
+    public int hashCode() {
+        return this.getKey().hashCode();
+    }
+
+    /**
+     * This class represents snapshot of direct children of a folder. A snapshot never changes
+     * what it holds. Adding a child writes it past the end of the shared arrays and publishes
+     * a longer snapshot, removing one copies the arrays, so older snapshots stay intact.
+     * Sorted copies of the children are made the first time an order is asked for, and every
+     * later snapshot keeps the orders of the one it comes from by binary insertion.
+     * Sorted copies are split in {@link SortedBlocks}, so a change copies one block
+     * and the list of blocks instead of the whole sorted copy.
+     * */
+    private static final class Children {
+
+        /** This field represents every order children may be sorted in */
+        private static final SortOrder[] ORDERS = SortOrder.values();
+
+        /** This field represents all children, of which the first {@link #size} are in this snapshot */
+        private final Entity[] contents;
+
+        /** This field represents number of children in this snapshot */
+        private final int size;
+
+        /** This field represents child folders, in the same order as {@link #contents} */
+        private final Entity[] folders;
+
+        /** This field represents number of child folders in this snapshot */
+        private final int nFolders;
+
+        /** This field represents child files, in the same order as {@link #contents} */
+        private final Entity[] files;
+
+        /** This field represents number of child files in this snapshot */
+        private final int nFiles;
+
+        /** This field represents children sorted by every order asked for so far, by its ordinal, null before any */
+        private volatile SortedBlocks[] sorted;
+
+        Children(Entity[] contents, int size, Entity[] folders, int nFolders, Entity[] files, int nFiles) {
+            this.contents = contents;
+            this.size = size;
+            this.folders = folders;
+            this.nFolders = nFolders;
+            this.files = files;
+            this.nFiles = nFiles;
+        }
+
+        /**
+         * This method is used to get snapshot with a given child added at the end.
+         * Only the latest snapshot of a folder may be appended to.
+         *
+         * @param content child to be added
+         * @return new snapshot
+         * */
+        Children append(@NotNull Entity content) {
+            Entity[] newContents = grow(this.contents, this.size, 1);
+            newContents[this.size] = content;
+
+            Children next;
+            if (content.type == TYPE.FOLDER) {
+                Entity[] newFolders = grow(this.folders, this.nFolders, 1);
+                newFolders[this.nFolders] = content;
+                next = new Children(newContents, this.size + 1, newFolders, this.nFolders + 1, this.files, this.nFiles);
+            } else {
+                Entity[] newFiles = grow(this.files, this.nFiles, 1);
+                newFiles[this.nFiles] = content;
+                next = new Children(newContents, this.size + 1, this.folders, this.nFolders, newFiles, this.nFiles + 1);
+            }
+            next.sorted = this.resorted(null, new Entity[]{content});
+            return next;
+        }
+
+        /**
+         * This method is used to get snapshot with given children added at the end.
+         * Only the latest snapshot of a folder may be appended to.
+         *
+         * @param added children to be added
+         * @return new snapshot
+         * */
+        Children appendAll(@NotNull List<Entity> added) {
+            if (added.isEmpty()) return this;
+
+            int addedFolders = 0;
+            for (Entity content : added) if (content.type == TYPE.FOLDER) addedFolders++;
+
+            Entity[] newContents = grow(this.contents, this.size, added.size());
+            Entity[] newFolders = grow(this.folders, this.nFolders, addedFolders);
+            Entity[] newFiles = grow(this.files, this.nFiles, added.size() - addedFolders);
+            int size = this.size, nFolders = this.nFolders, nFiles = this.nFiles;
+            for (Entity content : added) {
+                newContents[size++] = content;
+                if (content.type == TYPE.FOLDER) newFolders[nFolders++] = content;
+                else newFiles[nFiles++] = content;
+            }
+
+            Children next = new Children(newContents, size, newFolders, nFolders, newFiles, nFiles);
+            next.sorted = this.resorted(null, added.toArray(new Entity[0]));
+            return next;
+        }
+
+        /**
+         * This method is used to get snapshot without a given child, on copies of the arrays
+         *
+         * @param content child to be removed, compared by identity
+         * @return new snapshot
+         * */
+        Children remove(@NotNull Entity content) {
+            Entity[] newContents = without(this.contents, this.size, content);
+            Children next;
+            if (content.type == TYPE.FOLDER) {
+                next = new Children(newContents, this.size - 1,
+                        without(this.folders, this.nFolders, content), this.nFolders - 1, this.files, this.nFiles);
+            } else {
+                next = new Children(newContents, this.size - 1,
+                        this.folders, this.nFolders, without(this.files, this.nFiles, content), this.nFiles - 1);
+            }
+            next.sorted = this.resorted(content, new Entity[0]);
+            return next;
+        }
+
+        /**
+         * This method is used to get snapshot with a given child moved to its place in every sorted order,
+         * after its sort key or updated time changes
+         *
+         * @param content changed child
+         * @return new snapshot, or this one if no order is kept
+         * */
+        Children reorder(@NotNull Entity content) {
+            if (this.sorted == null) return this;
+
+            Children next = new Children(this.contents, this.size, this.folders, this.nFolders, this.files, this.nFiles);
+            next.sorted = this.resorted(content, new Entity[]{content});
+            return next;
+        }
+
+        /**
+         * This method is used to get every order this snapshot keeps its children sorted in
+         *
+         * @return list of kept orders
+         * */
+        List<SortOrder> getKeptOrders() {
+            SortedBlocks[] all = this.sorted;
+            if (all == null) return Collections.emptyList();
+
+            ArrayList<SortOrder> orders = new ArrayList<>(ORDERS.length);
+            for (int i = 0; i < all.length; i++) if (all[i] != null) orders.add(ORDERS[i]);
+            return orders;
+        }
+
+        /**
+         * This method is used to get the same snapshot without any sorted order, so later snapshots keep none
+         *
+         * @return new snapshot
+         * */
+        Children withoutOrders() {
+            return new Children(this.contents, this.size, this.folders, this.nFolders, this.files, this.nFiles);
+        }
+
+        /**
+         * This method is used to get unmodifiable view of all children in this snapshot in a given order,
+         * sorting them the first time the order is asked for
+         *
+         * @param order order of the children
+         * @param ascending true for the given order, false for the reverse
+         * @return list of children
+         * */
+        List<Entity> getSorted(@NotNull SortOrder order, boolean ascending) {
+            /* Empty snapshot is shared by every empty folder, so it never keeps any order */
+            if (this.size == 0) return this.getContents();
+
+            SortedBlocks[] all = this.sorted;
+            SortedBlocks blocks = all == null ? null : all[order.ordinal()];
+            if (blocks == null) {
+                Entity[] array = Arrays.copyOf(this.contents, this.size);
+                Arrays.sort(array, order.comparator());
+                blocks = SortedBlocks.of(array);
+
+                /* Losing a race with another thread only means the order is sorted again next time */
+                SortedBlocks[] next = all == null ? new SortedBlocks[ORDERS.length] : all.clone();
+                next[order.ordinal()] = blocks;
+                this.sorted = next;
+            }
+            return new BlockList(blocks, !ascending);
+        }
+
+        /**
+         * This method is a utility method used to derive the sorted orders of a next snapshot from this one
+         *
+         * @param removed child left out of the orders, compared by identity, may be null
+         * @param added children put in the orders by binary search
+         * @return sorted orders of the next snapshot, or null if this one keeps none
+         * */
+        private SortedBlocks[] resorted(@Nullable Entity removed, @NotNull Entity[] added) {
+            SortedBlocks[] all = this.sorted;
+            if (all == null) return null;
+
+            SortedBlocks[] next = new SortedBlocks[all.length];
+            for (int i = 0; i < all.length; i++) {
+                if (all[i] == null) continue;
+                Comparator<Entity> comparator = ORDERS[i].comparator();
+                SortedBlocks blocks = removed == null ? all[i] : all[i].remove(removed, comparator);
+                next[i] = blocks.insertAll(added, comparator);
+            }
+            return next;
+        }
+
+        /**
+         * This method is used to get unmodifiable view of all children in this snapshot
+         *
+         * @return list of children
+         * */
+        List<Entity> getContents() {
+            return new ChildList(this.contents, this.size, false);
+        }
+
+        /**
+         * This method is used to get unmodifiable view of child folders in this snapshot
+         *
+         * @return list of child folders
+         * */
+        List<Entity> getFolders() {
+            return new ChildList(this.folders, this.nFolders, false);
+        }
+
+        /**
+         * This method is used to get unmodifiable view of child files in this snapshot
+         *
+         * @return list of child files
+         * */
+        List<Entity> getFiles() {
+            return new ChildList(this.files, this.nFiles, false);
+        }
+
+        /**
+         * This method is a utility method used to make room for more elements past the used part of an array,
+         * growing it by half when it is full
+         *
+         * @param array array to be appended to
+         * @param used number of used elements
+         * @param more number of elements to be appended
+         * @return the same array if it has room, else a bigger copy
+         * */
+        private static Entity[] grow(@NotNull Entity[] array, int used, int more) {
+            if (used + more <= array.length) return array;
+            return Arrays.copyOf(array, Math.max(used + more, Math.max(4, used + (used >> 1))));
+        }
+
+        /**
+         * This method is a utility method used to copy the used part of an array without a given element
+         *
+         * @param array array to be copied
+         * @param used number of used elements
+         * @param content element to be left out, compared by identity
+         * @return new array
+         * */
+        private static Entity[] without(@NotNull Entity[] array, int used, @NotNull Entity content) {
+            int index = 0;
+            while (array[index] != content) index++;
+
+            Entity[] copy = new Entity[used - 1];
+            System.arraycopy(array, 0, copy, 0, index);
+            System.arraycopy(array, index + 1, copy, index, used - index - 1);
+            return copy;
+        }
+    }
+
+    /**
+     * This class represents unmodifiable list over the used part of an array of children
+     * */
+    private static final class ChildList extends AbstractList<Entity> implements RandomAccess {
+
+        /** This field represents array of children */
+        private final Entity[] array;
+
+        /** This field represents number of children in the list */
+        private final int size;
+
+        /** This field represents whether the list goes from the last child of the array to the first */
+        private final boolean reversed;
+
+        ChildList(Entity[] array, int size, boolean reversed) {
+            this.array = array;
+            this.size = size;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public Entity get(int index) {
+            if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            return this.array[this.reversed ? this.size - 1 - index : index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
+    /**
+     * This class represents immutable sorted sequence of children split in blocks of at most {@link #MAX_BLOCK}.
+     * A change copies the block it touches and the arrays pointing to the blocks, sharing every other block
+     * with the sequence it comes from, so keeping a large folder sorted costs far less than copying it.
+     * */
+    private static final class SortedBlocks {
+
+        /** This field represents number of children in a block made from a sorted array, and in each half of a split one */
+        private static final int BLOCK = 512;
+
+        /** This field represents maximum number of children in a block, which is split when it grows past it */
+        private static final int MAX_BLOCK = 2 * BLOCK;
+
+        /** This field represents number of added children above which a sequence is merged and split again */
+        private static final int MERGE_THRESHOLD = 16;
+
+        /** This field represents blocks of children, none of them empty */
+        private final Entity[][] blocks;
+
+        /** This field represents number of children up to the end of every block */
+        private final int[] ends;
+
+        SortedBlocks(Entity[][] blocks, int[] ends) {
+            this.blocks = blocks;
+            this.ends = ends;
+        }
+
+        /**
+         * This method is used to split a sorted array in blocks
+         *
+         * @param array sorted array, which is not kept
+         * @return sorted sequence of the array
+         * */
+        static SortedBlocks of(@NotNull Entity[] array) {
+            int count = (array.length + BLOCK - 1) / BLOCK;
+            Entity[][] blocks = new Entity[count][];
+            int[] ends = new int[count];
+            for (int i = 0; i < count; i++) {
+                int from = i * BLOCK;
+                ends[i] = Math.min(from + BLOCK, array.length);
+                blocks[i] = Arrays.copyOfRange(array, from, ends[i]);
+            }
+            return new SortedBlocks(blocks, ends);
+        }
+
+        /**
+         * This method is used to get number of children in this sequence
+         *
+         * @return number of children
+         * */
+        int size() {
+            return this.ends.length == 0 ? 0 : this.ends[this.ends.length - 1];
+        }
+
+        /**
+         * This method is used to get child at a given position
+         *
+         * @param index position of the child
+         * @return child at the position
+         * */
+        Entity get(int index) {
+            int block = this.blockOf(index);
+            return this.blocks[block][block == 0 ? index : index - this.ends[block - 1]];
+        }
+
+        /**
+         * This method is used to get sequence with given children put in their places
+         *
+         * @param added children to be put, reordered in place
+         * @param comparator order of this sequence
+         * @return new sequence
+         * */
+        SortedBlocks insertAll(@NotNull Entity[] added, @NotNull Comparator<Entity> comparator) {
+            if (added.length > MERGE_THRESHOLD) return of(this.merge(added, comparator));
+
+            SortedBlocks next = this;
+            for (Entity content : added) next = next.insert(content, comparator);
+            return next;
+        }
+
+        /**
+         * This method is used to get sequence without a given child. The child is looked for by binary search,
+         * and by a scan of every block if its sort key changed since it was put in.
+         *
+         * @param content child to be left out, compared by identity
+         * @param comparator order of this sequence
+         * @return new sequence, or this one if the child is not in it
+         * */
+        SortedBlocks remove(@NotNull Entity content, @NotNull Comparator<Entity> comparator) {
+            int index = this.indexOf(content, comparator);
+            if (index < 0) return this;
+
+            int block = this.blockOf(index);
+            Entity[] array = this.blocks[block];
+            int offset = block == 0 ? index : index - this.ends[block - 1];
+            if (array.length == 1) return this.withoutBlock(block);
+
+            Entity[] copy = new Entity[array.length - 1];
+            System.arraycopy(array, 0, copy, 0, offset);
+            System.arraycopy(array, offset + 1, copy, offset, array.length - offset - 1);
+            Entity[][] blocks = this.blocks.clone();
+            blocks[block] = copy;
+            int[] ends = this.ends.clone();
+            for (int i = block; i < ends.length; i++) ends[i]--;
+            return new SortedBlocks(blocks, ends);
+        }
+
+        /**
+         * This method is a utility method used to get sequence with a given child put in its place by binary search,
+         * splitting the block it goes in when it grows too big
+         *
+         * @param content child to be put
+         * @param comparator order of this sequence
+         * @return new sequence
+         * */
+        private SortedBlocks insert(@NotNull Entity content, @NotNull Comparator<Entity> comparator) {
+            if (this.blocks.length == 0) return new SortedBlocks(new Entity[][]{{content}}, new int[]{1});
+
+            /* The child goes in the last block which first child is not after it */
+            int low = 0, high = this.blocks.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (comparator.compare(this.blocks[middle][0], content) <= 0) low = middle;
+                else high = middle - 1;
+            }
+            int block = low;
+
+            Entity[] array = this.blocks[block];
+            int offset = Arrays.binarySearch(array, content, comparator);
+            if (offset < 0) offset = -offset - 1;
+            Entity[] copy = new Entity[array.length + 1];
+            System.arraycopy(array, 0, copy, 0, offset);
+            copy[offset] = content;
+            System.arraycopy(array, offset, copy, offset + 1, array.length - offset);
+
+            if (copy.length <= MAX_BLOCK) {
+                Entity[][] blocks = this.blocks.clone();
+                blocks[block] = copy;
+                int[] ends = this.ends.clone();
+                for (int i = block; i < ends.length; i++) ends[i]++;
+                return new SortedBlocks(blocks, ends);
+            }
+
+            /* Full block is split in two halves */
+            int half = copy.length >>> 1;
+            Entity[][] blocks = new Entity[this.blocks.length + 1][];
+            int[] ends = new int[this.ends.length + 1];
+            System.arraycopy(this.blocks, 0, blocks, 0, block);
+            System.arraycopy(this.ends, 0, ends, 0, block);
+            blocks[block] = Arrays.copyOfRange(copy, 0, half);
+            blocks[block + 1] = Arrays.copyOfRange(copy, half, copy.length);
+            ends[block] = (block == 0 ? 0 : this.ends[block - 1]) + half;
+            ends[block + 1] = this.ends[block] + 1;
+            System.arraycopy(this.blocks, block + 1, blocks, block + 2, this.blocks.length - block - 1);
+            for (int i = block + 1; i < this.ends.length; i++) ends[i + 1] = this.ends[i] + 1;
+            return new SortedBlocks(blocks, ends);
+        }
+
+        /**
+         * This method is a utility method used to get sequence without a block
+         *
+         * @param block index of the block
+         * @return new sequence
+         * */
+        private SortedBlocks withoutBlock(int block) {
+            int removed = this.blocks[block].length;
+            Entity[][] blocks = new Entity[this.blocks.length - 1][];
+            int[] ends = new int[this.ends.length - 1];
+            System.arraycopy(this.blocks, 0, blocks, 0, block);
+            System.arraycopy(this.ends, 0, ends, 0, block);
+            System.arraycopy(this.blocks, block + 1, blocks, block, blocks.length - block);
+            for (int i = block; i < ends.length; i++) ends[i] = this.ends[i + 1] - removed;
+            return new SortedBlocks(blocks, ends);
+        }
+
+        /**
+         * This method is a utility method used to find position of a child, by binary search first
+         * and by a scan of every block when its sort key changed since it was put in
+         *
+         * @param content child to be found, compared by identity
+         * @param comparator order of this sequence
+         * @return position of the child, or -1 if it is not in this sequence
+         * */
+        private int indexOf(@NotNull Entity content, @NotNull Comparator<Entity> comparator) {
+            int size = this.size();
+            int low = 0, high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(this.get(middle), content) < 0) low = middle + 1;
+                else high = middle;
+            }
+            for (int i = low; i < size; i++) {
+                Entity found = this.get(i);
+                if (found == content) return i;
+                if (comparator.compare(found, content) != 0) break;
+            }
+
+            int index = 0;
+            for (Entity[] array : this.blocks) {
+                for (Entity found : array) {
+                    if (found == content) return index;
+                    index++;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * This method is a utility method used to find the block holding a given position
+         *
+         * @param index position of a child
+         * @return index of the block
+         * */
+        private int blockOf(int index) {
+            int low = 0, high = this.ends.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.ends[middle] <= index) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * This method is a utility method used to merge given children with this sequence into one sorted array
+         *
+         * @param added children to be merged, reordered in place
+         * @param comparator order of this sequence
+         * @return new sorted array
+         * */
+        private Entity[] merge(@NotNull Entity[] added, @NotNull Comparator<Entity> comparator) {
+            Arrays.sort(added, comparator);
+            Entity[] copy = new Entity[this.size() + added.length];
+            int j = 0, k = 0;
+            for (Entity[] array : this.blocks) {
+                for (Entity content : array) {
+                    while (j < added.length && comparator.compare(added[j], content) < 0) copy[k++] = added[j++];
+                    copy[k++] = content;
+                }
+            }
+            while (j < added.length) copy[k++] = added[j++];
+            return copy;
+        }
+    }
+
+    /**
+     * This class represents unmodifiable list over a sorted sequence of children
+     * */
+    private static final class BlockList extends AbstractList<Entity> implements RandomAccess {
+
+        /** This field represents sorted sequence of children */
+        private final SortedBlocks blocks;
+
+        /** This field represents number of children in the list */
+        private final int size;
+
+        /** This field represents whether the list goes from the last child of the sequence to the first */
+        private final boolean reversed;
+
+        BlockList(SortedBlocks blocks, boolean reversed) {
+            this.blocks = blocks;
+            this.size = blocks.size();
+            this.reversed = reversed;
+        }
+
+        @Override
+        public Entity get(int index) {
+            if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            return this.blocks.get(this.reversed ? this.size - 1 - index : index);
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
+    /**
+     * This class represents absolute path of a folder along with the epoch it was built in
+     * */
+    private static class PathCache {
+
+        /** This field represents value of {@link #PATH_EPOCH} when the path was built */
+        private final int epoch;
+
+        /** This field represents absolute path of the folder */
+        private final String path;
+
+        PathCache(int epoch, String path) {
+            this.epoch = epoch;
+            this.path = path;
+        }
+    }
 }
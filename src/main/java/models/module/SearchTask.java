@@ -0,0 +1,141 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class represents fork join task that searches entities in the subtree of a folder.
+ * Every subfolder with at least {@link #THRESHOLD} entities in its subtree is searched
+ * by a forked task, smaller ones are searched sequentially by the current task.
+ * Results of the forked tasks are merged in the order of the folder contents,
+ * so the result is the same as sequential pre-order search.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+class SearchTask extends RecursiveTask<ArrayList<Entity>> {
+
+    /** This field represents version of this class for serialization */
+    private static final long serialVersionUID = 1L;
+
+    /** This field represents minimum number of entities in a subtree to be searched by a forked task */
+    static final int THRESHOLD = 10_000;
+
+    /** This field represents folder which subtree to be searched */
+    private final Folder folder;
+
+    /** This field represents search keyword in lower case */
+    private final String key;
+
+    /**
+     * This constructor will create new search task over a given folder
+     *
+     * @param folder folder which subtree to be searched
+     * @param key search keyword in lower case
+     * */
+    SearchTask(@NotNull Folder folder, @NotNull String key) {
+        this.folder = folder;
+        this.key = key;
+    }
+
+    @Override
+    protected ArrayList<Entity> compute() {
+        ArrayList<Entity> result = new ArrayList<>();
+
+        /* Small subtree is not worth splitting */
+        if (this.folder.getTotalContents() < THRESHOLD) {
+            Folder.searchUtil(result, this.folder, this.key);
+            return result;
+        }
+
+        /*
+         * Each segment is either a list of matches, a forked task, or a nested list of segments
+         * of the first big subfolder, which is searched by this task in the next iteration
+         * instead of being forked, so a long chain of big folders does not nest joins.
+         */
+        Segments segments = new Segments();
+        Segments level = segments;
+        Folder folder = this.folder;
+
+        while (folder != null) {
+            Folder next = null;
+            Segments nextLevel = null;
+            ArrayList<Entity> current = new ArrayList<>();
+
+            for (Entity content : folder.getContents()) {
+                if (content.getName().trim().toLowerCase().contains(this.key)) {
+                    current.add(content);
+                }
+
+                if (content instanceof Folder) {
+                    Folder child = (Folder) content;
+                    if (child.getTotalContents() < THRESHOLD) {
+                        Folder.searchUtil(current, child, this.key);
+                        continue;
+                    }
+
+                    level.add(current);
+                    current = new ArrayList<>();
+                    if (next == null) {
+                        next = child;
+                        nextLevel = new Segments();
+                        level.add(nextLevel);
+                    } else {
+                        SearchTask task = new SearchTask(child, this.key);
+                        task.fork();
+                        level.add(task);
+                    }
+                }
+            }
+            level.add(current);
+
+            folder = next;
+            level = nextLevel;
+        }
+
+        this.merge(result, segments);
+        return result;
+    }
+
+    /**
+     * This method is a utility method used to merge segments back in contents order,
+     * joining forked tasks and flattening nested segments without recursion
+     *
+     * @param result list where the matches to be merged to
+     * @param segments segments of this task
+     * */
+    @SuppressWarnings("unchecked")
+    private void merge(@NotNull ArrayList<Entity> result, @NotNull Segments segments) {
+        ArrayDeque<Iterator<Object>> stack = new ArrayDeque<>();
+        stack.push(segments.iterator());
+
+        while (!stack.isEmpty()) {
+            Iterator<Object> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+
+            Object segment = iterator.next();
+            if (segment instanceof SearchTask) result.addAll(((SearchTask) segment).join());
+            else if (segment instanceof Segments) stack.push(((Segments) segment).iterator());
+            else {
+                result.addAll((ArrayList<Entity>) segment);
+            }
+        }
+    }
+
+    /**
+     * This class represents ordered segments of search result of a folder
+     * */
+    private static final class Segments extends ArrayList<Object> {
+
+        /** This field represents version of this class for serialization */
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,50 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+import java.util.Comparator;
+
+/**
+ * This enum represents order of entities in a folder listing.
+ * Every order compares precomputed fields of the entities only, so comparing never allocates,
+ * and entities in the same folder are never equal in any order.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public enum SortOrder {
+
+    /** Order by name, then extension, ignoring case */
+    NAME(Comparator.comparing(Entity::getSortKey).thenComparing(Entity::getType)),
+
+    /** Order of folders before files, each by name */
+    TYPE(Comparator.comparing(Entity::getType).thenComparing(Entity::getSortKey)),
+
+    /** Order by created time, then by name */
+    CREATED(Comparator.comparingLong(Entity::getCreatedTime).thenComparing(NAME.comparator)),
+
+    /** Order by updated time, then by name */
+    UPDATED(Comparator.comparingLong(Entity::getUpdatedTime).thenComparing(NAME.comparator));
+
+    /** This field represents comparator of entities in this order */
+    private final Comparator<Entity> comparator;
+
+    /**
+     * This constructor will create new order
+     *
+     * @param comparator comparator of entities in this order
+     * */
+    SortOrder(@NotNull Comparator<Entity> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * This method is used to get comparator of entities in this order, ascending
+     *
+     * @return field {@link #comparator}
+     * */
+    public Comparator<Entity> comparator() {
+        return this.comparator;
+    }
+}
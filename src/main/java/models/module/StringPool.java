@@ -0,0 +1,56 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+/**
+ * This class represents shared pool of strings, so equal names and extensions
+ * held by many entities are stored only once.
+ * <p>
+ * The pool is a fixed size table where every string has a single slot chosen by its hash.
+ * A string is replaced when another one lands on its slot, so the pool never grows
+ * and never keeps a removed entity's name alive, while frequent strings stay pooled.
+ * Slots are read and written without locking. That is safe because strings are immutable,
+ * and a lost write only means a string is not shared.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class StringPool {
+
+    /** This field represents shared pool of entity names */
+    public static final StringPool NAMES = new StringPool(1 << 16);
+
+    /** This field represents shared dictionary of file extensions */
+    public static final StringPool EXTENSIONS = new StringPool(1 << 10);
+
+    /** This field represents slots of pooled strings */
+    private final String[] slots;
+
+    /**
+     * This constructor will create new pool with a given number of slots
+     *
+     * @param capacity number of slots, must be a power of two
+     * */
+    private StringPool(int capacity) {
+        this.slots = new String[capacity];
+    }
+
+    /**
+     * This method is used to get the pooled string equal to a given one,
+     * pooling the given one if there is none
+     *
+     * @param value string to be pooled
+     * @return pooled string equal to the given one
+     * */
+    public String intern(@NotNull String value) {
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (this.slots.length - 1);
+
+        String pooled = this.slots[slot];
+        if (pooled != null && pooled.equals(value)) return pooled;
+
+        this.slots[slot] = value;
+        return value;
+    }
+}
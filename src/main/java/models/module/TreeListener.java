@@ -0,0 +1,83 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+/**
+ * This interface represents listener of structural changes in the file tree.
+ * Listener is registered to a {@link Folder} and notified of every change
+ * happening in the whole subtree of that folder.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public interface TreeListener {
+
+    /**
+     * This method is called after an entity, along with its whole subtree, is added to a folder
+     *
+     * @param parent folder the entity is added to
+     * @param content added entity
+     * */
+    void onAdded(@NotNull Folder parent, @NotNull Entity content);
+
+    /**
+     * This method is called after an entity, along with its whole subtree, is removed from a folder
+     *
+     * @param parent folder the entity is removed from
+     * @param content removed entity
+     * */
+    void onRemoved(@NotNull Folder parent, @NotNull Entity content);
+
+    /**
+     * This method is called after an entity is renamed
+     *
+     * @param content renamed entity
+     * @param oldName name of the entity before it is renamed
+     * */
+    void onRenamed(@NotNull Entity content, @NotNull String oldName);
+
+    /**
+     * This method is called after extension or size of a file is changed.
+     * The structure of the tree does not change, so by default nothing is done.
+     *
+     * @param content changed file
+     * @param oldExtension extension of the file before it is changed
+     * @param oldSize size of the file in bytes before it is changed
+     * */
+    default void onChanged(@NotNull File content, @NotNull String oldExtension, long oldSize) {}
+
+    /**
+     * This method is called after an entity, along with its whole subtree, is moved from a folder to another.
+     * By default it is reported as removed from the old folder and added to the new one.
+     *
+     * @param oldParent folder the entity is moved from
+     * @param newParent folder the entity is moved to
+     * @param content moved entity
+     * */
+    default void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        this.onRemoved(oldParent, content);
+        this.onAdded(newParent, content);
+    }
+
+    /**
+     * This method is called after a copy of an entity is added to a folder. Contents of a copied folder
+     * may not be in memory until they are needed, the same as a lazily loaded folder.
+     * By default it is reported as added.
+     *
+     * @param parent folder the copy is added to
+     * @param copy added copy
+     * @param source entity the copy is made of
+     * */
+    default void onCopied(@NotNull Folder parent, @NotNull Entity copy, @NotNull Entity source) {
+        this.onAdded(parent, copy);
+    }
+
+    /**
+     * This method is called after contents of a lazily loaded folder are loaded.
+     * Loaded contents were already part of the tree, so they are not reported as added.
+     *
+     * @param folder folder which direct children are loaded
+     * */
+    default void onLoaded(@NotNull Folder folder) {}
+}
@@ -0,0 +1,403 @@
+package main.java.models.module;
+
+import com.sun.istack.internal.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents transaction of structural changes in the file tree, which are applied all together or not at all.
+ * <p>
+ * Changes are only recorded until the transaction is committed. On commit every folder changed by the transaction
+ * is held, so no other thread changes it, and the whole batch is checked against the tree first, in one pass keeping
+ * the keys taken in every changed folder, so a conflicting change leaves the tree untouched. Changes are then applied
+ * in the order they were recorded, and listeners are notified of each one the same as for a single change.
+ * Subtree figures are updated once for every affected folder at the end, instead of up the ancestors
+ * for every change, and sorted orders of a changed folder are sorted once instead of kept for every change.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeTransaction {
+
+    /** This field is a helper for type of a recorded change */
+    private enum TYPE {
+        ADD,
+        REMOVE,
+        RENAME
+    }
+
+    /** This field represents recorded changes, in the order they are applied */
+    private final ArrayList<Change> changes;
+
+    /** This field represents state of this transaction, whether it is committed */
+    private boolean committed;
+
+    /**
+     * This constructor will create new empty transaction
+     * */
+    public TreeTransaction() {
+        this.changes = new ArrayList<>();
+    }
+
+    /**
+     * This method is used to record adding an entity, which is not in any folder, to a folder
+     *
+     * @param parent folder the entity is added to
+     * @param content entity to be added
+     * */
+    public void add(@NotNull Folder parent, @NotNull Entity content) {
+        this.record(new Change(TYPE.ADD, content, parent, null));
+    }
+
+    /**
+     * This method is used to record removing an entity from its folder
+     *
+     * @param content entity to be removed
+     * */
+    public void remove(@NotNull Entity content) {
+        this.record(new Change(TYPE.REMOVE, content, null, null));
+    }
+
+    /**
+     * This method is used to record renaming an entity
+     *
+     * @param content entity to be renamed
+     * @param name new name of the entity
+     * */
+    public void rename(@NotNull Entity content, @NotNull String name) {
+        this.record(new Change(TYPE.RENAME, content, null, name));
+    }
+
+    /**
+     * This method is used to get number of recorded changes
+     *
+     * @return size of field {@link #changes}
+     * */
+    public int size() {
+        return this.changes.size();
+    }
+
+    /**
+     * This method is used to apply every recorded change to the file tree
+     *
+     * @throws IllegalStateException if the transaction is already committed, or a change conflicts with the tree
+     *                               or an earlier change, in which case nothing is applied
+     * */
+    public void commit() {
+        if (this.committed) throw new IllegalStateException("Transaction is already committed");
+        this.committed = true;
+        if (this.changes.isEmpty()) return;
+
+        /* Parents may change before they are held, then the folders are collected again */
+        while (true) {
+            ArrayList<Folder> folders = this.collectFolders();
+            for (Folder folder : folders) folder.ensureLoaded();
+
+            synchronized (Folder.MOVES) {
+                if (this.holdAndCommit(folders)) return;
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to record a change
+     *
+     * @param change change to be recorded
+     * */
+    private void record(@NotNull Change change) {
+        if (this.committed) throw new IllegalStateException("Transaction is already committed");
+        this.changes.add(change);
+    }
+
+    /**
+     * This method is a utility method used to collect every folder which children may be changed
+     *
+     * @return list of folders, every folder once
+     * */
+    private ArrayList<Folder> collectFolders() {
+        Set<Folder> folders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Change change : this.changes) {
+            Folder folder = change.type == TYPE.ADD ? change.parent : change.content.parent;
+            if (folder != null) folders.add(folder);
+        }
+        return new ArrayList<>(folders);
+    }
+
+    /**
+     * This method is a utility method used to hold the given folders one by one, then check and apply every change.
+     * Folders are held by {@link Folder#hold()} instead of their monitors, so any number of them takes no stack.
+     *
+     * @param folders folders to be held
+     * @return true if the changes are applied, false if a parent changed before it is held
+     * */
+    private boolean holdAndCommit(@NotNull List<Folder> folders) {
+        int held = 0;
+        try {
+            for (Folder folder : folders) {
+                folder.hold();
+                held++;
+            }
+
+            Set<Folder> holding = Collections.newSetFromMap(new IdentityHashMap<>());
+            holding.addAll(folders);
+            for (Change change : this.changes) {
+                Folder parent = change.content.parent;
+                if (change.type != TYPE.ADD && parent != null && !holding.contains(parent)) return false;
+            }
+
+            /* Parents and figures stay as checked until every change is applied */
+            synchronized (Folder.FIGURES) {
+                this.check();
+                this.apply();
+            }
+            return true;
+        } finally {
+            for (int i = 0; i < held; i++) folders.get(i).release();
+        }
+    }
+
+    /**
+     * This method is a utility method used to check every change against the tree as earlier changes leave it,
+     * without changing the tree
+     *
+     * @throws IllegalStateException if a change conflicts with the tree or an earlier change
+     * */
+    private void check() {
+        IdentityHashMap<Entity, Folder> parents = new IdentityHashMap<>();
+        IdentityHashMap<Entity, String> names = new IdentityHashMap<>();
+        IdentityHashMap<Folder, HashMap<String, Entity>> taken = new IdentityHashMap<>();
+
+        for (Change change : this.changes) {
+            Entity content = change.content;
+            Folder parent = parentOf(parents, content);
+            String name = names.containsKey(content) ? names.get(content) : content.getName();
+
+            switch (change.type) {
+                case ADD:
+                    if (parent != null) throw conflict(change, "it is already in a folder");
+                    for (Folder folder = change.parent; content.type == Entity.TYPE.FOLDER && folder != null;
+                         folder = parentOf(parents, folder)) {
+                        if (folder == content) throw conflict(change, "the folder would be inside itself");
+                    }
+                    if (takenBy(taken, change.parent, content, name) != null) throw conflict(change, "the name is taken");
+                    take(taken, change.parent, content, name, content);
+                    parents.put(content, change.parent);
+                    break;
+                case REMOVE:
+                    if (parent == null) throw conflict(change, "it is not in a folder");
+                    take(taken, parent, content, name, null);
+                    parents.put(content, null);
+                    break;
+                case RENAME:
+                    if (parent != null) {
+                        take(taken, parent, content, name, null);
+                        if (takenBy(taken, parent, content, change.name) != null) throw conflict(change, "the name is taken");
+                        take(taken, parent, content, change.name, content);
+                    }
+                    names.put(content, change.name);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to apply every checked change. Subtree figures are updated at the end,
+     * from the figures every moved entity had before the transaction, along the ancestors the folders have after it.
+     * Figures and sorted orders are updated even if a listener throws, so they always match the changes applied.
+     * */
+    private void apply() {
+        IdentityHashMap<Entity, Folder> oldParents = new IdentityHashMap<>();
+        IdentityHashMap<Folder, List<SortOrder>> orders = new IdentityHashMap<>();
+
+        try {
+            for (Change change : this.changes) {
+                Entity content = change.content;
+                Folder folder = change.type == TYPE.ADD ? change.parent : content.parent;
+                if (folder != null && !orders.containsKey(folder)) orders.put(folder, folder.dropOrders());
+                if (change.type != TYPE.RENAME && !oldParents.containsKey(content)) oldParents.put(content, content.parent);
+
+                switch (change.type) {
+                    case ADD:
+                        change.parent.attachContent(content);
+                        break;
+                    case REMOVE:
+                        content.parent.detachContent(content);
+                        break;
+                    case RENAME:
+                        content.setName(change.name);
+                        break;
+                }
+            }
+        } finally {
+            this.updateFigures(oldParents);
+            for (Map.Entry<Folder, List<SortOrder>> entry : orders.entrySet()) entry.getKey().restoreOrders(entry.getValue());
+        }
+    }
+
+    /**
+     * This method is a utility method used to update subtree figures of every folder affected by the applied changes
+     *
+     * @param oldParents parent every added or removed entity had before the transaction
+     * */
+    private void updateFigures(@NotNull IdentityHashMap<Entity, Folder> oldParents) {
+        /* Figures of every moved entity are taken from the folders it left and given to the one it ends in */
+        IdentityHashMap<Folder, long[]> changed = new IdentityHashMap<>();
+        for (Map.Entry<Entity, Folder> entry : oldParents.entrySet()) {
+            Entity content = entry.getKey();
+            Folder oldParent = entry.getValue();
+            if (oldParent == content.parent) continue;
+
+            long[] figures = figuresOf(content);
+            if (oldParent != null) addFigures(changed, oldParent, figures, -1);
+            if (content.parent != null) addFigures(changed, content.parent, figures, 1);
+        }
+
+        /* Every affected ancestor is updated once with the sum of the changes below it */
+        IdentityHashMap<Folder, long[]> totals = new IdentityHashMap<>();
+        for (Map.Entry<Folder, long[]> entry : changed.entrySet()) {
+            for (Folder folder = entry.getKey(); folder != null; folder = folder.parent) {
+                addFigures(totals, folder, entry.getValue(), 1);
+            }
+        }
+        for (Map.Entry<Folder, long[]> entry : totals.entrySet()) {
+            long[] figures = entry.getValue();
+            entry.getKey().addTotals((int) figures[0], (int) figures[1], figures[2]);
+        }
+    }
+
+    /**
+     * This method is a utility method used to get parent of an entity as earlier changes leave it
+     *
+     * @param parents parents of entities added or removed by earlier changes
+     * @param content entity
+     * @return parent folder, or null if there is none
+     * */
+    private static Folder parentOf(@NotNull IdentityHashMap<Entity, Folder> parents, @NotNull Entity content) {
+        return parents.containsKey(content) ? parents.get(content) : content.parent;
+    }
+
+    /**
+     * This method is a utility method used to get the entity holding the key an entity would have
+     * with a given name in a folder, as earlier changes leave it
+     *
+     * @param taken keys taken or freed by earlier changes in every folder, freed keys map to null
+     * @param folder folder to be looked in
+     * @param content entity which key is looked up
+     * @param name name of the entity
+     * @return entity holding the key, or null if the key is free
+     * */
+    private static Entity takenBy(@NotNull IdentityHashMap<Folder, HashMap<String, Entity>> taken, @NotNull Folder folder,
+                                  @NotNull Entity content, @NotNull String name) {
+        String key = keyOf(content, name);
+        HashMap<String, Entity> keys = taken.get(folder);
+        if (keys != null && keys.containsKey(key)) return keys.get(key);
+        return folder.getIndexed(content.type, key.substring(1));
+    }
+
+    /**
+     * This method is a utility method used to take or free the key an entity has with a given name in a folder
+     *
+     * @param taken keys taken or freed by earlier changes in every folder, freed keys map to null
+     * @param folder folder the key belongs to
+     * @param content entity which key is taken or freed
+     * @param name name of the entity
+     * @param holder entity taking the key, or null to free it
+     * */
+    private static void take(@NotNull IdentityHashMap<Folder, HashMap<String, Entity>> taken, @NotNull Folder folder,
+                             @NotNull Entity content, @NotNull String name, Entity holder) {
+        taken.computeIfAbsent(folder, key -> new HashMap<>()).put(keyOf(content, name), holder);
+    }
+
+    /**
+     * This method is a utility method used to get key of an entity with a given name, the same as {@link Entity#getKey()},
+     * preceded by its type as folders and files are indexed apart
+     *
+     * @param content entity
+     * @param name name of the entity
+     * @return key of the entity
+     * */
+    private static String keyOf(@NotNull Entity content, @NotNull String name) {
+        if (content.type == Entity.TYPE.FOLDER) return "0" + name.toLowerCase();
+        return "1" + (name + "." + ((File) content).getExtension()).toLowerCase();
+    }
+
+    /**
+     * This method is a utility method used to get subtree figures of an entity, including the entity itself
+     *
+     * @param content entity
+     * @return number of folders, number of files and size in bytes
+     * */
+    private static long[] figuresOf(@NotNull Entity content) {
+        if (content.type == Entity.TYPE.FOLDER) {
+            Folder folder = (Folder) content;
+            return new long[]{folder.getTotalFolders() + 1, folder.getTotalFiles(), folder.getTotalSize()};
+        }
+        return new long[]{0, 1, ((File) content).getSize()};
+    }
+
+    /**
+     * This method is a utility method used to add figures to the sum kept for a folder
+     *
+     * @param sums sums of figures of every folder
+     * @param folder folder which sum is added to
+     * @param figures figures to be added
+     * @param sign 1 to add the figures, -1 to subtract them
+     * */
+    private static void addFigures(@NotNull IdentityHashMap<Folder, long[]> sums, @NotNull Folder folder,
+                                   @NotNull long[] figures, int sign) {
+        long[] sum = sums.computeIfAbsent(folder, key -> new long[3]);
+        for (int i = 0; i < sum.length; i++) sum[i] += sign * figures[i];
+    }
+
+    /**
+     * This method is a utility method used to create the exception thrown for a conflicting change
+     *
+     * @param change conflicting change
+     * @param reason why the change conflicts
+     * @return exception to be thrown
+     * */
+    private static IllegalStateException conflict(@NotNull Change change, @NotNull String reason) {
+        return new IllegalStateException("Can not " + change.type.name().toLowerCase() + " "
+                + change.content.getName() + ", " + reason);
+    }
+
+    /**
+     * This class represents a single recorded change
+     * */
+    private static final class Change {
+
+        /** This field represents type of the change */
+        private final TYPE type;
+
+        /** This field represents changed entity */
+        private final Entity content;
+
+        /** This field represents folder an entity is added to */
+        private final Folder parent;
+
+        /** This field represents new name of a renamed entity */
+        private final String name;
+
+        /**
+         * This constructor will create new change
+         *
+         * @param type type of the change
+         * @param content changed entity
+         * @param parent folder an entity is added to, null for other changes
+         * @param name new name of a renamed entity, null for other changes
+         * */
+        Change(TYPE type, Entity content, Folder parent, String name) {
+            this.type = type;
+            this.content = content;
+            this.parent = parent;
+            this.name = name;
+        }
+    }
+}
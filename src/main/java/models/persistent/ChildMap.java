@@ -0,0 +1,171 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * This class represents persistent map of the children of a folder, ordered by key.
+ * <p>
+ * The map is a treap which priorities come from the hash of the keys, so its shape
+ * only depends on its keys. A node is never changed once it is created: putting or
+ * removing a key copies the nodes on the way to the key and shares every other node
+ * with the previous map, so both maps stay usable and a change costs O(log n).
+ * The empty map is null.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+final class ChildMap {
+
+    /** This field represents key of this node */
+    private final String key;
+
+    /** This field represents value of this node */
+    private final PersistentEntity value;
+
+    /** This field represents priority of this node, higher than the priority of its children */
+    private final int priority;
+
+    /** This field represents map of the keys lower than the key of this node */
+    private final ChildMap left;
+
+    /** This field represents map of the keys higher than the key of this node */
+    private final ChildMap right;
+
+    /**
+     * This constructor will create new node
+     *
+     * @param key key of the node
+     * @param value value of the node
+     * @param priority priority of the node
+     * @param left map of the lower keys
+     * @param right map of the higher keys
+     * */
+    private ChildMap(String key, PersistentEntity value, int priority, ChildMap left, ChildMap right) {
+        this.key = key;
+        this.value = value;
+        this.priority = priority;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * This method is used to get value of a key in a map
+     *
+     * @param map map to be looked up, may be null
+     * @param key key to be looked up
+     * @return value of the key, or null if there is none
+     * */
+    static PersistentEntity get(ChildMap map, @NotNull String key) {
+        while (map != null) {
+            int comparison = key.compareTo(map.key);
+            if (comparison == 0) return map.value;
+            map = comparison < 0 ? map.left : map.right;
+        }
+        return null;
+    }
+
+    /**
+     * This method is used to get map with a key set to a value
+     *
+     * @param map map to be changed, may be null
+     * @param key key to be set
+     * @param value value of the key
+     * @return new map sharing every untouched node with the given one
+     * */
+    static ChildMap put(ChildMap map, @NotNull String key, @NotNull PersistentEntity value) {
+        if (map == null) return new ChildMap(key, value, priorityOf(key), null, null);
+
+        int comparison = key.compareTo(map.key);
+        if (comparison == 0) return new ChildMap(key, value, map.priority, map.left, map.right);
+
+        if (comparison < 0) {
+            ChildMap left = put(map.left, key, value);
+            if (left.priority > map.priority) {
+                /* Rotate right, so the new node goes above this one */
+                return new ChildMap(left.key, left.value, left.priority, left.left,
+                        new ChildMap(map.key, map.value, map.priority, left.right, map.right));
+            }
+            return new ChildMap(map.key, map.value, map.priority, left, map.right);
+        }
+
+        ChildMap right = put(map.right, key, value);
+        if (right.priority > map.priority) {
+            /* Rotate left, so the new node goes above this one */
+            return new ChildMap(right.key, right.value, right.priority,
+                    new ChildMap(map.key, map.value, map.priority, map.left, right.left), right.right);
+        }
+        return new ChildMap(map.key, map.value, map.priority, map.left, right);
+    }
+
+    /**
+     * This method is used to get map without a key
+     *
+     * @param map map to be changed, may be null
+     * @param key key to be removed
+     * @return new map sharing every untouched node with the given one, the same map if the key is not in it
+     * */
+    static ChildMap remove(ChildMap map, @NotNull String key) {
+        if (map == null) return null;
+
+        int comparison = key.compareTo(map.key);
+        if (comparison == 0) return merge(map.left, map.right);
+        if (comparison < 0) {
+            ChildMap left = remove(map.left, key);
+            return left == map.left ? map : new ChildMap(map.key, map.value, map.priority, left, map.right);
+        }
+        ChildMap right = remove(map.right, key);
+        return right == map.right ? map : new ChildMap(map.key, map.value, map.priority, map.left, right);
+    }
+
+    /**
+     * This method is used to visit every value of a map in key order
+     *
+     * @param map map to be visited, may be null
+     * @param action action applied to every value
+     * */
+    static void forEach(ChildMap map, @NotNull Consumer<PersistentEntity> action) {
+        ArrayDeque<ChildMap> stack = new ArrayDeque<>();
+        while (map != null || !stack.isEmpty()) {
+            while (map != null) {
+                stack.push(map);
+                map = map.left;
+            }
+            map = stack.pop();
+            action.accept(map.value);
+            map = map.right;
+        }
+    }
+
+    /**
+     * This method is a utility method used to merge two maps, where every key of the first
+     * is lower than every key of the second
+     *
+     * @param lower map of the lower keys, may be null
+     * @param higher map of the higher keys, may be null
+     * @return merged map
+     * */
+    private static ChildMap merge(ChildMap lower, ChildMap higher) {
+        if (lower == null) return higher;
+        if (higher == null) return lower;
+        if (lower.priority > higher.priority) {
+            return new ChildMap(lower.key, lower.value, lower.priority, lower.left, merge(lower.right, higher));
+        }
+        return new ChildMap(higher.key, higher.value, higher.priority, merge(lower, higher.left), higher.right);
+    }
+
+    /**
+     * This method is a utility method used to derive priority of a key from its hash,
+     * mixed so similar keys get unrelated priorities
+     *
+     * @param key key of a node
+     * @return priority of the node
+     * */
+    private static int priorityOf(@NotNull String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,147 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+/**
+ * This abstract class represents immutable copy of an {@link Entity} as it was at one version
+ * of the file tree. Persistent entity could be a {@link PersistentFolder} or a {@link PersistentFile}.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public abstract class PersistentEntity {
+
+    /** This field represents entity of the live file tree this entity is copied from */
+    private final Entity source;
+
+    /** This field represents name of this entity */
+    private final String name;
+
+    /** This field represents when this entity is created, in milliseconds since the epoch */
+    private final long createdTime;
+
+    /** This field represents when last time this entity updated, in milliseconds since the epoch */
+    private final long updatedTime;
+
+    /**
+     * This constructor will create new persistent entity
+     *
+     * @param source entity this entity is copied from
+     * @param name name of this entity
+     * @param createdTime time when this entity is created, in milliseconds since the epoch
+     * @param updatedTime time when this entity is updated for the last time, in milliseconds since the epoch
+     * */
+    PersistentEntity(@NotNull Entity source, @NotNull String name, long createdTime, long updatedTime) {
+        this.source = source;
+        this.name = name;
+        this.createdTime = createdTime;
+        this.updatedTime = updatedTime;
+    }
+
+    /**
+     * This method is used to copy an entity of the live tree, along with its whole loaded subtree
+     *
+     * @param entity entity to be copied
+     * @return persistent copy of the entity
+     * */
+    public static PersistentEntity copyOf(@NotNull Entity entity) {
+        if (entity instanceof Folder) return PersistentFolder.copyOf((Folder) entity);
+        return PersistentFile.copyOf((File) entity);
+    }
+
+    /**
+     * This method is used to get entity of the live file tree this entity is copied from,
+     * which may have changed since
+     *
+     * @return field {@link #source}
+     * */
+    public Entity getSource() {
+        return this.source;
+    }
+
+    /**
+     * This method is used to get name of this entity
+     *
+     * @return field {@link #name}
+     * */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * This method is used to get when this entity is created
+     *
+     * @return field {@link #createdTime}
+     * */
+    public long getCreatedTime() {
+        return this.createdTime;
+    }
+
+    /**
+     * This method is used to get when last time this entity updated
+     *
+     * @return field {@link #updatedTime}
+     * */
+    public long getUpdatedTime() {
+        return this.updatedTime;
+    }
+
+    /**
+     * This method is used to get key of this entity, the same as {@link Entity#getKey()}
+     *
+     * @return lower case key of this entity
+     * */
+    public abstract String getKey();
+
+    /**
+     * This method is used to get key of this entity among all children of its folder,
+     * which puts folders before files
+     *
+     * @return key of this entity in the children of its folder
+     * */
+    abstract String getChildKey();
+
+    /**
+     * This method is used to create a new entity of the live tree with the content of this one.
+     * A folder is created with the figures of this one, and its contents are created
+     * from this version the first time they are needed, so creating it costs the same
+     * whatever the size of its subtree.
+     *
+     * @param name name of the new entity
+     * @return new entity which is not in any folder yet
+     * */
+    public abstract Entity materialize(@NotNull String name);
+
+    /**
+     * This method is used to get copy of this entity with a new name
+     *
+     * @param name new name
+     * @param updatedTime time when the entity is renamed, in milliseconds since the epoch
+     * @return renamed copy of this entity
+     * */
+    abstract PersistentEntity renamed(@NotNull String name, long updatedTime);
+
+    /**
+     * This method is a utility method used to get key of a folder among all children of its folder
+     *
+     * @param key key of the folder
+     * @return key of the folder in the children of its folder
+     * */
+    static String folderKey(@NotNull String key) {
+        return "0" + key;
+    }
+
+    /**
+     * This method is a utility method used to get key of a file among all children of its folder
+     *
+     * @param key key of the file
+     * @return key of the file in the children of its folder
+     * */
+    static String fileKey(@NotNull String key) {
+        return "1" + key;
+    }
+}
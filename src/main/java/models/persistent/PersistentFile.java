@@ -0,0 +1,93 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.File;
+
+/**
+ * This class represents immutable copy of a {@link File} as it was at one version of the file tree
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class PersistentFile extends PersistentEntity {
+
+    /** This field represents extension of this file */
+    private final String extension;
+
+    /** This field represents size of this file in bytes */
+    private final long size;
+
+    /**
+     * This constructor will create new persistent file
+     *
+     * @param source file this file is copied from
+     * @param name name of this file
+     * @param extension extension of this file
+     * @param size size of this file in bytes
+     * @param createdTime time when this file is created, in milliseconds since the epoch
+     * @param updatedTime time when this file is updated for the last time, in milliseconds since the epoch
+     * */
+    private PersistentFile(@NotNull File source, @NotNull String name, @NotNull String extension, long size,
+                           long createdTime, long updatedTime) {
+        super(source, name, createdTime, updatedTime);
+        this.extension = extension;
+        this.size = size;
+    }
+
+    /**
+     * This method is used to copy a file of the live file tree
+     *
+     * @param file file to be copied
+     * @return persistent copy of the file
+     * */
+    static PersistentFile copyOf(@NotNull File file) {
+        return new PersistentFile(file, file.getName(), file.getExtension(), file.getSize(),
+                file.getCreatedTime(), file.getUpdatedTime());
+    }
+
+    /**
+     * This method is used to get extension of this file
+     *
+     * @return field {@link #extension}
+     * */
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * This method is used to get size of this file in bytes
+     *
+     * @return field {@link #size}
+     * */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * This method is used to get key of this file which is
+     * its name and extension in lower case, separated by a dot
+     *
+     * @return lower case key of this file
+     * */
+    @Override
+    public String getKey() {
+        return (this.getName() + "." + this.extension).toLowerCase();
+    }
+
+    @Override
+    public File materialize(@NotNull String name) {
+        return new File(name, this.extension, this.size, this.getCreatedTime(), this.getUpdatedTime());
+    }
+
+    @Override
+    String getChildKey() {
+        return fileKey(this.getKey());
+    }
+
+    @Override
+    PersistentFile renamed(@NotNull String name, long updatedTime) {
+        return new PersistentFile((File) this.getSource(), name, this.extension, this.size,
+                this.getCreatedTime(), updatedTime);
+    }
+}
@@ -0,0 +1,398 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.ContentLoader;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * This class represents immutable copy of a {@link Folder} as it was at one version of the file tree.
+ * <p>
+ * A change never touches an existing folder, it returns a new folder instead which shares
+ * every unchanged child, so a new version of the tree only copies the folders on the path
+ * from the root to the change. Figures of the subtree are kept the same way as in {@link Folder}.
+ * Folder which contents were not loaded yet in the live tree keeps its figures and loader but no children.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public final class PersistentFolder extends PersistentEntity {
+
+    /** This field represents children of this folder, folders before files and each ordered by key */
+    private final ChildMap children;
+
+    /** This field represents whether contents of the folder were loaded when it is copied */
+    private final boolean loaded;
+
+    /** This field represents loader of the contents of the folder which were not loaded, null if they were */
+    private final ContentLoader loader;
+
+    /** This field represents number of direct child folders */
+    private final int nFolders;
+
+    /** This field represents number of direct child files */
+    private final int nFiles;
+
+    /** This field represents number of folders in the whole subtree of this folder */
+    private final int totalFolders;
+
+    /** This field represents number of files in the whole subtree of this folder */
+    private final int totalFiles;
+
+    /** This field represents total size in bytes of files in the whole subtree of this folder */
+    private final long totalSize;
+
+    /**
+     * This constructor will create new persistent folder
+     *
+     * @param source folder this folder is copied from
+     * @param name name of this folder
+     * @param createdTime time when this folder is created, in milliseconds since the epoch
+     * @param updatedTime time when this folder is updated for the last time, in milliseconds since the epoch
+     * @param children children of this folder
+     * @param loaded whether contents of the folder were loaded
+     * @param loader loader of the contents which were not loaded
+     * @param figures number of direct child folders and files, then number of folders and files in the subtree
+     * @param totalSize total size in bytes of files in the subtree
+     * */
+    private PersistentFolder(@NotNull Entity source, @NotNull String name, long createdTime, long updatedTime,
+                             ChildMap children, boolean loaded, ContentLoader loader, int[] figures, long totalSize) {
+        super(source, name, createdTime, updatedTime);
+        this.children = children;
+        this.loaded = loaded;
+        this.loader = loader;
+        this.nFolders = figures[0];
+        this.nFiles = figures[1];
+        this.totalFolders = figures[2];
+        this.totalFiles = figures[3];
+        this.totalSize = totalSize;
+    }
+
+    /**
+     * This method is used to copy the loaded part of the subtree of a folder of the live tree.
+     * Folders are copied bottom up with an explicit stack, so deep trees do not overflow the call stack,
+     * and contents are read from snapshots without taking any lock. Folder which contents are not loaded
+     * is copied along with its loader as soon as it is found.
+     *
+     * @param folder folder to be copied
+     * @return persistent copy of the folder
+     * */
+    public static PersistentFolder copyOf(@NotNull Folder folder) {
+        IdentityHashMap<Folder, PersistentFolder> copies = new IdentityHashMap<>();
+        ArrayDeque<Folder> stack = new ArrayDeque<>();
+        ArrayList<Folder> order = new ArrayList<>();
+        stack.push(folder);
+        while (!stack.isEmpty()) {
+            Folder temp = stack.pop();
+            ContentLoader loader = temp.getLoader();
+            if (loader != null) {
+                int[] figures = {temp.getnFolders(), temp.getnFiles(), temp.getTotalFolders(), temp.getTotalFiles()};
+                copies.put(temp, new PersistentFolder(temp, temp.getName(), temp.getCreatedTime(), temp.getUpdatedTime(),
+                        null, false, loader, figures, temp.getTotalSize()));
+                continue;
+            }
+
+            /* Contents being loaded by another thread are waited for */
+            if (!temp.isLoaded()) temp.getContents();
+            order.add(temp);
+            for (Entity content : temp.getLoadedContents()) {
+                if (content instanceof Folder) stack.push((Folder) content);
+            }
+        }
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Folder temp = order.get(i);
+            copies.put(temp, copyUtil(temp, copies));
+        }
+        return copies.get(folder);
+    }
+
+    /**
+     * This method is a utility method used to copy a loaded folder which child folders are already copied
+     *
+     * @param folder folder to be copied
+     * @param copies copies of child folders, which are taken out once used
+     * @return persistent copy of the folder
+     * */
+    private static PersistentFolder copyUtil(@NotNull Folder folder, @NotNull IdentityHashMap<Folder, PersistentFolder> copies) {
+        ChildMap children = null;
+        int[] figures = new int[4];
+        long totalSize = 0;
+        for (Entity content : folder.getLoadedContents()) {
+            PersistentEntity child = content instanceof Folder
+                    ? copies.remove(content)
+                    : PersistentFile.copyOf((File) content);
+            if (child == null) continue;
+
+            children = ChildMap.put(children, child.getChildKey(), child);
+            totalSize += count(figures, child, 1);
+        }
+        return new PersistentFolder(folder, folder.getName(), folder.getCreatedTime(), folder.getUpdatedTime(),
+                children, true, null, figures, totalSize);
+    }
+
+    /**
+     * This method is used to get copy of this folder with a child put in it,
+     * replacing the child with the same key if there is one
+     *
+     * @param child child to be put
+     * @return changed copy of this folder
+     * */
+    PersistentFolder put(@NotNull PersistentEntity child) {
+        String key = child.getChildKey();
+        PersistentEntity replaced = ChildMap.get(this.children, key);
+        int[] figures = this.getFigures();
+        long totalSize = this.totalSize + count(figures, child, 1);
+        if (replaced != null) totalSize += count(figures, replaced, -1);
+
+        return new PersistentFolder(this.getSource(), this.getName(), this.getCreatedTime(), this.getUpdatedTime(),
+                ChildMap.put(this.children, key, child), this.loaded, this.loader, figures, totalSize);
+    }
+
+    /**
+     * This method is used to get copy of this folder without a child
+     *
+     * @param childKey key of the child among children of this folder
+     * @return changed copy of this folder, or this folder if there is no such child
+     * */
+    PersistentFolder remove(@NotNull String childKey) {
+        PersistentEntity removed = ChildMap.get(this.children, childKey);
+        if (removed == null) return this;
+
+        int[] figures = this.getFigures();
+        long totalSize = this.totalSize + count(figures, removed, -1);
+        return new PersistentFolder(this.getSource(), this.getName(), this.getCreatedTime(), this.getUpdatedTime(),
+                ChildMap.remove(this.children, childKey), this.loaded, this.loader, figures, totalSize);
+    }
+
+    /**
+     * This method is used to get child of this folder by its key among children of this folder
+     *
+     * @param childKey key of the child among children of this folder
+     * @return child entity, or null if there is none
+     * */
+    PersistentEntity getByChildKey(@NotNull String childKey) {
+        return ChildMap.get(this.children, childKey);
+    }
+
+    @Override
+    PersistentFolder renamed(@NotNull String name, long updatedTime) {
+        return new PersistentFolder(this.getSource(), name, this.getCreatedTime(), updatedTime,
+                this.children, this.loaded, this.loader, this.getFigures(), this.totalSize);
+    }
+
+    /**
+     * This method is used to create a new folder of the live tree with the content of this one.
+     * Contents are created from this version when they are needed, or loaded by the same loader
+     * when they were not loaded in this version.
+     *
+     * @param name name of the new folder
+     * @return new folder which is not in any folder yet
+     * */
+    @Override
+    public Folder materialize(@NotNull String name) {
+        Folder folder = new Folder(name, this.getCreatedTime(), this.getUpdatedTime());
+        if (this.loaded && this.children == null) return folder;
+
+        folder.setLoader(this.loaded ? new SnapshotLoader(this) : this.loader,
+                this.nFolders, this.nFiles, this.totalFolders, this.totalFiles, this.totalSize);
+        return folder;
+    }
+
+    /**
+     * This method is used to get child of this folder by a given name,
+     * looking for a folder first and then a file, the same as {@link Folder#getChild(String)}
+     *
+     * @param name name of a folder, or name and extension of a file separated by a dot
+     * @return child entity, or null if there is none
+     * */
+    public PersistentEntity getChild(@NotNull String name) {
+        String key = name.toLowerCase();
+        PersistentEntity child = ChildMap.get(this.children, folderKey(key));
+        return child != null ? child : ChildMap.get(this.children, fileKey(key));
+    }
+
+    /**
+     * This method is used to get child folder of this folder by a given name
+     *
+     * @param name name of the folder
+     * @return child folder, or null if there is none
+     * */
+    public PersistentFolder getFolder(@NotNull String name) {
+        return (PersistentFolder) ChildMap.get(this.children, folderKey(name.toLowerCase()));
+    }
+
+    /**
+     * This method is used to get contents of this folder, folders before files and each ordered by key
+     *
+     * @return new list of children of this folder
+     * */
+    public List<PersistentEntity> getContents() {
+        ArrayList<PersistentEntity> contents = new ArrayList<>(this.nFolders + this.nFiles);
+        ChildMap.forEach(this.children, contents::add);
+        return contents;
+    }
+
+    /**
+     * This method is used to search entities in this folder by a given name as a keyword.
+     * This version of the tree never changes, so a long search sees the tree as it was
+     * when the search started. Folders which contents were not loaded are not searched.
+     *
+     * @param key search keyword
+     * @return list of entities that meet requirement, in pre-order
+     * */
+    public ArrayList<PersistentEntity> search(@NotNull String key) {
+        ArrayList<PersistentEntity> result = new ArrayList<>();
+        this.forEachMatch(key, result::add);
+        return result;
+    }
+
+    /**
+     * This method is used to visit every entity in this folder which name contains a given keyword,
+     * in pre-order, until the given action asks to stop. Folders which contents were not loaded are not visited.
+     *
+     * @param key search keyword
+     * @param action action applied to every matching entity, returns false to stop visiting
+     * @return true if the whole subtree is visited, false if it is stopped by the action
+     * */
+    public boolean forEachMatch(@NotNull String key, @NotNull Predicate<PersistentEntity> action) {
+        String lowerKey = key.toLowerCase();
+        ArrayDeque<PersistentEntity> stack = new ArrayDeque<>();
+        pushContents(stack, this);
+
+        while (!stack.isEmpty()) {
+            PersistentEntity content = stack.pop();
+            if (content.getName().trim().toLowerCase().contains(lowerKey) && !action.test(content)) return false;
+            if (content instanceof PersistentFolder) pushContents(stack, (PersistentFolder) content);
+        }
+        return true;
+    }
+
+    /**
+     * This method is a utility method used to push contents of a given folder
+     * to a stack in reverse order, so they are popped in the original order
+     *
+     * @param stack stack of entities to be visited
+     * @param folder folder which contents to be pushed
+     * */
+    private static void pushContents(@NotNull ArrayDeque<PersistentEntity> stack, @NotNull PersistentFolder folder) {
+        List<PersistentEntity> contents = folder.getContents();
+        for (int i = contents.size() - 1; i >= 0; i--) stack.push(contents.get(i));
+    }
+
+    /**
+     * This method is used to get state of contents of this folder, whether they were loaded when it is copied
+     *
+     * @return field {@link #loaded}
+     * */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * This method is used to get number of direct child files
+     *
+     * @return field {@link #nFiles}
+     * */
+    public int getnFiles() {
+        return this.nFiles;
+    }
+
+    /**
+     * This method is used to get number of direct child folders
+     *
+     * @return field {@link #nFolders}
+     * */
+    public int getnFolders() {
+        return this.nFolders;
+    }
+
+    /**
+     * This method is used to get number of files in the whole subtree of this folder
+     *
+     * @return field {@link #totalFiles}
+     * */
+    public int getTotalFiles() {
+        return this.totalFiles;
+    }
+
+    /**
+     * This method is used to get number of folders in the whole subtree of this folder
+     *
+     * @return field {@link #totalFolders}
+     * */
+    public int getTotalFolders() {
+        return this.totalFolders;
+    }
+
+    /**
+     * This method is used to get total size in bytes of files in the whole subtree of this folder
+     *
+     * @return field {@link #totalSize}
+     * */
+    public long getTotalSize() {
+        return this.totalSize;
+    }
+
+    /**
+     * This method is used to get number of all entities in the whole subtree of this folder
+     *
+     * @return sum of field {@link #totalFolders} and {@link #totalFiles}
+     * */
+    public int getTotalContents() {
+        return this.totalFolders + this.totalFiles;
+    }
+
+    /**
+     * This method is used to get key of this folder which is its name in lower case
+     *
+     * @return lower case key of this folder
+     * */
+    @Override
+    public String getKey() {
+        return this.getName().toLowerCase();
+    }
+
+    @Override
+    String getChildKey() {
+        return folderKey(this.getKey());
+    }
+
+    /**
+     * This method is a utility method used to get the count figures of this folder
+     *
+     * @return new array of number of direct child folders and files, then number of folders and files in the subtree
+     * */
+    private int[] getFigures() {
+        return new int[]{this.nFolders, this.nFiles, this.totalFolders, this.totalFiles};
+    }
+
+    /**
+     * This method is a utility method used to count a child in or out of the figures of its folder
+     *
+     * @param figures count figures of the folder, changed in place
+     * @param child child to be counted
+     * @param sign 1 to count the child in, -1 to count it out
+     * @return change of total size in bytes
+     * */
+    private static long count(@NotNull int[] figures, @NotNull PersistentEntity child, int sign) {
+        if (child instanceof PersistentFolder) {
+            PersistentFolder folder = (PersistentFolder) child;
+            figures[0] += sign;
+            figures[2] += sign * (folder.totalFolders + 1);
+            figures[3] += sign * folder.totalFiles;
+            return sign * folder.totalSize;
+        }
+        figures[1] += sign;
+        figures[3] += sign;
+        return sign * ((PersistentFile) child).getSize();
+    }
+}
@@ -0,0 +1,35 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.ContentLoader;
+import main.java.models.module.Folder;
+
+/**
+ * This class represents loader of the contents of a folder from a version of the tree which never changes,
+ * so a copy of a folder shares the version until its contents are needed
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+class SnapshotLoader implements ContentLoader {
+
+    /** This field represents version of the folder which contents are loaded */
+    private final PersistentFolder snapshot;
+
+    /**
+     * This constructor will create new loader of the contents of a given version of a folder
+     *
+     * @param snapshot version of the folder
+     * */
+    SnapshotLoader(@NotNull PersistentFolder snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void load(@NotNull Folder folder) {
+        for (PersistentEntity content : this.snapshot.getContents()) {
+            folder.loadContent(content.materialize(content.getName()));
+        }
+    }
+}
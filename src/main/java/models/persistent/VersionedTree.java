@@ -0,0 +1,291 @@
+package main.java.models.persistent;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+
+import java.util.ArrayDeque;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class represents persistent copy of a live file tree which follows every change of it.
+ * <p>
+ * Every change makes a new version of the tree by copying only the folders from the root
+ * down to the changed folder and sharing everything else with the previous version,
+ * so a snapshot is just the root of the current version and stays valid forever.
+ * Changes are applied one at a time. When the copy can not be matched with the live tree,
+ * e.g. a folder renamed by another thread before its rename is applied here,
+ * it is marked stale and the loaded part of the live tree is copied again by the next read,
+ * so a change never pays for copying the whole tree.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class VersionedTree implements TreeListener {
+
+    /** This field represents root folder of the live tree */
+    private final Folder root;
+
+    /** This field represents root of the current version */
+    private volatile PersistentFolder current;
+
+    /** This field represents number of versions made since this tree is attached */
+    private volatile long version;
+
+    /** This field represents state of the current version, true if it missed a change and must be copied again */
+    private volatile boolean stale;
+
+    /**
+     * This constructor will create new versioned tree which is not attached yet
+     *
+     * @param root root folder of the live tree
+     * */
+    private VersionedTree(@NotNull Folder root) {
+        this.root = root;
+    }
+
+    /**
+     * This method is used to copy a live tree and follow its changes from now on.
+     * The listener is registered before the tree is copied, so no change is missed in between,
+     * and changes reported meanwhile wait until the copy is done.
+     *
+     * @param root root folder of the live tree
+     * @return versioned tree following the live tree
+     * */
+    public static VersionedTree attach(@NotNull Folder root) {
+        VersionedTree tree = new VersionedTree(root);
+        synchronized (tree) {
+            root.addTreeListener(tree);
+            tree.current = PersistentFolder.copyOf(root);
+        }
+        return tree;
+    }
+
+    /**
+     * This method is used to get snapshot of the live tree as it is now, which never changes.
+     * The live tree is copied again first if the current version missed a change.
+     *
+     * @return field {@link #current}
+     * */
+    public PersistentFolder snapshot() {
+        if (!this.stale) return this.current;
+        synchronized (this) {
+            this.refresh();
+            return this.current;
+        }
+    }
+
+    /**
+     * This method is used to get number of versions made since this tree is attached
+     *
+     * @return field {@link #version}
+     * */
+    public long getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        this.update(parent, folder -> folder.put(PersistentEntity.copyOf(content)));
+    }
+
+    @Override
+    public synchronized void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        if (this.stale) return;
+        String key = childKey(content);
+        PersistentEntity[] moved = new PersistentEntity[1];
+
+        /* Both folders are changed in the same version, so no version has the entity in both or in neither */
+        PersistentFolder removed = this.change(this.current, oldParent, folder -> {
+            moved[0] = folder.getByChildKey(key);
+            return moved[0] == null ? null : folder.remove(key);
+        });
+        PersistentFolder changed = removed == null ? null : this.change(removed, newParent, folder -> folder.put(moved[0]));
+        if (changed == null) {
+            this.stale = true;
+            return;
+        }
+        this.current = changed;
+        this.version++;
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        String key = childKey(content);
+        this.update(parent, folder -> folder.remove(key));
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        Folder parent = content.getParent();
+        if (parent == null) {
+            if (content == this.root) this.update(this.root, folder -> folder.renamed(content.getName(), content.getUpdatedTime()));
+            return;
+        }
+
+        String key = content instanceof Folder
+                ? PersistentEntity.folderKey(oldName.toLowerCase())
+                : PersistentEntity.fileKey((oldName + "." + ((File) content).getExtension()).toLowerCase());
+        this.update(parent, folder -> {
+            PersistentEntity renamed = folder.getByChildKey(key);
+            if (renamed == null) return null;
+            return folder.remove(key).put(renamed.renamed(content.getName(), content.getUpdatedTime()));
+        });
+    }
+
+    @Override
+    public void onChanged(@NotNull File content, @NotNull String oldExtension, long oldSize) {
+        Folder parent = content.getParent();
+        if (parent == null) return;
+
+        String key = PersistentEntity.fileKey((content.getName() + "." + oldExtension).toLowerCase());
+        this.update(parent, folder -> {
+            if (folder.getByChildKey(key) == null) return null;
+            return folder.remove(key).put(PersistentFile.copyOf(content));
+        });
+    }
+
+    @Override
+    public void onLoaded(@NotNull Folder folder) {
+        Folder parent = folder.getParent();
+        if (parent == null) {
+            if (folder == this.root) this.update(this.root, temp -> PersistentFolder.copyOf(folder));
+            return;
+        }
+        this.update(parent, temp -> temp.put(PersistentFolder.copyOf(folder)));
+    }
+
+    /**
+     * This method is used to find the copy of an entity of the live tree in the current version.
+     * The copy is found by the names of its folders, so it is looked for again
+     * in a fresh copy of the live tree if a folder was renamed meanwhile.
+     *
+     * @param entity entity of the live tree
+     * @return copy of the entity in the current version, or null if the entity is not in the tree
+     * */
+    public synchronized PersistentEntity find(@NotNull Entity entity) {
+        if (!this.isAttached(entity) && entity != this.root) return null;
+        this.refresh();
+        if (entity == this.root) return this.current;
+
+        PersistentEntity found = this.findUtil(entity);
+        if (found != null) return found;
+        this.rebuild();
+        return this.findUtil(entity);
+    }
+
+    /**
+     * This method is a utility method used to find the copy of an entity which is not the root in the current version
+     *
+     * @param entity entity of the live tree
+     * @return copy of the entity, or null if it is not found
+     * */
+    private PersistentEntity findUtil(@NotNull Entity entity) {
+        ArrayDeque<Folder> chain = entity.getDirectory();
+        chain.pollFirst();
+
+        PersistentFolder folder = this.current;
+        for (Folder temp : chain) {
+            folder = folder.getFolder(temp.getName());
+            if (folder == null) return null;
+        }
+        PersistentEntity found = folder.getByChildKey(childKey(entity));
+        return found != null && found.getSource() == entity ? found : null;
+    }
+
+    /**
+     * This method is a utility method used to check if an entity is in the live tree
+     *
+     * @param entity entity of the live tree
+     * @return true if the root is an ancestor of the entity, else false
+     * */
+    private boolean isAttached(@NotNull Entity entity) {
+        Folder folder = entity.getParent();
+        while (folder != null && folder != this.root) folder = folder.getParent();
+        return folder == this.root;
+    }
+
+    /**
+     * This method is a utility method used to make a new version by changing a copied folder
+     * and copying its ancestors up to the root
+     *
+     * @param target live folder which copy is changed
+     * @param change change of the copied folder, returns null when it can not be applied
+     * */
+    private synchronized void update(@NotNull Folder target, @NotNull UnaryOperator<PersistentFolder> change) {
+        /* A stale version is copied again as a whole on the next read, so the change is not applied to it */
+        if (this.stale || target != this.root && !this.isAttached(target)) return;
+
+        PersistentFolder changed = this.change(this.current, target, change);
+        if (changed == null) {
+            this.stale = true;
+            return;
+        }
+        this.current = changed;
+        this.version++;
+    }
+
+    /**
+     * This method is a utility method used to change a copied folder of a version
+     * and copy its ancestors up to the root
+     *
+     * @param base root of the version to be changed
+     * @param target live folder which copy is changed
+     * @param change change of the copied folder, returns null when it can not be applied
+     * @return root of the changed version, or null if the folder is not found or can not be changed
+     * */
+    private PersistentFolder change(@NotNull PersistentFolder base, @NotNull Folder target,
+                                    @NotNull UnaryOperator<PersistentFolder> change) {
+        ArrayDeque<Folder> chain = target.getDirectory();
+        chain.addLast(target);
+        chain.pollFirst();
+
+        /* Find copies of the folders from the root down to the target */
+        PersistentFolder[] path = new PersistentFolder[chain.size() + 1];
+        path[0] = base;
+        int depth = 0;
+        for (Folder folder : chain) {
+            PersistentFolder next = path[depth].getFolder(folder.getName());
+            if (next == null) return null;
+            path[++depth] = next;
+        }
+
+        PersistentFolder changed = change.apply(path[depth]);
+        if (changed == null) return null;
+        while (depth > 0) changed = path[--depth].put(changed);
+        return changed;
+    }
+
+    /**
+     * This method is a utility method used to get key of an entity of the live tree among children of its folder
+     *
+     * @param entity entity of the live tree
+     * @return key of the entity among children of its folder
+     * */
+    private static String childKey(@NotNull Entity entity) {
+        return entity instanceof Folder
+                ? PersistentEntity.folderKey(entity.getKey())
+                : PersistentEntity.fileKey(entity.getKey());
+    }
+
+    /**
+     * This method is a utility method used to copy the live tree again if the current version missed a change.
+     * It must be called while holding the monitor of this tree.
+     * */
+    private void refresh() {
+        if (this.stale) this.rebuild();
+    }
+
+    /**
+     * This method is a utility method used to make a new version by copying the live tree again.
+     * It must be called while holding the monitor of this tree.
+     * */
+    private void rebuild() {
+        this.current = PersistentFolder.copyOf(this.root);
+        this.stale = false;
+        this.version++;
+    }
+}
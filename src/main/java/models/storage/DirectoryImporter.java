@@ -0,0 +1,248 @@
+package main.java.models.storage;
+
+import com.sun.istack.internal.NotNull;
+import com.sun.istack.internal.Nullable;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * This class represents importer of a real directory tree into folders and files.
+ * <p>
+ * Every directory is listed by its own fork/join task, so subdirectories are read in parallel.
+ * A folder is filled with a single bulk insert once all of its subdirectories are imported,
+ * so every folder is only touched by one thread and the imported tree is built bottom-up
+ * without ever being attached to a tree in use.
+ * <p>
+ * Keys of folders and files are case insensitive, so of entries which names differ only in case,
+ * e.g. on a case sensitive file system, only the first one listed is imported and the others are reported.
+ * Directories are read by blocking calls, so by default every import runs in a pool of its own
+ * instead of the common pool shared with searches.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class DirectoryImporter {
+
+    /** This field represents number of imported entities between two progress reports */
+    public static final int PROGRESS_STEP = 1024;
+
+    /** This field represents pool the import tasks run in, or null if every import creates its own */
+    private final ForkJoinPool pool;
+
+    /** This field represents receiver of the number of entities imported so far, may be null */
+    private final LongConsumer onProgress;
+
+    /** This field represents number of entities imported so far */
+    private final AtomicLong imported;
+
+    /** This field represents number of directories which could not be read */
+    private final AtomicLong skipped;
+
+    /** This field represents paths which were not imported because another entry in their directory has the same key */
+    private final ConcurrentLinkedQueue<Path> duplicates;
+
+    /**
+     * This constructor will create new importer running every import in a pool of its own
+     *
+     * @param onProgress receiver of the number of entities imported so far, called from the import threads
+     * */
+    public DirectoryImporter(@Nullable LongConsumer onProgress) {
+        this(null, onProgress);
+    }
+
+    /**
+     * This constructor will create new importer running in a given pool
+     *
+     * @param pool pool the import tasks run in, or null to run every import in a pool of its own
+     * @param onProgress receiver of the number of entities imported so far, called from the import threads
+     * */
+    public DirectoryImporter(@Nullable ForkJoinPool pool, @Nullable LongConsumer onProgress) {
+        this.pool = pool;
+        this.onProgress = onProgress;
+        this.imported = new AtomicLong();
+        this.skipped = new AtomicLong();
+        this.duplicates = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * This method is used to import a real directory along with its whole subtree.
+     * Symbolic links are not followed.
+     *
+     * @param directory path of the directory
+     * @return new detached folder holding the imported subtree
+     * @throws IOException if the directory itself can not be read
+     * */
+    public Folder importDirectory(@NotNull Path directory) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(directory, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attributes.isDirectory()) throw new IOException("Not a directory: " + directory);
+
+        Path fileName = directory.getFileName();
+        Folder folder = createFolder(fileName == null ? directory.toString() : fileName.toString(), attributes);
+        if (this.pool != null) {
+            this.pool.invoke(new ImportTask(directory, folder));
+        } else {
+            ForkJoinPool own = new ForkJoinPool();
+            try {
+                own.invoke(new ImportTask(directory, folder));
+            } finally {
+                own.shutdown();
+            }
+        }
+
+        if (this.onProgress != null) this.onProgress.accept(this.imported.get());
+        return folder;
+    }
+
+    /**
+     * This method is used to get number of entities imported so far
+     *
+     * @return number of imported entities
+     * */
+    public long getImported() {
+        return this.imported.get();
+    }
+
+    /**
+     * This method is used to get number of directories which could not be read and were imported empty
+     *
+     * @return number of skipped directories
+     * */
+    public long getSkipped() {
+        return this.skipped.get();
+    }
+
+    /**
+     * This method is used to get paths of entries which were not imported because another entry
+     * in the same directory has a name differing only in case
+     *
+     * @return list of skipped paths
+     * */
+    public List<Path> getDuplicates() {
+        return new ArrayList<>(this.duplicates);
+    }
+
+    /**
+     * This method is a utility method used to count imported entities and report the progress
+     * every time it crosses a multiple of {@link #PROGRESS_STEP}
+     *
+     * @param count number of newly imported entities
+     * */
+    private void addImported(int count) {
+        long total = this.imported.addAndGet(count);
+        if (this.onProgress != null && total / PROGRESS_STEP != (total - count) / PROGRESS_STEP) {
+            this.onProgress.accept(total);
+        }
+    }
+
+    /**
+     * This method is a utility method used to create a folder with real timestamps
+     *
+     * @param name name of the folder
+     * @param attributes attributes of the directory
+     * @return new folder
+     * */
+    private static Folder createFolder(@NotNull String name, @NotNull BasicFileAttributes attributes) {
+        return new Folder(name, attributes.creationTime().toMillis(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * This method is a utility method used to create a file with real timestamps and size.
+     * The name is split at its last dot, unless the dot leads the name as in hidden files.
+     *
+     * @param fileName full name of the file
+     * @param attributes attributes of the file
+     * @return new file
+     * */
+    private static File createFile(@NotNull String fileName, @NotNull BasicFileAttributes attributes) {
+        int dot = fileName.lastIndexOf('.');
+        String name = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot + 1) : "";
+        return new File(name, extension, attributes.size(),
+                attributes.creationTime().toMillis(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * This class represents task of importing a single directory,
+     * which forks a task for every subdirectory and fills its folder once they are done
+     * */
+    private class ImportTask extends RecursiveAction {
+
+        /** This field represents version of this class for serialization */
+        private static final long serialVersionUID = 1L;
+
+        /** This field represents path of the directory */
+        private final Path directory;
+
+        /** This field represents folder the directory is imported into */
+        private final Folder folder;
+
+        /**
+         * This constructor will create new task importing a directory into a folder
+         *
+         * @param directory path of the directory
+         * @param folder folder the directory is imported into
+         * */
+        ImportTask(Path directory, Folder folder) {
+            this.directory = directory;
+            this.folder = folder;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayList<Entity> contents = new ArrayList<>();
+            ArrayList<Path> paths = new ArrayList<>();
+            ArrayList<ImportTask> subtasks = new ArrayList<>();
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        continue;
+                    }
+
+                    String name = path.getFileName().toString();
+                    paths.add(path);
+                    if (attributes.isDirectory()) {
+                        Folder child = createFolder(name, attributes);
+                        contents.add(child);
+                        subtasks.add(new ImportTask(path, child));
+                    } else {
+                        contents.add(createFile(name, attributes));
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                skipped.incrementAndGet();
+            }
+
+            invokeAll(subtasks);
+            this.folder.addContents(contents);
+
+            /* Entities whose key is already taken in the folder are skipped by it and left without a parent */
+            int added = 0;
+            for (int i = 0; i < contents.size(); i++) {
+                if (contents.get(i).getParent() == this.folder) added++;
+                else duplicates.add(paths.get(i));
+            }
+            addImported(added);
+        }
+    }
+}
@@ -0,0 +1,724 @@
+package main.java.models.storage;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+import main.java.models.module.TreeListener;
+import main.java.models.persistent.PersistentEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * This class represents append-only journal of changes in the file tree, kept next to a {@link TreeStore}.
+ * <p>
+ * Every change is encoded on the thread it happens on and handed to a writer thread,
+ * which appends every pending record and forces them to disk at once, so many changes
+ * share a single sync. The journal is split into numbered segments. Once a segment is full,
+ * it is folded into the storage file in the background, from a private copy of the tree
+ * which only loads the folders the segment changes, and deleted afterwards.
+ * On start up the segments not yet folded are replayed over the tree
+ * loaded from the storage file, up to the last complete record.
+ * Segments are numbered on from the sequence kept in the storage file, so a segment written
+ * after a checkpoint is never mistaken for one already folded into it. Segments left behind
+ * by a crash right after a checkpoint are older than the storage file and deleted on start up,
+ * while segments numbered below the storage file but written after it are still replayed.
+ * <p>
+ * Once a record can not be written, changes are no longer recorded and the failure is reported
+ * to the failure handler, so the application can tell the user instead of silently losing durability.
+ * A failed compaction is reported the same way, while changes keep being recorded
+ * and the segments are folded again by the next compaction or checkpoint.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeJournal implements TreeListener {
+
+    /** This field represents number of records after which a segment is sealed and compacted */
+    public static final int SEGMENT_RECORDS = 10_000;
+
+    /** This field represents operation of adding an entity */
+    private static final byte ADD = 0;
+
+    /** This field represents operation of removing an entity */
+    private static final byte REMOVE = 1;
+
+    /** This field represents operation of renaming an entity */
+    private static final byte RENAME = 2;
+
+    /** This field represents operation of moving an entity to another folder */
+    private static final byte MOVE = 3;
+
+    /** This field represents operation of copying an entity to another folder */
+    private static final byte COPY = 4;
+
+    /** This field represents operation of changing extension or size of a file */
+    private static final byte CHANGE = 5;
+
+    /** This field represents type tag of a folder */
+    private static final byte FOLDER = 0;
+
+    /** This field represents type tag of a file */
+    private static final byte FILE = 1;
+
+    /** This field represents record telling the writer thread to stop */
+    private static final byte[] CLOSE = new byte[0];
+
+    /** This field represents storage file the journal is folded into */
+    private final TreeStore store;
+
+    /** This field represents common prefix of segment file names */
+    private final String prefix;
+
+    /** This field represents records waiting to be written */
+    private final BlockingQueue<byte[]> pending;
+
+    /** This field represents executor which folds sealed segments into the storage file */
+    private final ExecutorService compactor;
+
+    /** This field represents lock held while the storage file is rewritten */
+    private final Object storeLock;
+
+    /** This field represents sequence of the segment being written */
+    private long sequence;
+
+    /** This field represents segments numbered below the storage file but written after it, which are not folded yet */
+    private final Set<Long> orphans;
+
+    /** This field represents thread which writes records, or null if the journal is not open */
+    private Thread writer;
+
+    /** This field represents state of the journal, true if changes are no longer recorded */
+    private volatile boolean closed;
+
+    /** This field represents failure which stopped recording changes, null if there is none */
+    private volatile IOException failure;
+
+    /** This field represents handler notified of every failure, called from the failing thread */
+    private volatile Consumer<IOException> onFailure;
+
+    /** This field represents failure of compaction which happened before a handler is set, null if there is none */
+    private volatile IOException unreported;
+
+    /**
+     * This constructor will create new journal next to a given storage file,
+     * continuing after the last segment found on disk or the sequence kept in the storage file,
+     * whichever is later. Segments already folded into the storage file are deleted.
+     *
+     * @param store storage file the journal is folded into
+     * @throws IOException if the directory of the storage file can not be read
+     *                     or the storage file is not valid
+     * */
+    public TreeJournal(@NotNull TreeStore store) throws IOException {
+        this.store = store;
+        this.prefix = store.getPath().getFileName() + ".journal.";
+        this.pending = new LinkedBlockingQueue<>();
+        this.storeLock = new Object();
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Long> segments = this.listSegments();
+        long stored = store.readSequence();
+        this.sequence = Math.max(segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1, stored);
+        this.orphans = new HashSet<>();
+
+        /* Below the stored sequence, a segment older than the storage file is folded into it already */
+        if (!store.exists()) return;
+        FileTime storedTime = Files.getLastModifiedTime(store.getPath());
+        for (long segment : segments) {
+            if (segment >= stored) break;
+            Path path = this.segmentPath(segment);
+            if (Files.getLastModifiedTime(path).compareTo(storedTime) > 0) this.orphans.add(segment);
+            else Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * This method is used to move a storage file which can not be loaded, along with its journal segments,
+     * to a new directory next to it, so they are kept for recovery and never replayed over another tree.
+     * The storage file is moved last, so it stays in place if a segment can not be moved.
+     *
+     * @param store storage file to be moved
+     * @return directory the files are moved to
+     * @throws IOException if a file can not be moved
+     * */
+    public static Path setAside(@NotNull TreeStore store) throws IOException {
+        Path path = store.getPath();
+        Path aside = path.resolveSibling(path.getFileName() + ".corrupt." + System.currentTimeMillis());
+        Files.createDirectories(aside);
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path.toAbsolutePath().getParent(),
+                path.getFileName() + ".journal.*")) {
+            for (Path segment : stream) Files.move(segment, aside.resolve(segment.getFileName()));
+        }
+        Files.move(path, aside.resolve(path.getFileName()));
+        return aside;
+    }
+
+    /**
+     * This method is used to replay every segment which is not included in the storage file yet
+     * over a given tree, which should be the one loaded from the storage file
+     *
+     * @param root root folder of the tree
+     * @return number of replayed records
+     * @throws IOException if a segment can not be read
+     * */
+    public int replay(@NotNull Folder root) throws IOException {
+        return this.replay(root, this.store.readSequence(), this.sequence);
+    }
+
+    /**
+     * This method is used to start recording changes into a new segment
+     *
+     * @throws IOException if the segment can not be created
+     * */
+    public void open() throws IOException {
+        if (this.writer != null) return;
+
+        FileChannel channel = this.openSegment(this.sequence);
+        this.closed = false;
+        this.writer = new Thread(() -> this.write(channel), "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * This method is used to stop recording changes, waiting until every pending record is on disk
+     * */
+    public void close() {
+        if (this.writer == null) return;
+
+        this.closed = true;
+        this.pending.add(CLOSE);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.writer = null;
+    }
+
+    /**
+     * This method is used to set handler notified once recording changes fails, or a compaction fails.
+     * Failures which happened before are reported to the handler right away.
+     *
+     * @param onFailure handler receiving the failure, called from the failing thread
+     * */
+    public void setOnFailure(@NotNull Consumer<IOException> onFailure) {
+        this.onFailure = onFailure;
+        IOException cause = this.failure;
+        if (cause != null) onFailure.accept(cause);
+
+        IOException compaction = this.unreported;
+        this.unreported = null;
+        if (compaction != null) onFailure.accept(compaction);
+    }
+
+    /**
+     * This method is used to get failure which stopped recording changes
+     *
+     * @return field {@link #failure}, or null if recording never failed
+     * */
+    public IOException getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * This method is used to save a given tree to the storage file and delete every segment
+     * already included in it. It should be called when the journal is not open,
+     * with the tree holding every recorded change.
+     *
+     * @param root root folder of the tree
+     * @throws IOException if the storage file can not be written
+     * */
+    public void checkpoint(@NotNull Folder root) throws IOException {
+        synchronized (this.storeLock) {
+            this.store.save(root, this.sequence);
+            this.deleteSegments(this.sequence);
+            this.orphans.clear();
+        }
+    }
+
+    @Override
+    public void onAdded(@NotNull Folder parent, @NotNull Entity content) {
+        if (this.closed) return;
+
+        /* A folder may be added with contents, so record its subtree in pre-order */
+        ArrayDeque<Entity> stack = new ArrayDeque<>();
+        stack.push(content);
+        while (!stack.isEmpty()) {
+            Entity entity = stack.pop();
+            this.append(ADD, entity.getParent(), entity, null);
+            if (entity instanceof Folder) {
+                List<Entity> contents = ((Folder) entity).getContents();
+                for (int i = contents.size() - 1; i >= 0; i--) stack.push(contents.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void onRemoved(@NotNull Folder parent, @NotNull Entity content) {
+        if (!this.closed) this.append(REMOVE, parent, content, null);
+    }
+
+    @Override
+    public void onRenamed(@NotNull Entity content, @NotNull String oldName) {
+        if (!this.closed) this.append(RENAME, content.getParent(), content, oldName);
+    }
+
+    @Override
+    public void onMoved(@NotNull Folder oldParent, @NotNull Folder newParent, @NotNull Entity content) {
+        if (!this.closed) this.append(MOVE, oldParent, content, null, newParent, null);
+    }
+
+    /**
+     * This method is called after a copy of an entity is added. The copy is recorded as a reference
+     * to its source instead of its subtree, so copying a large folder makes a single small record
+     * and does not load the copy.
+     *
+     * @param parent folder the copy is added to
+     * @param copy new copy
+     * @param source entity the copy is made of
+     * */
+    @Override
+    public void onCopied(@NotNull Folder parent, @NotNull Entity copy, @NotNull Entity source) {
+        if (this.closed) return;
+
+        /* A source removed meanwhile can not be found on replay, so the copy is recorded as added with its subtree */
+        Folder top = parent;
+        while (top.getParent() != null) top = top.getParent();
+        if (source.getParent() == null && source != top) this.onAdded(parent, copy);
+        else this.append(COPY, source.getParent(), source, null, parent, copy.getName());
+    }
+
+    /**
+     * This method is called after extension or size of a file is changed. The file is found
+     * by its old extension on replay, then given the new extension, size and updated time.
+     *
+     * @param content changed file
+     * @param oldExtension extension of the file before it is changed
+     * @param oldSize size of the file in bytes before it is changed
+     * */
+    @Override
+    public void onChanged(@NotNull File content, @NotNull String oldExtension, long oldSize) {
+        if (this.closed || content.getParent() == null) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(CHANGE);
+            writePath(out, content.getParent());
+
+            out.writeByte(FILE);
+            writeString(out, content.getName());
+            writeString(out, oldExtension);
+            writeString(out, content.getExtension());
+            out.writeLong(content.getSize());
+            out.writeLong(content.getUpdatedTime());
+            this.enqueue(bytes.toByteArray());
+        } catch (IOException e) {
+            this.fail(e);
+        }
+    }
+
+    /**
+     * This method is a utility method used to encode a record of an entity which stays in its folder
+     *
+     * @param operation operation of the record
+     * @param parent parent folder of the entity, or null if the entity is the root
+     * @param entity changed entity
+     * @param oldName old name of a renamed entity
+     * */
+    private void append(byte operation, Folder parent, @NotNull Entity entity, String oldName) {
+        this.append(operation, parent, entity, oldName, null, null);
+    }
+
+    /**
+     * This method is a utility method used to encode a record and hand it to the writer thread.
+     * A record is framed by its length and checksum, followed by the operation,
+     * names of the folders from the root to the parent, and the entity.
+     * A moved or copied entity is followed by names of the folders from the root to its destination,
+     * and a copied one by the name of the copy.
+     *
+     * @param operation operation of the record
+     * @param parent parent folder of the entity, or null if the entity is the root
+     * @param entity changed entity
+     * @param oldName old name of a renamed entity
+     * @param destination folder a moved or copied entity is put into
+     * @param copyName name of a copy
+     * */
+    private void append(byte operation, Folder parent, @NotNull Entity entity, String oldName,
+                        Folder destination, String copyName) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(operation);
+            if (parent == null) out.writeInt(-1);
+            else writePath(out, parent);
+
+            out.writeByte(entity instanceof Folder ? FOLDER : FILE);
+            if (operation == ADD) {
+                writeString(out, entity.getName());
+                out.writeLong(entity.getCreatedTime());
+                out.writeLong(entity.getUpdatedTime());
+                if (entity instanceof File) {
+                    writeString(out, ((File) entity).getExtension());
+                    out.writeLong(((File) entity).getSize());
+                }
+            } else {
+                writeString(out, operation == RENAME ? oldName : entity.getName());
+                if (entity instanceof File) writeString(out, ((File) entity).getExtension());
+                if (operation == RENAME) {
+                    writeString(out, entity.getName());
+                    out.writeLong(entity.getUpdatedTime());
+                }
+                if (destination != null) writePath(out, destination);
+                if (operation == COPY) writeString(out, copyName);
+            }
+            this.enqueue(bytes.toByteArray());
+        } catch (IOException e) {
+            this.fail(e);
+        }
+    }
+
+    /**
+     * This method is a utility method used to fill in the frame of an encoded record,
+     * its length and checksum, and hand it to the writer thread
+     *
+     * @param record encoded record, starting with room for its frame
+     * */
+    private void enqueue(@NotNull byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, record.length - 8);
+        ByteBuffer frame = ByteBuffer.wrap(record);
+        frame.putInt(0, record.length - 8);
+        frame.putInt(4, (int) crc.getValue());
+        this.pending.add(record);
+    }
+
+    /**
+     * This method is run by the writer thread. It appends every pending record and forces
+     * them to disk at once, and seals the segment once it is full.
+     *
+     * @param channel channel of the segment being written
+     * */
+    private void write(@NotNull FileChannel channel) {
+        ArrayList<byte[]> batch = new ArrayList<>();
+        int records = 0;
+        boolean running = true;
+
+        try {
+            while (running) {
+                batch.add(this.pending.take());
+                this.pending.drainTo(batch);
+
+                ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+                int count = 0;
+                for (byte[] record : batch) {
+                    if (record == CLOSE) running = false;
+                    else buffers[count++] = ByteBuffer.wrap(record);
+                }
+                batch.clear();
+
+                for (int i = 0; i < count; ) {
+                    channel.write(buffers, i, count - i);
+                    while (i < count && !buffers[i].hasRemaining()) i++;
+                }
+                channel.force(false);
+                records += count;
+
+                if (running && records >= SEGMENT_RECORDS) {
+                    channel.close();
+                    long sealed = this.sequence++;
+                    channel = this.openSegment(this.sequence);
+                    records = 0;
+                    this.compactor.execute(() -> this.compact(sealed + 1));
+                }
+            }
+            channel.close();
+            this.sequence++;
+        } catch (IOException e) {
+            /* The failed segment is left behind, its changes are still in the tree and folded by the next checkpoint */
+            this.sequence++;
+            this.fail(e);
+        } catch (InterruptedException e) {
+            this.closed = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method is a utility method used to stop recording changes after a record can not be written
+     * and report the failure, once
+     *
+     * @param cause failure of writing a record
+     * */
+    private void fail(@NotNull IOException cause) {
+        synchronized (this.pending) {
+            if (this.failure != null) return;
+            this.failure = cause;
+            this.closed = true;
+        }
+
+        /* Without a handler yet, the failure is reported once one is set */
+        Consumer<IOException> handler = this.onFailure;
+        if (handler != null) handler.accept(cause);
+    }
+
+    /**
+     * This method is used to fold every segment before a given sequence into the storage file.
+     * It works on a private copy of the tree lazily loaded from the storage file,
+     * so the tree in use is never touched, and subtrees the segments do not change
+     * are copied to the new storage file without being loaded.
+     *
+     * @param upTo sequence of the first segment not to be folded
+     * */
+    private void compact(long upTo) {
+        synchronized (this.storeLock) {
+            try {
+                long from = this.store.readSequence();
+                if (from >= upTo && this.orphans.isEmpty()) return;
+
+                Folder root = this.store.load(true);
+                this.replay(root, from, upTo);
+                this.store.save(root, upTo);
+                this.deleteSegments(upTo);
+                this.orphans.clear();
+            } catch (IOException e) {
+                /* The segments are kept, so the next compaction or checkpoint folds them again */
+                IOException cause = new IOException("Journal could not be folded into the storage file: " + e.getMessage(), e);
+                Consumer<IOException> handler = this.onFailure;
+                if (handler != null) handler.accept(cause);
+                else this.unreported = cause;
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to replay segments in a given range over a tree,
+     * along with every orphan segment, in the order of their sequence. A segment is replayed up to its first incomplete or corrupted record, which is where
+     * a crash stopped writing it.
+     *
+     * @param root root folder of the tree
+     * @param from sequence of the first segment to be replayed
+     * @param upTo sequence of the first segment not to be replayed
+     * @return number of replayed records
+     * @throws IOException if a segment can not be read
+     * */
+    private int replay(@NotNull Folder root, long from, long upTo) throws IOException {
+        int replayed = 0;
+        for (long segment : this.listSegments()) {
+            if ((segment < from || segment >= upTo) && !this.orphans.contains(segment)) continue;
+
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(this.segmentPath(segment)));
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= 8) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) break;
+
+                crc.reset();
+                crc.update(buffer.array(), buffer.position(), length);
+                if ((int) crc.getValue() != checksum) break;
+
+                ByteBuffer record = buffer.slice();
+                record.limit(length);
+                buffer.position(buffer.position() + length);
+                apply(root, record);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * This method is a utility method used to apply a single record to a tree.
+     * A record which entity can no longer be found is skipped.
+     *
+     * @param root root folder of the tree
+     * @param record record without its frame
+     * */
+    private static void apply(@NotNull Folder root, @NotNull ByteBuffer record) {
+        byte operation = record.get();
+        int depth = record.getInt();
+        Folder parent = readPath(root, record, depth);
+        if (parent == null) return;
+
+        boolean isFolder = record.get() == FOLDER;
+        String name = readString(record);
+        if (operation == ADD) {
+            long createdTime = record.getLong();
+            long updatedTime = record.getLong();
+            parent.addContent(isFolder
+                    ? new Folder(name, createdTime, updatedTime)
+                    : new File(name, readString(record), record.getLong(), createdTime, updatedTime));
+            return;
+        }
+
+        Entity target;
+        if (depth < 0) target = root;
+        else if (isFolder) target = parent.getFolder(name);
+        else target = parent.getFile(name, readString(record));
+        if (target == null) return;
+
+        if (operation == REMOVE) {
+            parent.removeContent(target);
+        } else if (operation == RENAME) {
+            target.setName(readString(record));
+            target.setUpdatedTime(record.getLong());
+        } else if (operation == CHANGE) {
+            File file = (File) target;
+            file.setExtension(readString(record));
+            file.setSize(record.getLong());
+            file.setUpdatedTime(record.getLong());
+        } else {
+            Folder destination = readPath(root, record, record.getInt());
+            if (destination == null) return;
+            if (operation == MOVE) parent.moveContent(target, destination);
+            else destination.addContent(PersistentEntity.copyOf(target).materialize(readString(record)));
+        }
+    }
+
+    /**
+     * This method is a utility method used to create a new segment
+     *
+     * @param sequence sequence of the segment
+     * @return channel of the segment
+     * @throws IOException if the segment can not be created
+     * */
+    private FileChannel openSegment(long sequence) throws IOException {
+        if (this.store.getPath().getParent() != null) Files.createDirectories(this.store.getPath().getParent());
+        return FileChannel.open(this.segmentPath(sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * This method is a utility method used to delete every segment before a given sequence
+     *
+     * @param upTo sequence of the first segment to be kept
+     * @throws IOException if a segment can not be deleted
+     * */
+    private void deleteSegments(long upTo) throws IOException {
+        for (long segment : this.listSegments()) {
+            if (segment < upTo) Files.deleteIfExists(this.segmentPath(segment));
+        }
+    }
+
+    /**
+     * This method is a utility method used to list sequences of every segment on disk
+     *
+     * @return sorted list of sequences
+     * @throws IOException if the directory can not be read
+     * */
+    private List<Long> listSegments() throws IOException {
+        ArrayList<Long> segments = new ArrayList<>();
+        Path directory = this.store.getPath().toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) return segments;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, this.prefix + "*")) {
+            for (Path path : stream) {
+                try {
+                    segments.add(Long.parseLong(path.getFileName().toString().substring(this.prefix.length())));
+                } catch (NumberFormatException ignored) {
+                    /* Not a segment of this journal */
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * This method is a utility method used to get path of a segment
+     *
+     * @param sequence sequence of the segment
+     * @return path of the segment
+     * */
+    private Path segmentPath(long sequence) {
+        return this.store.getPath().resolveSibling(this.prefix + sequence);
+    }
+
+    /**
+     * This method is a utility method used to write names of the folders from the root down to a given folder,
+     * preceded by their number
+     *
+     * @param out output of the record
+     * @param folder last folder of the path
+     * @throws IOException if the path can not be written
+     * */
+    private static void writePath(@NotNull DataOutputStream out, @NotNull Folder folder) throws IOException {
+        ArrayList<String> path = new ArrayList<>();
+        for (Folder temp = folder; temp.getParent() != null; temp = temp.getParent()) path.add(temp.getName());
+
+        out.writeInt(path.size());
+        for (int i = path.size() - 1; i >= 0; i--) writeString(out, path.get(i));
+    }
+
+    /**
+     * This method is a utility method used to find the folder at a path read from a record
+     *
+     * @param root root folder of the tree
+     * @param record record being read, positioned at the first name of the path
+     * @param depth number of names in the path
+     * @return folder at the path, or null if there is none
+     * */
+    private static Folder readPath(@NotNull Folder root, @NotNull ByteBuffer record, int depth) {
+        Folder folder = root;
+        for (int i = 0; i < depth && folder != null; i++) folder = folder.getFolder(readString(record));
+        return folder;
+    }
+
+    /**
+     * This method is a utility method used to write a length prefixed UTF-8 string
+     *
+     * @param out output of the record
+     * @param value string to be written
+     * @throws IOException if the string can not be written
+     * */
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This method is a utility method used to read a length prefixed UTF-8 string
+     *
+     * @param record record being read
+     * @return read string
+     * */
+    private static String readString(@NotNull ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
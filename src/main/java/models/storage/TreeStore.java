@@ -0,0 +1,540 @@
+package main.java.models.storage;
+
+import com.sun.istack.internal.NotNull;
+import main.java.models.module.ContentLoader;
+import main.java.models.module.Entity;
+import main.java.models.module.File;
+import main.java.models.module.Folder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * This class represents storage of a file tree in a compact binary file.
+ * <p>
+ * The file starts with a magic number, a version and the sequence of the first journal segment
+ * not included in it, followed by the root folder record.
+ * Every record holds type, name, created date and updated date of an entity.
+ * A file record adds extension and size. A folder record adds the figures of its
+ * contents and the length in bytes of its children records, which follow right after
+ * it in pre-order, so a folder can be loaded without reading its subtree.
+ * <p>
+ * The file is memory mapped for loading, and folders are loaded lazily,
+ * the first time their contents are needed. When the tree is saved, children records of a folder
+ * which contents are still not loaded are copied from the mapping as they are,
+ * so saving does not load the part of the tree nobody has looked at.
+ *
+ * @since October 18th 2026
+ * @author Fajar Zuhri Hadiyanto
+ * @version 1.0
+ * */
+public class TreeStore {
+
+    /** This field represents magic number at the start of the file, "FTS1" in ASCII */
+    public static final int MAGIC = 0x46545331;
+
+    /** This field represents version of the file format */
+    public static final int VERSION = 2;
+
+    /** This field represents type tag of a folder record */
+    private static final byte FOLDER = 0;
+
+    /** This field represents type tag of a file record */
+    private static final byte FILE = 1;
+
+    /** This field represents size of the write buffer */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** This field represents path of the storage file */
+    private final Path path;
+
+    /**
+     * This constructor will create new storage over a given file
+     *
+     * @param path path of the storage file
+     * */
+    public TreeStore(@NotNull Path path) {
+        this.path = path;
+    }
+
+    /**
+     * This method is used to get path of the storage file
+     *
+     * @return field {@link #path}
+     * */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * This method is used to check if the storage file exists
+     *
+     * @return true if the storage file exists, else false
+     * */
+    public boolean exists() {
+        return Files.isRegularFile(this.path);
+    }
+
+    /**
+     * This method is used to save the whole tree of a given root folder
+     *
+     * @param root root folder of the tree
+     * @throws IOException if the file can not be written
+     * */
+    public void save(@NotNull Folder root) throws IOException {
+        this.save(root, 0);
+    }
+
+    /**
+     * This method is used to save the whole tree of a given root folder, along with the sequence
+     * of the first journal segment which changes are not included in it.
+     * The tree is written to a temporary file which then replaces the storage file,
+     * so a failed save does not corrupt the previous one.
+     *
+     * @param root root folder of the tree
+     * @param sequence sequence of the first journal segment not included in the tree
+     * @throws IOException if the file can not be written
+     * */
+    public void save(@NotNull Folder root, long sequence) throws IOException {
+        if (this.path.getParent() != null) Files.createDirectories(this.path.getParent());
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(channel);
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putLong(sequence);
+            write(writer, root);
+            writer.flush();
+            channel.force(true);
+        }
+
+        Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * This method is used to load the tree from the storage file
+     *
+     * @param lazy true to load contents of every folder the first time they are needed,
+     *             false to load the whole tree right away
+     * @return root folder of the loaded tree
+     * @throws IOException if the file can not be read or is not a valid storage file
+     * */
+    public Folder load(boolean lazy) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Storage file is too large to be mapped: " + this.path);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        this.readHeader(buffer);
+
+        Entity root = read(buffer, new byte[64]);
+        if (!(root instanceof Folder))
+            throw new IOException("Storage file does not start with a folder: " + this.path);
+
+        if (!lazy) ((Folder) root).loadAll();
+        return (Folder) root;
+    }
+
+    /**
+     * This method is used to read sequence of the first journal segment
+     * which changes are not included in the storage file
+     *
+     * @return sequence of journal segment, or 0 if there is no storage file
+     * @throws IOException if the file can not be read or is not a valid storage file
+     * */
+    public long readSequence() throws IOException {
+        if (!this.exists()) return 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+        }
+        buffer.flip();
+        return this.readHeader(buffer);
+    }
+
+    /**
+     * This method is a utility method used to check the header of the storage file
+     *
+     * @param buffer storage file at its start
+     * @return sequence of the first journal segment not included in the storage file
+     * @throws IOException if the file is not a valid storage file
+     * */
+    private long readHeader(@NotNull ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+            throw new IOException("Not a file tree storage: " + this.path);
+
+        /* Version 1 has no journal sequence, so nothing was journaled after it */
+        int version = buffer.getInt();
+        if (version == 1) return 0;
+        if (version != VERSION || buffer.remaining() < 8)
+            throw new IOException("Unsupported file tree storage version: " + this.path);
+        return buffer.getLong();
+    }
+
+    /**
+     * This method is a utility method used to write a subtree in pre-order
+     * without recursion, patching length of children of every folder once they are written
+     *
+     * @param writer writer of the storage file
+     * @param root root of the subtree
+     * @throws IOException if the file can not be written
+     * */
+    private static void write(@NotNull Writer writer, @NotNull Folder root) throws IOException {
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        Frame rootFrame = writeFolder(writer, root);
+        if (rootFrame != null) stack.push(rootFrame);
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.contents.hasNext()) {
+                Entity content = frame.contents.next();
+                if (content instanceof Folder) {
+                    Frame folderFrame = writeFolder(writer, (Folder) content);
+                    if (folderFrame != null) stack.push(folderFrame);
+                } else {
+                    writeFile(writer, (File) content);
+                }
+            } else {
+                writer.patchLong(frame.lengthPosition, writer.position() - frame.childrenPosition);
+                stack.pop();
+            }
+        }
+    }
+
+    /**
+     * This method is a utility method used to write a folder record. Children records of a folder
+     * which contents are not loaded yet are copied from the mapped storage file right away,
+     * while holding the monitor of the folder, so they are not loaded meanwhile.
+     *
+     * @param writer writer of the storage file
+     * @param folder folder to be written
+     * @return frame of the folder, used to write its children, or null if they are already written
+     * @throws IOException if the file can not be written
+     * */
+    private static Frame writeFolder(@NotNull Writer writer, @NotNull Folder folder) throws IOException {
+        synchronized (folder) {
+            ContentLoader loader = folder.getLoader();
+            if (loader instanceof MappedLoader) {
+                ByteBuffer children = ((MappedLoader) loader).children();
+                writeFolderHeader(writer, folder);
+                writer.putLong(children.remaining());
+                writer.putBytes(children);
+                return null;
+            }
+        }
+
+        Iterator<Entity> contents = folder.getContents().iterator();
+        writeFolderHeader(writer, folder);
+
+        long lengthPosition = writer.position();
+        writer.putLong(0);
+        return new Frame(contents, lengthPosition, writer.position());
+    }
+
+    /**
+     * This method is a utility method used to write a folder record up to the length of its children records
+     *
+     * @param writer writer of the storage file
+     * @param folder folder to be written
+     * @throws IOException if the file can not be written
+     * */
+    private static void writeFolderHeader(@NotNull Writer writer, @NotNull Folder folder) throws IOException {
+        writer.putByte(FOLDER);
+        writeEntity(writer, folder);
+        writer.putInt(folder.getnFolders());
+        writer.putInt(folder.getnFiles());
+        writer.putInt(folder.getTotalFolders());
+        writer.putInt(folder.getTotalFiles());
+        writer.putLong(folder.getTotalSize());
+    }
+
+    /**
+     * This method is a utility method used to write a file record
+     *
+     * @param writer writer of the storage file
+     * @param file file to be written
+     * @throws IOException if the file can not be written
+     * */
+    private static void writeFile(@NotNull Writer writer, @NotNull File file) throws IOException {
+        writer.putByte(FILE);
+        writeEntity(writer, file);
+        writer.putString(file.getExtension());
+        writer.putLong(file.getSize());
+    }
+
+    /**
+     * This method is a utility method used to write fields shared by every entity record
+     *
+     * @param writer writer of the storage file
+     * @param entity entity to be written
+     * @throws IOException if the file can not be written
+     * */
+    private static void writeEntity(@NotNull Writer writer, @NotNull Entity entity) throws IOException {
+        writer.putString(entity.getName());
+        writer.putLong(entity.getCreatedTime());
+        writer.putLong(entity.getUpdatedTime());
+    }
+
+    /**
+     * This method is a utility method used to read an entity record at the position of a given buffer.
+     * A folder gets a loader of its children and the buffer is moved past them.
+     *
+     * @param buffer mapped storage file
+     * @param scratch scratch array used to decode strings
+     * @return read entity
+     * */
+    private static Entity read(@NotNull ByteBuffer buffer, @NotNull byte[] scratch) {
+        byte type = buffer.get();
+        String name = readString(buffer, scratch);
+        long createdTime = buffer.getLong();
+        long updatedTime = buffer.getLong();
+
+        if (type == FILE) {
+            String extension = readString(buffer, scratch);
+            return new File(name, extension, buffer.getLong(), createdTime, updatedTime);
+        }
+
+        Folder folder = new Folder(name, createdTime, updatedTime);
+        int nFolders = buffer.getInt();
+        int nFiles = buffer.getInt();
+        int totalFolders = buffer.getInt();
+        int totalFiles = buffer.getInt();
+        long totalSize = buffer.getLong();
+        long length = buffer.getLong();
+        int childrenPosition = buffer.position();
+
+        folder.setLoader(new MappedLoader(buffer, childrenPosition, (int) length, nFolders + nFiles),
+                nFolders, nFiles, totalFolders, totalFiles, totalSize);
+        buffer.position(childrenPosition + (int) length);
+        return folder;
+    }
+
+    /**
+     * This method is a utility method used to read a length prefixed UTF-8 string
+     *
+     * @param buffer mapped storage file
+     * @param scratch scratch array used to decode the string
+     * @return read string
+     * */
+    private static String readString(@NotNull ByteBuffer buffer, @NotNull byte[] scratch) {
+        int length = buffer.getInt();
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This class represents loader of a folder which children records are in the mapped storage file
+     * */
+    private static class MappedLoader implements ContentLoader {
+
+        /** This field represents mapped storage file */
+        private final ByteBuffer buffer;
+
+        /** This field represents position of the first child record */
+        private final int position;
+
+        /** This field represents length in bytes of children records */
+        private final int length;
+
+        /** This field represents number of children records */
+        private final int count;
+
+        /**
+         * This constructor will create new loader of children records
+         *
+         * @param buffer mapped storage file
+         * @param position position of the first child record
+         * @param length length in bytes of children records
+         * @param count number of children records
+         * */
+        MappedLoader(ByteBuffer buffer, int position, int length, int count) {
+            this.buffer = buffer;
+            this.position = position;
+            this.length = length;
+            this.count = count;
+        }
+
+        /**
+         * This method is used to get children records as they are in the mapped storage file
+         *
+         * @return buffer over the children records, with its own cursor
+         * */
+        ByteBuffer children() {
+            ByteBuffer cursor = this.buffer.duplicate();
+            cursor.limit(this.position + this.length);
+            cursor.position(this.position);
+            return cursor;
+        }
+
+        @Override
+        public void load(@NotNull Folder folder) {
+            /* Every loader reads with its own cursor over the shared mapping */
+            ByteBuffer cursor = this.buffer.duplicate();
+            cursor.position(this.position);
+
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < this.count; i++) {
+                folder.loadContent(read(cursor, scratch));
+            }
+        }
+    }
+
+    /**
+     * This class represents a folder being written, with its remaining contents
+     * and positions needed to patch the length of its children records
+     * */
+    private static class Frame {
+
+        /** This field represents contents of the folder which are not written yet */
+        private final Iterator<Entity> contents;
+
+        /** This field represents position of the length of children records */
+        private final long lengthPosition;
+
+        /** This field represents position of the first child record */
+        private final long childrenPosition;
+
+        /**
+         * This constructor will create new frame
+         *
+         * @param contents contents of the folder
+         * @param lengthPosition position of the length of children records
+         * @param childrenPosition position of the first child record
+         * */
+        Frame(Iterator<Entity> contents, long lengthPosition, long childrenPosition) {
+            this.contents = contents;
+            this.lengthPosition = lengthPosition;
+            this.childrenPosition = childrenPosition;
+        }
+    }
+
+    /**
+     * This class represents buffered writer of the storage file
+     * which can patch bytes it has already written
+     * */
+    private static class Writer {
+
+        /** This field represents channel of the file */
+        private final FileChannel channel;
+
+        /** This field represents buffer of bytes which are not written to the channel yet */
+        private final ByteBuffer buffer;
+
+        /** This field represents number of bytes already written to the channel */
+        private long flushed;
+
+        /**
+         * This constructor will create new writer over a given channel
+         *
+         * @param channel channel of the file
+         * */
+        Writer(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        /**
+         * This method is used to get position of the next written byte
+         *
+         * @return position in the file
+         * */
+        long position() {
+            return this.flushed + this.buffer.position();
+        }
+
+        void putByte(byte value) throws IOException {
+            this.ensure(1);
+            this.buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            this.ensure(4);
+            this.buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            this.ensure(8);
+            this.buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.putInt(bytes.length);
+            for (int offset = 0; offset < bytes.length; ) {
+                this.ensure(1);
+                int length = Math.min(this.buffer.remaining(), bytes.length - offset);
+                this.buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        /**
+         * This method is used to put every remaining byte of a given buffer
+         *
+         * @param bytes buffer to be put, moved past the put bytes
+         * @throws IOException if the file can not be written
+         * */
+        void putBytes(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                this.ensure(1);
+                ByteBuffer chunk = bytes.duplicate();
+                chunk.limit(chunk.position() + Math.min(this.buffer.remaining(), bytes.remaining()));
+                this.buffer.put(chunk);
+                bytes.position(chunk.position());
+            }
+        }
+
+        /**
+         * This method is used to overwrite a long value at a given position
+         *
+         * @param position position in the file
+         * @param value new value
+         * @throws IOException if the file can not be written
+         * */
+        void patchLong(long position, long value) throws IOException {
+            if (position >= this.flushed) {
+                this.buffer.putLong((int) (position - this.flushed), value);
+            } else {
+                ByteBuffer patch = ByteBuffer.allocate(8);
+                patch.putLong(value).flip();
+                while (patch.hasRemaining()) this.channel.write(patch, position + patch.position());
+            }
+        }
+
+        /**
+         * This method is used to write buffered bytes to the channel
+         *
+         * @throws IOException if the file can not be written
+         * */
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) this.flushed += this.channel.write(this.buffer);
+            this.buffer.clear();
+        }
+
+        /**
+         * This method is a utility method used to make room for a given number of bytes in the buffer
+         *
+         * @param bytes number of bytes to be put
+         * @throws IOException if the file can not be written
+         * */
+        private void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) this.flush();
+        }
+    }
+}